@@ -35,14 +35,7 @@ function Deals() {
     'Closed Lost'
   ];
 
-  const probabilityOptions = [
-    '10%',
-    '25%',
-    '50%',
-    '75%',
-    '90%',
-    '100%'
-  ];
+  const probabilityOptions = [10, 25, 50, 75, 90, 100];
 
   useEffect(() => {
     fetchDeals();
@@ -91,7 +84,8 @@ function Deals() {
         expectedCloseDate: formData.expectedCloseDate ? new Date(formData.expectedCloseDate).toISOString() : null,
         actualCloseDate: formData.actualCloseDate ? new Date(formData.actualCloseDate).toISOString() : null,
         accountId: formData.accountId ? parseInt(formData.accountId) : null,
-        contactId: formData.contactId ? parseInt(formData.contactId) : null
+        contactId: formData.contactId ? parseInt(formData.contactId) : null,
+        probability: formData.probability !== '' ? parseFloat(formData.probability) : null
       };
 
       if (editingDeal) {
@@ -123,7 +117,7 @@ function Deals() {
       dealStage: deal.dealStage || '',
       expectedCloseDate: deal.expectedCloseDate ? new Date(deal.expectedCloseDate).toISOString().split('T')[0] : '',
       actualCloseDate: deal.actualCloseDate ? new Date(deal.actualCloseDate).toISOString().split('T')[0] : '',
-      probability: deal.probability || '',
+      probability: deal.probability != null ? String(deal.probability) : '',
       accountId: deal.accountId?.toString() || '',
       contactId: deal.contactId?.toString() || ''
     });
@@ -295,10 +289,10 @@ function Deals() {
                         </div>
                       )}
                       
-                      {deal.probability && (
+                      {deal.probability != null && (
                         <div className="flex items-center space-x-2">
                           <Target className="h-4 w-4" />
-                          <span>{deal.probability} probability</span>
+                          <span>{deal.probability}% probability</span>
                         </div>
                       )}
                     </div>
@@ -410,7 +404,7 @@ function Deals() {
                   >
                     <option value="">Select probability</option>
                     {probabilityOptions.map(prob => (
-                      <option key={prob} value={prob}>{prob}</option>
+                      <option key={prob} value={prob}>{prob}%</option>
                     ))}
                   </select>
                 </div>
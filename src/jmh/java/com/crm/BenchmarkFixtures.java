@@ -0,0 +1,90 @@
+package com.crm;
+
+import com.crm.config.JwtConfig;
+import com.crm.entity.Account;
+import com.crm.entity.Activity;
+import com.crm.entity.Contact;
+import com.crm.entity.Deal;
+import com.crm.entity.Lead;
+import com.crm.entity.Member;
+import com.crm.entity.Organization;
+import com.crm.entity.Role;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Detached entities and components wired by hand, so benchmarks measure the
+ * code under test rather than Spring context startup.
+ */
+public final class BenchmarkFixtures {
+
+    public static final String SECRET = "mySecretKey123456789012345678901234567890";
+    public static final long EXPIRATION_MS = 86400000L;
+
+    private BenchmarkFixtures() {}
+
+    public static JwtConfig jwtConfig() {
+        JwtConfig jwtConfig = new JwtConfig();
+        ReflectionTestUtils.setField(jwtConfig, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtConfig, "expiration", EXPIRATION_MS);
+        ReflectionTestUtils.invokeMethod(jwtConfig, "init");
+        return jwtConfig;
+    }
+
+    public static Organization organization(long orgId) {
+        Organization organization = new Organization("Benchmark Org " + orgId, "org" + orgId + "@bench.test");
+        organization.setOrgId(orgId);
+        organization.setCreatedAt(OffsetDateTime.now(ZoneOffset.UTC));
+        organization.setUpdatedAt(OffsetDateTime.now(ZoneOffset.UTC));
+        return organization;
+    }
+
+    public static Role role(long roleId, String roleName) {
+        Role role = new Role(roleName);
+        role.setRoleId(roleId);
+        return role;
+    }
+
+    public static Member member(long memberId, Organization organization, Role role, String passwordHash) {
+        Member member = new Member("Member " + memberId, "member" + memberId + "@bench.test", passwordHash, organization, role);
+        member.setMemberId(memberId);
+        member.setStatus(Member.MemberStatus.ACTIVE);
+        member.setCreatedAt(LocalDateTime.now());
+        member.setUpdatedAt(LocalDateTime.now());
+        return member;
+    }
+
+    public static Deal deal(long dealId, Organization organization, Member member) {
+        Deal deal = new Deal("Deal " + dealId, "Proposal", BigDecimal.valueOf(1000 + dealId), organization, member);
+        deal.setDealId(dealId);
+        deal.setDescription("Benchmark deal description " + dealId);
+        deal.setProbability(BigDecimal.valueOf(50));
+        deal.setExpectedCloseDate(OffsetDateTime.now(ZoneOffset.UTC).plusDays(30));
+        Account account = new Account("Account " + dealId, organization, member);
+        account.setAccountId(dealId);
+        deal.setAccount(account);
+        Contact contact = new Contact("Contact " + dealId, "contact" + dealId + "@bench.test", null, organization, member, account);
+        contact.setContactId(dealId);
+        deal.setContact(contact);
+        deal.setCreatedAt(OffsetDateTime.now(ZoneOffset.UTC));
+        deal.setUpdatedAt(OffsetDateTime.now(ZoneOffset.UTC));
+        return deal;
+    }
+
+    public static Activity activity(long activityId, Organization organization, Member member) {
+        Lead lead = new Lead("Lead " + activityId, "lead" + activityId + "@bench.test", null, organization, member);
+        lead.setLeadId(activityId);
+        Activity activity = new Activity("Call", "Follow up " + activityId, "Benchmark activity", lead, organization, member);
+        activity.setActivityId(activityId);
+        activity.setActivityDate(LocalDateTime.now());
+        activity.setStatus("Planned");
+        activity.setPriority("High");
+        activity.setCreatedAt(OffsetDateTime.now(ZoneOffset.UTC));
+        activity.setUpdatedAt(OffsetDateTime.now(ZoneOffset.UTC));
+        return activity;
+    }
+}
@@ -0,0 +1,166 @@
+package com.crm;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * End-to-end requests per second with 1024 requests in flight, with the
+ * application booted in platform-thread or virtual-thread mode
+ * (spring.threads.virtual.enabled). Covers a database-bound page read, a
+ * cached forecast (one version query) and a search answered from the Lucene
+ * index alone.
+ *
+ * Each invocation sends a burst of 1024 concurrent requests through the JDK
+ * HttpClient's non-blocking connections and waits for all of them, so the
+ * client itself needs few threads and the score is timed by JMH, not summed
+ * over 1024 client threads. Failed requests (for instance on a
+ * connection-pool timeout) are counted in the failed column rather than
+ * ending the run.
+ *
+ * Needs a migrated database with the seed login, passed the Spring Boot way:
+ * SPRING_DATASOURCE_URL, SPRING_DATASOURCE_USERNAME, SPRING_DATASOURCE_PASSWORD.
+ * The virtual mode only takes effect on JDK 21+. The client and server
+ * sockets need an open-file limit above 2048.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class RequestThreadingBenchmark {
+
+    private static final int CLIENTS = 1024;
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String authorization;
+    private HttpRequest dealsPage;
+    private HttpRequest forecast;
+    private HttpRequest search;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        boolean virtual = "virtual".equals(threads);
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads need JDK 21+, running on " + Runtime.version());
+        }
+        context = new SpringApplicationBuilder(MultiTenantCrmApplication.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--spring.devtools.restart.enabled=false",
+                "--logging.level.com.crm=WARN",
+                "--logging.level.org.hibernate.SQL=WARN");
+        String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+        client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        HttpResponse<String> login = client.send(HttpRequest.newBuilder(URI.create(base + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"admin@test.com\",\"password\":\"password123\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        Matcher token = TOKEN.matcher(login.body());
+        if (login.statusCode() != 200 || !token.find()) {
+            throw new IllegalStateException("Login failed: " + login.statusCode() + " " + login.body());
+        }
+        authorization = "Bearer " + token.group(1);
+
+        dealsPage = get(base + "/api/deals?limit=20");
+        forecast = get(base + "/api/deals/forecast");
+        search = get(base + "/api/search?q=deal&limit=10");
+
+        // The search index is rebuilt in the background after startup
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(2);
+        while (client.send(search, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Search index not ready");
+            }
+            Thread.sleep(500);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CLIENTS)
+    public void dealsPage(Outcomes outcomes) {
+        burst(dealsPage, outcomes);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CLIENTS)
+    public void forecast(Outcomes outcomes) {
+        burst(forecast, outcomes);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CLIENTS)
+    public void search(Outcomes outcomes) {
+        burst(search, outcomes);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Outcomes {
+        public long ok;
+        public long failed;
+    }
+
+    private HttpRequest get(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .header("Authorization", authorization)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+    }
+
+    private void burst(HttpRequest request, Outcomes outcomes) {
+        List<CompletableFuture<Integer>> responses = new ArrayList<>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> error == null ? response.statusCode() : -1));
+        }
+        for (CompletableFuture<Integer> response : responses) {
+            if (response.join() == 200) {
+                outcomes.ok++;
+            } else {
+                outcomes.failed++;
+            }
+        }
+    }
+}
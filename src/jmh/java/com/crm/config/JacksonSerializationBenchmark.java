@@ -0,0 +1,86 @@
+package com.crm.config;
+
+import com.crm.dto.ActivityDto;
+import com.crm.dto.DealDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of large list responses through the application's
+ * ObjectMapper (Hibernate5 + JavaTime modules).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonSerializationBenchmark {
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<DealDto> deals;
+    private List<ActivityDto> activities;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new JacksonConfig().objectMapper();
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+
+        deals = new ArrayList<>(size);
+        activities = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            DealDto deal = new DealDto("Deal " + i, "Benchmark deal description " + i, BigDecimal.valueOf(1000 + i),
+                    "Proposal", now.plusDays(30), BigDecimal.valueOf(50), 1L, 1L, i, i);
+            deal.setDealId(i);
+            deal.setCreatedAt(now);
+            deal.setUpdatedAt(now);
+            deals.add(deal);
+
+            ActivityDto activity = new ActivityDto();
+            activity.setActivityId(i);
+            activity.setActivityType("Call");
+            activity.setSubject("Follow up " + i);
+            activity.setDescription("Benchmark activity");
+            activity.setActivityDate(LocalDateTime.now());
+            activity.setStatus("Planned");
+            activity.setPriority("High");
+            activity.setOrgId(1L);
+            activity.setMemberId(1L);
+            activity.setLeadId(i);
+            activity.setCreatedAt(now);
+            activity.setUpdatedAt(now);
+            activities.add(activity);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeDeals() throws Exception {
+        return objectMapper.writeValueAsBytes(deals);
+    }
+
+    @Benchmark
+    public byte[] serializeActivities() throws Exception {
+        return objectMapper.writeValueAsBytes(activities);
+    }
+}
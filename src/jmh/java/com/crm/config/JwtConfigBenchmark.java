@@ -0,0 +1,53 @@
+package com.crm.config;
+
+import com.crm.BenchmarkFixtures;
+import com.crm.security.JwtPrincipal;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token signing and verification cost in JwtConfig.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtConfigBenchmark {
+
+    private JwtConfig jwtConfig;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtConfig = BenchmarkFixtures.jwtConfig();
+        token = jwtConfig.generateToken("admin@test.com", 1L, "Admin", 1L);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtConfig.generateToken("admin@test.com", 1L, "Admin", 1L);
+    }
+
+    @Benchmark
+    public Claims extractAllClaims() {
+        return jwtConfig.extractAllClaims(token);
+    }
+
+    @Benchmark
+    public JwtPrincipal parseVerified() {
+        return jwtConfig.parseVerified(token);
+    }
+}
@@ -0,0 +1,101 @@
+package com.crm.service;
+
+import com.crm.BenchmarkFixtures;
+import com.crm.dto.JwtResponse;
+import com.crm.dto.LoginCredentials;
+import com.crm.dto.LoginRequest;
+import com.crm.entity.Member;
+import com.crm.entity.Organization;
+import com.crm.repository.MemberRepository;
+import com.crm.security.LoginThrottle;
+import com.crm.security.PasswordVerifier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login cost in SimpleAuthService, dominated by the BCrypt verify. The
+ * repository is stubbed so only the in-process work is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthenticationBenchmark {
+
+    private static final String PASSWORD = "password123";
+
+    // 10 is the BCryptPasswordEncoder default used by SecurityConfig
+    @Param({"4", "10", "12"})
+    public int bcryptCost;
+
+    private SimpleAuthService simpleAuthService;
+    private PasswordVerifier passwordVerifier;
+    private BCryptPasswordEncoder passwordEncoder;
+    private String passwordHash;
+    private LoginRequest loginRequest;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = new BCryptPasswordEncoder(bcryptCost);
+        passwordHash = passwordEncoder.encode(PASSWORD);
+
+        Organization organization = BenchmarkFixtures.organization(1L);
+        Member member = BenchmarkFixtures.member(1L, organization, BenchmarkFixtures.role(1L, "Admin"), passwordHash);
+
+        MemberRepository memberRepository = Mockito.mock(MemberRepository.class);
+        Mockito.when(memberRepository.findLoginCredentials(member.getEmail()))
+                .thenReturn(Optional.of(new LoginCredentials(member.getMemberId(), member.getEmail(), member.getName(),
+                        passwordHash, member.getStatus(), organization.getOrgId(), organization.getOrgName(), "Admin")));
+
+        // One verify thread so the benchmark thread's cost is the BCrypt cost; throttle limits out of reach
+        passwordVerifier = new PasswordVerifier(passwordEncoder, new SimpleMeterRegistry(), 1, 32, 60000);
+        LoginThrottle loginThrottle = new LoginThrottle(Integer.MAX_VALUE, Duration.ofNanos(1),
+                Integer.MAX_VALUE, Duration.ofNanos(1), 1000);
+
+        simpleAuthService = new SimpleAuthService();
+        ReflectionTestUtils.setField(simpleAuthService, "memberRepository", memberRepository);
+        ReflectionTestUtils.setField(simpleAuthService, "passwordVerifier", passwordVerifier);
+        ReflectionTestUtils.setField(simpleAuthService, "loginThrottle", loginThrottle);
+        ReflectionTestUtils.setField(simpleAuthService, "jwtConfig", BenchmarkFixtures.jwtConfig());
+        ReflectionTestUtils.setField(simpleAuthService, "tenantDeletionService", Mockito.mock(TenantDeletionService.class));
+
+        loginRequest = new LoginRequest();
+        loginRequest.setEmail(member.getEmail());
+        loginRequest.setPassword(PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        ReflectionTestUtils.invokeMethod(passwordVerifier, "shutdown");
+    }
+
+    @Benchmark
+    public boolean bcryptMatches() {
+        return passwordEncoder.matches(PASSWORD, passwordHash);
+    }
+
+    @Benchmark
+    public JwtResponse authenticateUser() {
+        return simpleAuthService.authenticateUser(loginRequest, "127.0.0.1");
+    }
+}
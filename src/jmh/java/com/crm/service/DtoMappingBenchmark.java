@@ -0,0 +1,65 @@
+package com.crm.service;
+
+import com.crm.BenchmarkFixtures;
+import com.crm.dto.ActivityDto;
+import com.crm.dto.DealDto;
+import com.crm.dto.MemberDto;
+import com.crm.entity.Activity;
+import com.crm.entity.Deal;
+import com.crm.entity.Member;
+import com.crm.entity.Organization;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO conversion as done for every row of the list endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    private final DealService dealService = new DealService();
+    private final ActivityService activityService = new ActivityService();
+    private final MemberService memberService = new MemberService();
+
+    private Deal deal;
+    private Activity activity;
+    private Member member;
+
+    @Setup
+    public void setUp() {
+        Organization organization = BenchmarkFixtures.organization(1L);
+        member = BenchmarkFixtures.member(1L, organization, BenchmarkFixtures.role(1L, "Admin"), "unused");
+        deal = BenchmarkFixtures.deal(1L, organization, member);
+        activity = BenchmarkFixtures.activity(1L, organization, member);
+    }
+
+    @Benchmark
+    public DealDto dealToDto() {
+        return dealService.convertToDto(deal);
+    }
+
+    @Benchmark
+    public ActivityDto activityToDto() {
+        return activityService.convertToDto(activity);
+    }
+
+    @Benchmark
+    public MemberDto memberToDto() {
+        return memberService.convertToDto(member);
+    }
+}
@@ -0,0 +1,20 @@
+package com.crm.config;
+
+import com.crm.entity.ChangeVersion.EntityType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a GET handler whose response is fully determined by the caller, the
+ * request URI and the tenant's records of the listed types. Such handlers get
+ * an ETag and answer If-None-Match with 304 (see ConditionalGetInterceptor).
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalGet {
+
+    EntityType[] value();
+}
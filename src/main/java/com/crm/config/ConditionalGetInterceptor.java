@@ -0,0 +1,63 @@
+package com.crm.config;
+
+import com.crm.entity.ChangeVersion.EntityType;
+import com.crm.security.JwtPrincipal;
+import com.crm.service.ChangeVersionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * ETags for @ConditionalGet handlers, computed from the tenant's change
+ * versions before the handler runs. A matching If-None-Match is answered 304
+ * with a single counter lookup and no query against the records themselves.
+ *
+ * The tag covers the member and role as well as the URI because some lists
+ * depend on who is asking. Tags are weak: they stand for the content, not its
+ * bytes, and Tomcat will not gzip a response that carries a strong one.
+ */
+@Component
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    @Autowired
+    private ChangeVersionService changeVersionService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod) || !"GET".equals(request.getMethod())) {
+            return true;
+        }
+        ConditionalGet conditionalGet = handlerMethod.getMethodAnnotation(ConditionalGet.class);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (conditionalGet == null || authentication == null
+                || !(authentication.getPrincipal() instanceof JwtPrincipal principal)) {
+            return true;
+        }
+
+        Map<EntityType, Long> versions = changeVersionService.currentVersions(
+                principal.getOrgId(), Arrays.asList(conditionalGet.value()));
+        if (versions == null) {
+            // Recently changed; no tag until the replicas are sure to have caught up
+            return true;
+        }
+        String key = principal.getOrgId() + "|" + principal.getMemberId() + "|" + principal.getRole()
+                + "|" + request.getRequestURI() + "?" + request.getQueryString() + "|" + versions;
+        String etag = "W/\"" + DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8)) + "\"";
+
+        // Browsers revalidate on every use; shared caches must not store per-member data
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+}
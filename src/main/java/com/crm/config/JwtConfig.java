@@ -1,9 +1,12 @@
 package com.crm.config;
 
+import com.crm.security.JwtPrincipal;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -22,8 +25,20 @@ public class JwtConfig {
     @Value("${spring.security.jwt.expiration}")
     private Long expiration;
 
+    // Built once: deriving the HMAC key and parser per call showed up on every request
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+        return signingKey;
     }
 
     public String extractUsername(String token) {
@@ -51,16 +66,23 @@ public class JwtConfig {
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public Claims extractAllClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    /**
+     * Verifies the signature and expiry once and returns every claim the
+     * application reads. Throws a JwtException when the token is invalid.
+     */
+    public JwtPrincipal parseVerified(String token) {
+        Claims claims = extractAllClaims(token);
+        return new JwtPrincipal(
+            claims.getSubject(),
+            claims.get("orgId", Long.class),
+            claims.get("memberId", Long.class),
+            claims.get("role", String.class),
+            claims.getExpiration()
+        );
     }
 
     public String generateToken(String username, Long orgId, String role, Long memberId) {
@@ -82,7 +104,7 @@ public class JwtConfig {
     }
 
     public Boolean validateToken(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
+        final Claims claims = extractAllClaims(token);
+        return (claims.getSubject().equals(username) && !claims.getExpiration().before(new Date()));
     }
 }
@@ -0,0 +1,203 @@
+package com.crm.config;
+
+import com.crm.security.JwtPrincipal;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends @Transactional(readOnly = true) work to a replica pool and everything
+ * else to the primary.
+ *
+ * The lookup key is decided when a connection is first needed, so this must
+ * sit behind a LazyConnectionDataSourceProxy: by then the transaction's
+ * read-only flag is known. Read-only transactions go to the primary instead
+ * when no replica is within app.datasource.replica.max-lag, or when the
+ * current member committed a write less than app.datasource.replica.sticky-window
+ * ago (read-your-writes). Stickiness is tracked per application instance.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private static final String PRIMARY = "primary";
+
+    // 0 while caught up; replay timestamps alone would grow on an idle primary
+    private static final String LAG_QUERY =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final List<Replica> replicas = new ArrayList<>();
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    // memberId -> System.nanoTime() until which that member's reads stay on the primary
+    private final Map<Long, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    private final double maxLagSeconds;
+
+    private final long stickyNanos;
+
+    private final MeterRegistry meterRegistry;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicaPools,
+                                    Duration maxLag, Duration stickyWindow, MeterRegistry meterRegistry) {
+        this.maxLagSeconds = maxLag.toMillis() / 1000d;
+        this.stickyNanos = stickyWindow.toNanos();
+        this.meterRegistry = meterRegistry;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (HikariDataSource pool : replicaPools) {
+            Replica replica = new Replica(pool.getPoolName(), pool);
+            replicas.add(replica);
+            targets.put(replica.name, pool);
+            Gauge.builder("crm.datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Replication lag seen by the last check, in seconds (-1 when unreachable)")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWrite();
+            return route(PRIMARY, "write");
+        }
+        if (replicas.isEmpty()) {
+            return route(PRIMARY, "no-replica");
+        }
+        Long memberId = currentMemberId();
+        if (memberId != null) {
+            Long until = stickyUntil.get(memberId);
+            if (until != null && System.nanoTime() - until < 0) {
+                return route(PRIMARY, "sticky");
+            }
+        }
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.available) {
+                return route(replica.name, "read");
+            }
+        }
+        return route(PRIMARY, "lagging");
+    }
+
+    /**
+     * Measures every replica's lag; a replica that is unreachable or further
+     * behind than max-lag takes no reads until a later check sees it recover.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replica.check-interval-ms:1000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean wasAvailable = replica.available;
+            try (Connection connection = replica.pool.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+                rs.next();
+                replica.lagSeconds = rs.getDouble(1);
+                replica.available = replica.lagSeconds <= maxLagSeconds;
+            } catch (Exception e) {
+                replica.lagSeconds = -1;
+                replica.available = false;
+                if (wasAvailable || !replica.checked) {
+                    log.warn("Replica {} is unreachable: {}", replica.name, e.getMessage());
+                }
+            }
+            replica.checked = true;
+            if (wasAvailable && !replica.available && replica.lagSeconds >= 0) {
+                log.warn("Replica {} is {}s behind, routing its reads to the primary", replica.name, replica.lagSeconds);
+            } else if (!wasAvailable && replica.available) {
+                log.info("Replica {} is in rotation ({}s behind)", replica.name, replica.lagSeconds);
+            }
+        }
+        long now = System.nanoTime();
+        stickyUntil.values().removeIf(until -> now - until >= 0);
+    }
+
+    public boolean hasReplicas() {
+        return !replicas.isEmpty();
+    }
+
+    public void close() {
+        for (Replica replica : replicas) {
+            replica.pool.close();
+        }
+    }
+
+    // Starts the member's read-your-writes window once this transaction commits
+    private void rememberWrite() {
+        if (replicas.isEmpty() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Long memberId = currentMemberId();
+        if (memberId == null) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                stickyUntil.put(memberId, System.nanoTime() + stickyNanos);
+            }
+        });
+    }
+
+    private Object route(String target, String reason) {
+        Counter.builder("crm.datasource.routing")
+                .description("Connections handed out by target and routing reason")
+                .tag("target", PRIMARY.equals(target) ? PRIMARY : "replica")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        return target;
+    }
+
+    private static Long currentMemberId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof JwtPrincipal principal) {
+            return principal.getMemberId();
+        }
+        return null;
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final HikariDataSource pool;
+        // Unavailable until the first check has measured the lag
+        private volatile boolean available;
+        private volatile boolean checked;
+        private volatile double lagSeconds = -1;
+
+        private Replica(String name, HikariDataSource pool) {
+            this.name = name;
+            this.pool = pool;
+        }
+    }
+}
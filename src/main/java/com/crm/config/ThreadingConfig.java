@@ -0,0 +1,27 @@
+package com.crm.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * With spring.threads.virtual.enabled Spring Boot runs Tomcat requests,
+ * the @Async executor and @Scheduled jobs on virtual threads. Scheduled jobs
+ * are kept on one platform thread, as in platform mode: the mail outbox sends
+ * through JavaMail, whose SMTP transport does its socket I/O inside
+ * synchronized methods and would pin a carrier thread for a whole batch.
+ */
+@Configuration
+public class ThreadingConfig {
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public ThreadPoolTaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("scheduling-");
+        return scheduler;
+    }
+}
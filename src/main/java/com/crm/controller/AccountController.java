@@ -1,16 +1,25 @@
 package com.crm.controller;
 
+import com.crm.config.ConditionalGet;
 import com.crm.dto.AccountDto;
+import com.crm.dto.AccountFilter;
+import com.crm.entity.ChangeVersion.EntityType;
 import com.crm.service.AccountService;
+import com.crm.service.BulkImportService;
 import com.crm.util.AuthenticationUtils;
+import com.crm.util.ImportRowReader;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -25,6 +34,9 @@ public class AccountController {
     @Autowired
     private AuthenticationUtils authenticationUtils;
     
+    @Autowired
+    private BulkImportService bulkImportService;
+    
     @PostMapping
     public ResponseEntity<?> createAccount(@Valid @RequestBody AccountDto accountDto, Authentication authentication, HttpServletRequest request) {
         try {
@@ -42,10 +54,30 @@ public class AccountController {
         }
     }
     
+    // Streams the body; CSV needs a header row of AccountDto field names
+    @PostMapping(value = "/import", consumes = {ImportRowReader.TEXT_CSV, ImportRowReader.APPLICATION_NDJSON})
+    public ResponseEntity<?> importAccounts(InputStream body, @RequestParam(defaultValue = "false") boolean skipDuplicates,
+                                            Authentication authentication, HttpServletRequest request) {
+        try {
+            Long orgId = authenticationUtils.getOrgIdFromAuthentication(authentication, request);
+            Long memberId = authenticationUtils.getMemberIdFromAuthentication(authentication, request);
+            return ResponseEntity.ok(bulkImportService.importAccounts(orgId, memberId, request.getContentType(), body, skipDuplicates));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+    
     @GetMapping
-    public ResponseEntity<?> getAccountsByOrganization(Authentication authentication, HttpServletRequest request) {
+    @ConditionalGet(EntityType.ACCOUNT)
+    public ResponseEntity<?> getAccountsByOrganization(@RequestParam(required = false) String cursor,
+                                                       @RequestParam(required = false) Integer limit,
+                                                       Authentication authentication, HttpServletRequest request) {
         try {
             Long orgId = authenticationUtils.getOrgIdFromAuthentication(authentication, request);
+            // Keyset-paged envelope when paging parameters are supplied; plain list otherwise
+            if (cursor != null || limit != null) {
+                return ResponseEntity.ok(accountService.getAccountsPageByOrganization(orgId, cursor, limit));
+            }
             List<AccountDto> accounts = accountService.getAccountsByOrganization(orgId);
             return ResponseEntity.ok(accounts);
         } catch (Exception e) {
@@ -53,7 +85,20 @@ public class AccountController {
         }
     }
     
+    @GetMapping("/search")
+    @ConditionalGet(EntityType.ACCOUNT)
+    public ResponseEntity<?> searchAccounts(@ModelAttribute AccountFilter filter, Pageable pageable,
+                                            Authentication authentication, HttpServletRequest request) {
+        try {
+            Long orgId = authenticationUtils.getOrgIdFromAuthentication(authentication, request);
+            return ResponseEntity.ok(accountService.searchAccounts(orgId, filter, pageable));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+    
     @GetMapping("/{accountId}")
+    @ConditionalGet(EntityType.ACCOUNT)
     public ResponseEntity<?> getAccountById(@PathVariable Long accountId) {
         try {
             AccountDto account = accountService.getAccountById(accountId);
@@ -68,6 +113,21 @@ public class AccountController {
         try {
             AccountDto updatedAccount = accountService.updateAccount(accountId, accountDto);
             return ResponseEntity.ok(updatedAccount);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Error: " + e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+    
+    @PatchMapping("/{accountId}")
+    public ResponseEntity<?> patchAccount(@PathVariable Long accountId, @RequestBody AccountDto patch,
+                                          Authentication authentication, HttpServletRequest request) {
+        try {
+            Long orgId = authenticationUtils.getOrgIdFromAuthentication(authentication, request);
+            return ResponseEntity.ok(accountService.patchAccount(orgId, accountId, patch));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Error: " + e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error: " + e.getMessage());
         }
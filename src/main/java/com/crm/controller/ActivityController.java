@@ -1,12 +1,19 @@
 package com.crm.controller;
 
+import com.crm.config.ConditionalGet;
 import com.crm.dto.ActivityDto;
+import com.crm.dto.ActivityFilter;
+import com.crm.dto.BulkUpdateRequest;
+import com.crm.entity.ChangeVersion.EntityType;
 import com.crm.service.ActivityService;
+import com.crm.service.BulkUpdateService;
 import com.crm.util.AuthenticationUtils;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -25,6 +32,9 @@ public class ActivityController {
     @Autowired
     private AuthenticationUtils authenticationUtils;
     
+    @Autowired
+    private BulkUpdateService bulkUpdateService;
+    
     @PostMapping
     public ResponseEntity<?> createActivity(@Valid @RequestBody ActivityDto activityDto, Authentication authentication, HttpServletRequest request) {
         try {
@@ -43,9 +53,16 @@ public class ActivityController {
     }
     
     @GetMapping
-    public ResponseEntity<?> getActivitiesByOrganization(Authentication authentication, HttpServletRequest request) {
+    @ConditionalGet(EntityType.ACTIVITY)
+    public ResponseEntity<?> getActivitiesByOrganization(@RequestParam(required = false) String cursor,
+                                                         @RequestParam(required = false) Integer limit,
+                                                         Authentication authentication, HttpServletRequest request) {
         try {
             Long orgId = authenticationUtils.getOrgIdFromAuthentication(authentication, request);
+            // Keyset-paged envelope when paging parameters are supplied; plain list otherwise
+            if (cursor != null || limit != null) {
+                return ResponseEntity.ok(activityService.getActivitiesPageByOrganization(orgId, cursor, limit));
+            }
             List<ActivityDto> activities = activityService.getActivitiesByOrganization(orgId);
             return ResponseEntity.ok(activities);
         } catch (Exception e) {
@@ -53,7 +70,30 @@ public class ActivityController {
         }
     }
     
+    // Targets are "ids" or a "filter" on status, activityType and memberId
+    @PostMapping("/bulk/status")
+    public ResponseEntity<?> bulkChangeStatus(@RequestBody BulkUpdateRequest<ActivityFilter> bulkRequest, Authentication authentication, HttpServletRequest request) {
+        try {
+            Long orgId = authenticationUtils.getOrgIdFromAuthentication(authentication, request);
+            return ResponseEntity.ok(bulkUpdateService.changeActivityStatus(orgId, bulkRequest));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+    
+    @PostMapping("/bulk/reassign")
+    @PreAuthorize("hasAnyRole('Admin','Manager')")
+    public ResponseEntity<?> bulkReassign(@RequestBody BulkUpdateRequest<ActivityFilter> bulkRequest, Authentication authentication, HttpServletRequest request) {
+        try {
+            Long orgId = authenticationUtils.getOrgIdFromAuthentication(authentication, request);
+            return ResponseEntity.ok(bulkUpdateService.reassignActivities(orgId, bulkRequest));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+    
     @GetMapping("/{activityId}")
+    @ConditionalGet(EntityType.ACTIVITY)
     public ResponseEntity<?> getActivityById(@PathVariable Long activityId) {
         try {
             ActivityDto activity = activityService.getActivityById(activityId);
@@ -68,6 +108,21 @@ public class ActivityController {
         try {
             ActivityDto updatedActivity = activityService.updateActivity(activityId, activityDto);
             return ResponseEntity.ok(updatedActivity);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Error: " + e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+    
+    @PatchMapping("/{activityId}")
+    public ResponseEntity<?> patchActivity(@PathVariable Long activityId, @RequestBody ActivityDto patch,
+                                           Authentication authentication, HttpServletRequest request) {
+        try {
+            Long orgId = authenticationUtils.getOrgIdFromAuthentication(authentication, request);
+            return ResponseEntity.ok(activityService.patchActivity(orgId, activityId, patch));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Error: " + e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error: " + e.getMessage());
         }
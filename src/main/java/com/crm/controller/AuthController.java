@@ -7,14 +7,18 @@ import com.crm.dto.OrganizationDto;
 import com.crm.repository.MemberRepository;
 import com.crm.repository.OrganizationRepository;
 import com.crm.repository.RoleRepository;
+import com.crm.security.LoginThrottledException;
 import com.crm.service.AuthService;
 import com.crm.service.MemberService;
 import com.crm.service.OrganizationService;
 import com.crm.service.SimpleAuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -47,54 +51,30 @@ public class AuthController {
     private RoleRepository roleRepository;
     
     @PostMapping("/login")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
-        logger.info("=== LOGIN ATTEMPT ===");
-        logger.info("Email: {}", loginRequest.getEmail());
-        logger.info("Password length: {}", loginRequest.getPassword() != null ? loginRequest.getPassword().length() : 0);
-        logger.info("Email is blank: {}", loginRequest.getEmail() == null || loginRequest.getEmail().trim().isEmpty());
-        logger.info("Password is blank: {}", loginRequest.getPassword() == null || loginRequest.getPassword().isEmpty());
-        
-        // Additional validation logging
-        if (loginRequest.getEmail() != null) {
-            logger.info("Email after trim: '{}'", loginRequest.getEmail().trim());
-            logger.info("Email contains @: {}", loginRequest.getEmail().contains("@"));
-        }
-        
+    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest, HttpServletRequest request) {
         try {
             // Validate the request before processing
             if (loginRequest.getEmail() == null || loginRequest.getEmail().trim().isEmpty()) {
-                logger.warn("Login failed: Email is null or empty");
                 return ResponseEntity.badRequest().body("Email is required");
             }
             
             if (loginRequest.getPassword() == null || loginRequest.getPassword().isEmpty()) {
-                logger.warn("Login failed: Password is null or empty");
                 return ResponseEntity.badRequest().body("Password is required");
             }
             
             // Validate email format
             String email = loginRequest.getEmail().trim();
             if (!email.matches("^[^\\s@]+@[^\\s@]+\\.[^\\s@]+$")) {
-                logger.warn("Login failed: Invalid email format for: {}", email);
                 return ResponseEntity.badRequest().body("Email must be valid");
             }
             
-            logger.info("Request validation passed, proceeding with authentication...");
-            
-            try {
-                JwtResponse jwtResponse = simpleAuthService.authenticateUser(loginRequest);
-                logger.info("Login successful for email: {}", loginRequest.getEmail());
-                logger.info("Generated token length: {}", jwtResponse.getToken() != null ? jwtResponse.getToken().length() : 0);
-                logger.info("JWT Response details: memberId={}, name={}, orgId={}, role={}", 
-                           jwtResponse.getMemberId(), jwtResponse.getName(), 
-                           jwtResponse.getOrgId(), jwtResponse.getRole());
-                return ResponseEntity.ok(jwtResponse);
-            } catch (Exception authException) {
-                logger.error("Authentication service error: {}", authException.getMessage(), authException);
-                throw authException;
-            }
+            JwtResponse jwtResponse = simpleAuthService.authenticateUser(loginRequest, request.getRemoteAddr());
+            return ResponseEntity.ok(jwtResponse);
+        } catch (LoginThrottledException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body("Error: " + e.getMessage());
         } catch (Exception e) {
-            logger.error("Login failed for email: {} - Error: {}", loginRequest.getEmail(), e.getMessage(), e);
             return ResponseEntity.badRequest().body("Authentication failed: " + e.getMessage());
         }
     }
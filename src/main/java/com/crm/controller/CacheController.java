@@ -0,0 +1,29 @@
+package com.crm.controller;
+
+import com.crm.service.EntityCacheService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/cache")
+@CrossOrigin(origins = "*")
+@PreAuthorize("hasRole('Admin')")
+public class CacheController {
+    
+    @Autowired
+    private EntityCacheService entityCacheService;
+    
+    @GetMapping("/stats")
+    public ResponseEntity<?> getCacheStatistics() {
+        try {
+            Map<String, Map<String, Object>> stats = entityCacheService.getRegionStatistics();
+            return ResponseEntity.ok(stats);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+}
@@ -1,16 +1,25 @@
 package com.crm.controller;
 
+import com.crm.config.ConditionalGet;
 import com.crm.dto.ContactDto;
+import com.crm.dto.ContactFilter;
+import com.crm.entity.ChangeVersion.EntityType;
 import com.crm.service.ContactService;
+import com.crm.service.BulkImportService;
 import com.crm.util.AuthenticationUtils;
+import com.crm.util.ImportRowReader;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -25,6 +34,9 @@ public class ContactController {
     @Autowired
     private AuthenticationUtils authenticationUtils;
     
+    @Autowired
+    private BulkImportService bulkImportService;
+    
     @PostMapping
     public ResponseEntity<?> createContact(@Valid @RequestBody ContactDto contactDto, Authentication authentication, HttpServletRequest request) {
         try {
@@ -42,10 +54,30 @@ public class ContactController {
         }
     }
     
+    // Streams the body; CSV needs a header row of ContactDto field names
+    @PostMapping(value = "/import", consumes = {ImportRowReader.TEXT_CSV, ImportRowReader.APPLICATION_NDJSON})
+    public ResponseEntity<?> importContacts(InputStream body, @RequestParam(defaultValue = "false") boolean skipDuplicates,
+                                            Authentication authentication, HttpServletRequest request) {
+        try {
+            Long orgId = authenticationUtils.getOrgIdFromAuthentication(authentication, request);
+            Long memberId = authenticationUtils.getMemberIdFromAuthentication(authentication, request);
+            return ResponseEntity.ok(bulkImportService.importContacts(orgId, memberId, request.getContentType(), body, skipDuplicates));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+    
     @GetMapping
-    public ResponseEntity<?> getContactsByOrganization(Authentication authentication, HttpServletRequest request) {
+    @ConditionalGet({EntityType.CONTACT, EntityType.ACCOUNT, EntityType.MEMBER})
+    public ResponseEntity<?> getContactsByOrganization(@RequestParam(required = false) String cursor,
+                                                       @RequestParam(required = false) Integer limit,
+                                                       Authentication authentication, HttpServletRequest request) {
         try {
             Long orgId = authenticationUtils.getOrgIdFromAuthentication(authentication, request);
+            // Keyset-paged envelope when paging parameters are supplied; plain list otherwise
+            if (cursor != null || limit != null) {
+                return ResponseEntity.ok(contactService.getContactsPageByOrganization(orgId, cursor, limit));
+            }
             List<ContactDto> contacts = contactService.getContactsByOrganization(orgId);
             return ResponseEntity.ok(contacts);
         } catch (Exception e) {
@@ -53,7 +85,20 @@ public class ContactController {
         }
     }
     
+    @GetMapping("/search")
+    @ConditionalGet({EntityType.CONTACT, EntityType.ACCOUNT, EntityType.MEMBER})
+    public ResponseEntity<?> searchContacts(@ModelAttribute ContactFilter filter, Pageable pageable,
+                                            Authentication authentication, HttpServletRequest request) {
+        try {
+            Long orgId = authenticationUtils.getOrgIdFromAuthentication(authentication, request);
+            return ResponseEntity.ok(contactService.searchContacts(orgId, filter, pageable));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+    
     @GetMapping("/{contactId}")
+    @ConditionalGet({EntityType.CONTACT, EntityType.ACCOUNT, EntityType.MEMBER})
     public ResponseEntity<?> getContactById(@PathVariable Long contactId) {
         try {
             ContactDto contact = contactService.getContactById(contactId);
@@ -68,6 +113,21 @@ public class ContactController {
         try {
             ContactDto updatedContact = contactService.updateContact(contactId, contactDto);
             return ResponseEntity.ok(updatedContact);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Error: " + e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+    
+    @PatchMapping("/{contactId}")
+    public ResponseEntity<?> patchContact(@PathVariable Long contactId, @RequestBody ContactDto patch,
+                                          Authentication authentication, HttpServletRequest request) {
+        try {
+            Long orgId = authenticationUtils.getOrgIdFromAuthentication(authentication, request);
+            return ResponseEntity.ok(contactService.patchContact(orgId, contactId, patch));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Error: " + e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error: " + e.getMessage());
         }
@@ -0,0 +1,35 @@
+package com.crm.controller;
+
+import com.crm.service.DashboardRollupService;
+import com.crm.util.AuthenticationUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@CrossOrigin(origins = "*")
+@PreAuthorize("hasRole('Admin')")
+public class DashboardController {
+    
+    @Autowired
+    private DashboardRollupService dashboardRollupService;
+    
+    @Autowired
+    private AuthenticationUtils authenticationUtils;
+    
+    // Recomputes the caller's organization rollups from the deal and lead tables
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<?> rebuildRollups(Authentication authentication, HttpServletRequest request) {
+        try {
+            Long orgId = authenticationUtils.getOrgIdFromAuthentication(authentication, request);
+            dashboardRollupService.rebuild(orgId);
+            return ResponseEntity.ok("Dashboard rollups rebuilt");
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+}
@@ -1,12 +1,21 @@
 package com.crm.controller;
 
+import com.crm.config.ConditionalGet;
+import com.crm.dto.BulkUpdateRequest;
 import com.crm.dto.DealDto;
+import com.crm.dto.DealFilter;
+import com.crm.entity.ChangeVersion.EntityType;
+import com.crm.service.BulkUpdateService;
+import com.crm.service.DealForecastService;
 import com.crm.service.DealService;
 import com.crm.util.AuthenticationUtils;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -26,6 +35,12 @@ public class DealController {
     @Autowired
     private AuthenticationUtils authenticationUtils;
     
+    @Autowired
+    private BulkUpdateService bulkUpdateService;
+    
+    @Autowired
+    private DealForecastService dealForecastService;
+    
     @PostMapping
     @PreAuthorize("hasAnyRole('Admin','Manager','Sales Rep')")
     public ResponseEntity<?> createDeal(@Valid @RequestBody DealDto dealDto, Authentication authentication, HttpServletRequest request) {
@@ -45,10 +60,17 @@ public class DealController {
     }
     
     @GetMapping
+    @ConditionalGet(EntityType.DEAL)
     @PreAuthorize("hasAnyRole('Admin','Manager','Sales Rep')")
-    public ResponseEntity<?> getDealsByOrganization(Authentication authentication, HttpServletRequest request) {
+    public ResponseEntity<?> getDealsByOrganization(@RequestParam(required = false) String cursor,
+                                                    @RequestParam(required = false) Integer limit,
+                                                    Authentication authentication, HttpServletRequest request) {
         try {
             Long orgId = authenticationUtils.getOrgIdFromAuthentication(authentication, request);
+            // Keyset-paged envelope when paging parameters are supplied; plain list otherwise
+            if (cursor != null || limit != null) {
+                return ResponseEntity.ok(dealService.getDealsPageByOrganization(orgId, cursor, limit));
+            }
             List<DealDto> deals = dealService.getDealsByOrganization(orgId);
             return ResponseEntity.ok(deals);
         } catch (Exception e) {
@@ -57,6 +79,7 @@ public class DealController {
     }
 
     @GetMapping("/my")
+    @ConditionalGet(EntityType.DEAL)
     @PreAuthorize("hasAnyRole('Admin','Manager','Sales Rep','User')")
     public ResponseEntity<?> getDealsForCurrentUser(Authentication authentication, HttpServletRequest request) {
         try {
@@ -69,7 +92,21 @@ public class DealController {
         }
     }
 
+    @GetMapping("/search")
+    @ConditionalGet(EntityType.DEAL)
+    @PreAuthorize("hasAnyRole('Admin','Manager','Sales Rep')")
+    public ResponseEntity<?> searchDeals(@ModelAttribute DealFilter filter, Pageable pageable,
+                                         Authentication authentication, HttpServletRequest request) {
+        try {
+            Long orgId = authenticationUtils.getOrgIdFromAuthentication(authentication, request);
+            return ResponseEntity.ok(dealService.searchDeals(orgId, filter, pageable));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+    
     @GetMapping("/summary")
+    @ConditionalGet(EntityType.DASHBOARD)
     @PreAuthorize("hasAnyRole('Admin','Manager','Sales Rep')")
     public ResponseEntity<?> getDealSummary(Authentication authentication, HttpServletRequest request) {
         try {
@@ -81,6 +118,7 @@ public class DealController {
     }
 
     @GetMapping("/stages")
+    @ConditionalGet(EntityType.DASHBOARD)
     @PreAuthorize("hasAnyRole('Admin','Manager','Sales Rep')")
     public ResponseEntity<?> getDealStageDistribution(Authentication authentication, HttpServletRequest request) {
         try {
@@ -91,7 +129,44 @@ public class DealController {
         }
     }
     
+    // Weighted and unweighted open pipeline by stage, owner and expected-close month
+    @GetMapping("/forecast")
+    @ConditionalGet({EntityType.DEAL, EntityType.MEMBER})
+    @PreAuthorize("hasAnyRole('Admin','Manager','Sales Rep')")
+    public ResponseEntity<?> getForecast(Authentication authentication, HttpServletRequest request) {
+        try {
+            Long orgId = authenticationUtils.getOrgIdFromAuthentication(authentication, request);
+            return ResponseEntity.ok(dealForecastService.getForecast(orgId));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+    
+    // Targets are "ids" or a search "filter"; dashboard rollups follow the stage moves
+    @PostMapping("/bulk/stage")
+    @PreAuthorize("hasAnyRole('Admin','Manager','Sales Rep')")
+    public ResponseEntity<?> bulkChangeStage(@RequestBody BulkUpdateRequest<DealFilter> bulkRequest, Authentication authentication, HttpServletRequest request) {
+        try {
+            Long orgId = authenticationUtils.getOrgIdFromAuthentication(authentication, request);
+            return ResponseEntity.ok(bulkUpdateService.changeDealStage(orgId, bulkRequest));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+    
+    @PostMapping("/bulk/reassign")
+    @PreAuthorize("hasAnyRole('Admin','Manager')")
+    public ResponseEntity<?> bulkReassign(@RequestBody BulkUpdateRequest<DealFilter> bulkRequest, Authentication authentication, HttpServletRequest request) {
+        try {
+            Long orgId = authenticationUtils.getOrgIdFromAuthentication(authentication, request);
+            return ResponseEntity.ok(bulkUpdateService.reassignDeals(orgId, bulkRequest));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+    
     @GetMapping("/{dealId}")
+    @ConditionalGet(EntityType.DEAL)
     @PreAuthorize("hasAnyRole('Admin','Manager','Sales Rep')")
     public ResponseEntity<?> getDealById(@PathVariable Long dealId) {
         try {
@@ -108,6 +183,22 @@ public class DealController {
         try {
             DealDto updatedDeal = dealService.updateDeal(dealId, dealDto);
             return ResponseEntity.ok(updatedDeal);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Error: " + e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+    
+    @PatchMapping("/{dealId}")
+    @PreAuthorize("hasAnyRole('Admin','Manager','Sales Rep')")
+    public ResponseEntity<?> patchDeal(@PathVariable Long dealId, @RequestBody DealDto patch,
+                                       Authentication authentication, HttpServletRequest request) {
+        try {
+            Long orgId = authenticationUtils.getOrgIdFromAuthentication(authentication, request);
+            return ResponseEntity.ok(dealService.patchDeal(orgId, dealId, patch));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Error: " + e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error: " + e.getMessage());
         }
@@ -0,0 +1,66 @@
+package com.crm.controller;
+
+import com.crm.entity.ChangeVersion.EntityType;
+import com.crm.service.DuplicateDetectionService;
+import com.crm.util.AuthenticationUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/duplicates")
+@CrossOrigin(origins = "*")
+@PreAuthorize("hasAnyRole('Admin','Manager','Sales Rep')")
+public class DuplicateController {
+
+    @Autowired
+    private DuplicateDetectionService duplicateDetectionService;
+
+    @Autowired
+    private AuthenticationUtils authenticationUtils;
+
+    // For create forms: records of the type that look like the values being entered
+    @GetMapping("/check")
+    public ResponseEntity<?> check(@RequestParam EntityType type,
+                                   @RequestParam(required = false) String name,
+                                   @RequestParam(required = false) String email,
+                                   @RequestParam(required = false) String phone,
+                                   @RequestParam(defaultValue = "10") Integer limit,
+                                   Authentication authentication, HttpServletRequest request) {
+        try {
+            Long orgId = authenticationUtils.getOrgIdFromAuthentication(authentication, request);
+            return ResponseEntity.ok(duplicateDetectionService.findDuplicates(orgId, type, name, email, phone, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/{type}/{id}")
+    public ResponseEntity<?> getDuplicatesOf(@PathVariable EntityType type, @PathVariable Long id,
+                                             @RequestParam(defaultValue = "10") Integer limit,
+                                             Authentication authentication, HttpServletRequest request) {
+        try {
+            Long orgId = authenticationUtils.getOrgIdFromAuthentication(authentication, request);
+            return ResponseEntity.ok(duplicateDetectionService.findDuplicatesOf(orgId, type, id, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    // Whole-organization scan of one type, grouped into clusters
+    @GetMapping("/scan")
+    @PreAuthorize("hasAnyRole('Admin','Manager')")
+    public ResponseEntity<?> scan(@RequestParam EntityType type,
+                                  @RequestParam(defaultValue = "100") Integer limit,
+                                  Authentication authentication, HttpServletRequest request) {
+        try {
+            Long orgId = authenticationUtils.getOrgIdFromAuthentication(authentication, request);
+            return ResponseEntity.ok(duplicateDetectionService.scan(orgId, type, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.crm.controller;
+
+import com.crm.service.LiveEventService;
+import com.crm.util.AuthenticationUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/events")
+@CrossOrigin(origins = "*")
+@PreAuthorize("hasAnyRole('Admin','Manager','Sales Rep')")
+public class EventController {
+
+    @Autowired
+    private LiveEventService liveEventService;
+
+    @Autowired
+    private AuthenticationUtils authenticationUtils;
+
+    // Stream of committed creates, updates and deletes in the caller's organization
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(Authentication authentication, HttpServletRequest request) {
+        Long orgId = authenticationUtils.getOrgIdFromAuthentication(authentication, request);
+        return liveEventService.subscribe(orgId);
+    }
+}
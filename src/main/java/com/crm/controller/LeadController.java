@@ -1,16 +1,27 @@
 package com.crm.controller;
 
+import com.crm.config.ConditionalGet;
+import com.crm.dto.BulkUpdateRequest;
 import com.crm.dto.LeadDto;
+import com.crm.dto.LeadFilter;
+import com.crm.entity.ChangeVersion.EntityType;
 import com.crm.service.LeadService;
+import com.crm.service.BulkImportService;
+import com.crm.service.BulkUpdateService;
 import com.crm.util.AuthenticationUtils;
+import com.crm.util.ImportRowReader;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -25,6 +36,12 @@ public class LeadController {
     @Autowired
     private AuthenticationUtils authenticationUtils;
     
+    @Autowired
+    private BulkImportService bulkImportService;
+    
+    @Autowired
+    private BulkUpdateService bulkUpdateService;
+    
     @PostMapping
     public ResponseEntity<?> createLead(@Valid @RequestBody LeadDto leadDto, Authentication authentication, HttpServletRequest request) {
         try {
@@ -42,10 +59,42 @@ public class LeadController {
         }
     }
     
+    // Streams the body; CSV needs a header row of LeadDto field names
+    @PostMapping(value = "/import", consumes = {ImportRowReader.TEXT_CSV, ImportRowReader.APPLICATION_NDJSON})
+    public ResponseEntity<?> importLeads(InputStream body, @RequestParam(defaultValue = "false") boolean skipDuplicates,
+                                         Authentication authentication, HttpServletRequest request) {
+        try {
+            Long orgId = authenticationUtils.getOrgIdFromAuthentication(authentication, request);
+            Long memberId = authenticationUtils.getMemberIdFromAuthentication(authentication, request);
+            return ResponseEntity.ok(bulkImportService.importLeads(orgId, memberId, request.getContentType(), body, skipDuplicates));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+    
+    // Targets are "ids" or a search "filter"
+    @PostMapping("/bulk/reassign")
+    @PreAuthorize("hasAnyRole('Admin','Manager')")
+    public ResponseEntity<?> bulkReassign(@RequestBody BulkUpdateRequest<LeadFilter> bulkRequest, Authentication authentication, HttpServletRequest request) {
+        try {
+            Long orgId = authenticationUtils.getOrgIdFromAuthentication(authentication, request);
+            return ResponseEntity.ok(bulkUpdateService.reassignLeads(orgId, bulkRequest));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+    
     @GetMapping
-    public ResponseEntity<?> getLeadsByOrganization(Authentication authentication, HttpServletRequest request) {
+    @ConditionalGet({EntityType.LEAD, EntityType.MEMBER})
+    public ResponseEntity<?> getLeadsByOrganization(@RequestParam(required = false) String cursor,
+                                                    @RequestParam(required = false) Integer limit,
+                                                    Authentication authentication, HttpServletRequest request) {
         try {
             Long orgId = authenticationUtils.getOrgIdFromAuthentication(authentication, request);
+            // Keyset-paged envelope when paging parameters are supplied; plain list otherwise
+            if (cursor != null || limit != null) {
+                return ResponseEntity.ok(leadService.getLeadsPageByOrganization(orgId, cursor, limit));
+            }
             List<LeadDto> leads = leadService.getLeadsByOrganization(orgId);
             return ResponseEntity.ok(leads);
         } catch (Exception e) {
@@ -53,7 +102,20 @@ public class LeadController {
         }
     }
 
+    @GetMapping("/search")
+    @ConditionalGet({EntityType.LEAD, EntityType.MEMBER})
+    public ResponseEntity<?> searchLeads(@ModelAttribute LeadFilter filter, Pageable pageable,
+                                         Authentication authentication, HttpServletRequest request) {
+        try {
+            Long orgId = authenticationUtils.getOrgIdFromAuthentication(authentication, request);
+            return ResponseEntity.ok(leadService.searchLeads(orgId, filter, pageable));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+    
     @GetMapping("/summary")
+    @ConditionalGet(EntityType.DASHBOARD)
     public ResponseEntity<?> getLeadSummary(Authentication authentication, HttpServletRequest request) {
         try {
             Long orgId = authenticationUtils.getOrgIdFromAuthentication(authentication, request);
@@ -64,6 +126,7 @@ public class LeadController {
     }
     
     @GetMapping("/{leadId}")
+    @ConditionalGet({EntityType.LEAD, EntityType.MEMBER})
     public ResponseEntity<?> getLeadById(@PathVariable Long leadId) {
         try {
             LeadDto lead = leadService.getLeadById(leadId);
@@ -78,6 +141,22 @@ public class LeadController {
         try {
             LeadDto updatedLead = leadService.updateLead(leadId, leadDto);
             return ResponseEntity.ok(updatedLead);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Error: " + e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+    
+    // Only the fields present are changed; "version" is required and a stale one gets 409
+    @PatchMapping("/{leadId}")
+    public ResponseEntity<?> patchLead(@PathVariable Long leadId, @RequestBody LeadDto patch,
+                                       Authentication authentication, HttpServletRequest request) {
+        try {
+            Long orgId = authenticationUtils.getOrgIdFromAuthentication(authentication, request);
+            return ResponseEntity.ok(leadService.patchLead(orgId, leadId, patch));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Error: " + e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error: " + e.getMessage());
         }
@@ -1,5 +1,6 @@
 package com.crm.controller;
 
+import com.crm.dto.DeletionJobDto;
 import com.crm.dto.MemberDto;
 import com.crm.service.MemberService;
 import com.crm.util.AuthenticationUtils;
@@ -67,10 +68,23 @@ public class MemberController {
     }
     
     @DeleteMapping("/{memberId}")
-    public ResponseEntity<?> deleteMember(@PathVariable Long memberId) {
+    public ResponseEntity<?> deleteMember(@PathVariable Long memberId, Authentication authentication, HttpServletRequest request) {
         try {
-            memberService.deleteMember(memberId);
-            return ResponseEntity.ok("Member deleted successfully");
+            Long orgId = authenticationUtils.getOrgIdFromAuthentication(authentication, request);
+            Long requestedBy = authenticationUtils.getMemberIdFromAuthentication(authentication, request);
+            DeletionJobDto job = memberService.deleteMember(orgId, memberId, requestedBy);
+            return ResponseEntity.accepted().body(job);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+    
+    @GetMapping("/deletions/{jobId}")
+    public ResponseEntity<?> getDeletionJob(@PathVariable Long jobId, Authentication authentication, HttpServletRequest request) {
+        try {
+            Long orgId = authenticationUtils.getOrgIdFromAuthentication(authentication, request);
+            DeletionJobDto job = memberService.getDeletionJob(orgId, jobId);
+            return ResponseEntity.ok(job);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error: " + e.getMessage());
         }
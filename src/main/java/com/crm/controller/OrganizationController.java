@@ -1,5 +1,6 @@
 package com.crm.controller;
 
+import com.crm.dto.DeletionJobDto;
 import com.crm.dto.OrganizationDto;
 import com.crm.service.OrganizationService;
 import com.crm.util.AuthenticationUtils;
@@ -69,10 +70,21 @@ public class OrganizationController {
     }
     
     @DeleteMapping("/{orgId}")
-    public ResponseEntity<?> deleteOrganization(@PathVariable Long orgId) {
+    public ResponseEntity<?> deleteOrganization(@PathVariable Long orgId, Authentication authentication, HttpServletRequest request) {
         try {
-            organizationService.deleteOrganization(orgId);
-            return ResponseEntity.ok("Organization deleted successfully");
+            Long requestedBy = authenticationUtils.getMemberIdFromAuthentication(authentication, request);
+            DeletionJobDto job = organizationService.deleteOrganization(orgId, requestedBy);
+            return ResponseEntity.accepted().body(job);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+    
+    @GetMapping("/{orgId}/deletions/{jobId}")
+    public ResponseEntity<?> getDeletionJob(@PathVariable Long orgId, @PathVariable Long jobId) {
+        try {
+            DeletionJobDto job = organizationService.getDeletionJob(orgId, jobId);
+            return ResponseEntity.ok(job);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error: " + e.getMessage());
         }
@@ -0,0 +1,43 @@
+package com.crm.controller;
+
+import com.crm.dto.SearchHit;
+import com.crm.entity.ChangeVersion.EntityType;
+import com.crm.service.SearchIndexService;
+import com.crm.util.AuthenticationUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = "*")
+@PreAuthorize("hasAnyRole('Admin','Manager','Sales Rep')")
+public class SearchController {
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private AuthenticationUtils authenticationUtils;
+
+    // Typeahead across deals, leads, contacts, accounts and activities, e.g. ?q=acm&types=ACCOUNT,CONTACT
+    @GetMapping
+    public ResponseEntity<?> search(@RequestParam String q,
+                                    @RequestParam(required = false) Set<EntityType> types,
+                                    @RequestParam(defaultValue = "10") Integer limit,
+                                    Authentication authentication, HttpServletRequest request) {
+        try {
+            Long orgId = authenticationUtils.getOrgIdFromAuthentication(authentication, request);
+            List<SearchHit> hits = searchIndexService.search(orgId, q, types != null ? types : Set.of(), limit);
+            return ResponseEntity.ok(hits);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.crm.controller;
+
+import com.crm.config.ConditionalGet;
+import com.crm.entity.ChangeVersion.EntityType;
+import com.crm.service.TimelineService;
+import com.crm.util.AuthenticationUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/timeline")
+@CrossOrigin(origins = "*")
+@PreAuthorize("hasAnyRole('Admin','Manager','Sales Rep')")
+public class TimelineController {
+
+    @Autowired
+    private TimelineService timelineService;
+
+    @Autowired
+    private AuthenticationUtils authenticationUtils;
+
+    // Activities, deal events and matching leads of an account, contact or deal, newest first
+    @GetMapping("/{type}/{id}")
+    @ConditionalGet({EntityType.ACTIVITY, EntityType.DEAL, EntityType.LEAD, EntityType.ACCOUNT, EntityType.CONTACT})
+    public ResponseEntity<?> getTimeline(@PathVariable EntityType type, @PathVariable Long id,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer limit,
+                                         Authentication authentication, HttpServletRequest request) {
+        try {
+            Long orgId = authenticationUtils.getOrgIdFromAuthentication(authentication, request);
+            return ResponseEntity.ok(timelineService.getTimeline(orgId, type, id, cursor, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+}
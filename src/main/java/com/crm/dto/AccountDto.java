@@ -56,6 +56,8 @@ public class AccountDto {
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSX")
     private OffsetDateTime updatedAt;
     
+    private Long version;
+    
     // Constructors
     public AccountDto() {}
     
@@ -77,6 +79,19 @@ public class AccountDto {
         this.memberId = memberId;
     }
     
+    // Full row, used by the JPQL constructor projections in AccountRepository
+    public AccountDto(Long accountId, String accountName, String email, String phone, String website,
+                     String description, String industry, String address, String city,
+                     String state, String postalCode, String country, Long orgId, Long memberId,
+                     OffsetDateTime createdAt, OffsetDateTime updatedAt, Long version) {
+        this(accountName, email, phone, website, description, industry, address, city,
+             state, postalCode, country, orgId, memberId);
+        this.accountId = accountId;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
+    }
+    
     // Getters and Setters
     public Long getAccountId() {
         return accountId;
@@ -205,4 +220,12 @@ public class AccountDto {
     public void setUpdatedAt(OffsetDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,18 @@
+package com.crm.dto;
+
+/**
+ * Query parameters accepted by GET /api/accounts/search. Every field is optional.
+ */
+public class AccountFilter {
+
+    private String namePrefix;
+
+    // Getters and Setters
+    public String getNamePrefix() {
+        return namePrefix;
+    }
+
+    public void setNamePrefix(String namePrefix) {
+        this.namePrefix = namePrefix;
+    }
+}
@@ -53,6 +53,8 @@ public class ActivityDto {
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSX")
     private OffsetDateTime updatedAt;
     
+    private Long version;
+    
     // Constructors
     public ActivityDto() {}
     
@@ -74,6 +76,19 @@ public class ActivityDto {
         this.dealId = dealId;
     }
     
+    // Full row, used by the JPQL constructor projections in ActivityRepository
+    public ActivityDto(Long activityId, String activityType, String subject, String description,
+                       LocalDateTime activityDate, String status, String priority,
+                       Long orgId, Long memberId, Long leadId, Long contactId,
+                       Long accountId, Long dealId, OffsetDateTime createdAt, OffsetDateTime updatedAt, Long version) {
+        this(activityType, subject, description, activityDate, status, priority,
+             orgId, memberId, leadId, contactId, accountId, dealId);
+        this.activityId = activityId;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
+    }
+    
     // Getters and Setters
     public Long getActivityId() {
         return activityId;
@@ -194,4 +209,12 @@ public class ActivityDto {
     public void setUpdatedAt(OffsetDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
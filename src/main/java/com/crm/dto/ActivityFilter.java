@@ -0,0 +1,38 @@
+package com.crm.dto;
+
+/**
+ * Selects activities for the bulk endpoints. Every field is optional.
+ */
+public class ActivityFilter {
+
+    private String status;
+
+    private String activityType;
+
+    private Long memberId;
+
+    // Getters and Setters
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getActivityType() {
+        return activityType;
+    }
+
+    public void setActivityType(String activityType) {
+        this.activityType = activityType;
+    }
+
+    public Long getMemberId() {
+        return memberId;
+    }
+
+    public void setMemberId(Long memberId) {
+        this.memberId = memberId;
+    }
+}
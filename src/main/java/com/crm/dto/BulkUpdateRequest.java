@@ -0,0 +1,65 @@
+package com.crm.dto;
+
+import java.util.List;
+
+/**
+ * Body of the bulk update endpoints. Targets are either an explicit id list or
+ * a filter (an empty filter selects the whole organization); the new value goes
+ * in the field the endpoint changes: dealStage, status or memberId.
+ */
+public class BulkUpdateRequest<F> {
+
+    private List<Long> ids;
+
+    private F filter;
+
+    private String dealStage;
+
+    private String status;
+
+    private Long memberId;
+
+    // Constructors
+    public BulkUpdateRequest() {}
+
+    // Getters and Setters
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public F getFilter() {
+        return filter;
+    }
+
+    public void setFilter(F filter) {
+        this.filter = filter;
+    }
+
+    public String getDealStage() {
+        return dealStage;
+    }
+
+    public void setDealStage(String dealStage) {
+        this.dealStage = dealStage;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getMemberId() {
+        return memberId;
+    }
+
+    public void setMemberId(Long memberId) {
+        this.memberId = memberId;
+    }
+}
@@ -0,0 +1,49 @@
+package com.crm.dto;
+
+/**
+ * Outcome of a bulk update. {@code matched} counts the targeted ids,
+ * {@code updated} the rows that actually changed (ids outside the caller's
+ * organization or already holding the new value are not updated).
+ */
+public class BulkUpdateResult {
+
+    private int matched;
+
+    private int updated;
+
+    private int chunks;
+
+    // Constructors
+    public BulkUpdateResult() {}
+
+    public void addChunk(int matchedInChunk, int updatedInChunk) {
+        chunks++;
+        matched += matchedInChunk;
+        updated += updatedInChunk;
+    }
+
+    // Getters and Setters
+    public int getMatched() {
+        return matched;
+    }
+
+    public void setMatched(int matched) {
+        this.matched = matched;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(int updated) {
+        this.updated = updated;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    public void setChunks(int chunks) {
+        this.chunks = chunks;
+    }
+}
@@ -38,12 +38,14 @@ public class ContactDto {
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSX")
     private OffsetDateTime updatedAt;
     
+    private Long version;
+    
     // Constructors
     public ContactDto() {}
     
     public ContactDto(Long contactId, String contactName, String contactEmail, String phone,
                      Long orgId, Long memberId, Long accountId, String memberName, String accountName,
-                     OffsetDateTime createdAt, OffsetDateTime updatedAt) {
+                     OffsetDateTime createdAt, OffsetDateTime updatedAt, Long version) {
         this.contactId = contactId;
         this.contactName = contactName;
         this.contactEmail = contactEmail;
@@ -55,6 +57,7 @@ public class ContactDto {
         this.accountName = accountName;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
+        this.version = version;
     }
     
     // Getters and Setters
@@ -145,4 +148,12 @@ public class ContactDto {
     public void setUpdatedAt(OffsetDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
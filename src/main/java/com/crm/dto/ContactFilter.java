@@ -0,0 +1,28 @@
+package com.crm.dto;
+
+/**
+ * Query parameters accepted by GET /api/contacts/search. Every field is optional.
+ */
+public class ContactFilter {
+
+    private Long accountId;
+
+    private String namePrefix;
+
+    // Getters and Setters
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public String getNamePrefix() {
+        return namePrefix;
+    }
+
+    public void setNamePrefix(String namePrefix) {
+        this.namePrefix = namePrefix;
+    }
+}
@@ -3,6 +3,7 @@ package com.crm.dto;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Size;
 
@@ -33,8 +34,10 @@ public class DealDto {
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSX")
     private OffsetDateTime actualCloseDate;
     
-    @Size(max = 100, message = "Probability must not exceed 100 characters")
-    private String probability;
+    // Percent, 0-100
+    @DecimalMin(value = "0.0", message = "Probability must be between 0 and 100")
+    @DecimalMax(value = "100.0", message = "Probability must be between 0 and 100")
+    private BigDecimal probability;
     
     private Long orgId;
     
@@ -48,11 +51,14 @@ public class DealDto {
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSX")
     private OffsetDateTime updatedAt;
     
+    // Optimistic-lock version; PATCH requires it and PUT checks it when supplied
+    private Long version;
+    
     // Constructors
     public DealDto() {}
     
     public DealDto(String dealName, String description, BigDecimal dealValue, 
-                   String dealStage, OffsetDateTime expectedCloseDate, String probability, 
+                   String dealStage, OffsetDateTime expectedCloseDate, BigDecimal probability, 
                    Long orgId, Long memberId, Long accountId, Long contactId) {
         this.dealName = dealName;
         this.description = description;
@@ -66,6 +72,20 @@ public class DealDto {
         this.contactId = contactId;
     }
     
+    // Full row, used by the JPQL constructor projections in DealRepository
+    public DealDto(Long dealId, String dealName, String description, BigDecimal dealValue,
+                   String dealStage, OffsetDateTime expectedCloseDate, OffsetDateTime actualCloseDate,
+                   BigDecimal probability, Long orgId, Long memberId, Long accountId, Long contactId,
+                   OffsetDateTime createdAt, OffsetDateTime updatedAt, Long version) {
+        this(dealName, description, dealValue, dealStage, expectedCloseDate, probability,
+             orgId, memberId, accountId, contactId);
+        this.dealId = dealId;
+        this.actualCloseDate = actualCloseDate;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
+    }
+    
     // Getters and Setters
     public Long getDealId() {
         return dealId;
@@ -123,11 +143,11 @@ public class DealDto {
         this.actualCloseDate = actualCloseDate;
     }
     
-    public String getProbability() {
+    public BigDecimal getProbability() {
         return probability;
     }
     
-    public void setProbability(String probability) {
+    public void setProbability(BigDecimal probability) {
         this.probability = probability;
     }
     
@@ -178,4 +198,12 @@ public class DealDto {
     public void setUpdatedAt(OffsetDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,75 @@
+package com.crm.dto;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * Query parameters accepted by GET /api/deals/search. Every field is optional.
+ */
+public class DealFilter {
+
+    private String stage;
+
+    private BigDecimal minValue;
+
+    private BigDecimal maxValue;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private OffsetDateTime closeFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private OffsetDateTime closeTo;
+
+    private Long memberId;
+
+    // Getters and Setters
+    public String getStage() {
+        return stage;
+    }
+
+    public void setStage(String stage) {
+        this.stage = stage;
+    }
+
+    public BigDecimal getMinValue() {
+        return minValue;
+    }
+
+    public void setMinValue(BigDecimal minValue) {
+        this.minValue = minValue;
+    }
+
+    public BigDecimal getMaxValue() {
+        return maxValue;
+    }
+
+    public void setMaxValue(BigDecimal maxValue) {
+        this.maxValue = maxValue;
+    }
+
+    public OffsetDateTime getCloseFrom() {
+        return closeFrom;
+    }
+
+    public void setCloseFrom(OffsetDateTime closeFrom) {
+        this.closeFrom = closeFrom;
+    }
+
+    public OffsetDateTime getCloseTo() {
+        return closeTo;
+    }
+
+    public void setCloseTo(OffsetDateTime closeTo) {
+        this.closeTo = closeTo;
+    }
+
+    public Long getMemberId() {
+        return memberId;
+    }
+
+    public void setMemberId(Long memberId) {
+        this.memberId = memberId;
+    }
+}
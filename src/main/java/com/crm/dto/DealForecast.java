@@ -0,0 +1,69 @@
+package com.crm.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Weighted and unweighted open pipeline of an organization, in total and
+ * broken down by stage, owner and expected-close month.
+ */
+public class DealForecast {
+
+    private ForecastLine total;
+
+    private List<ForecastLine> byStage = new ArrayList<>();
+
+    private List<ForecastLine> byOwner = new ArrayList<>();
+
+    private List<ForecastLine> byMonth = new ArrayList<>();
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSX")
+    private OffsetDateTime computedAt;
+
+    // Constructors
+    public DealForecast() {}
+
+    // Getters and Setters
+    public ForecastLine getTotal() {
+        return total;
+    }
+
+    public void setTotal(ForecastLine total) {
+        this.total = total;
+    }
+
+    public List<ForecastLine> getByStage() {
+        return byStage;
+    }
+
+    public void setByStage(List<ForecastLine> byStage) {
+        this.byStage = byStage;
+    }
+
+    public List<ForecastLine> getByOwner() {
+        return byOwner;
+    }
+
+    public void setByOwner(List<ForecastLine> byOwner) {
+        this.byOwner = byOwner;
+    }
+
+    public List<ForecastLine> getByMonth() {
+        return byMonth;
+    }
+
+    public void setByMonth(List<ForecastLine> byMonth) {
+        this.byMonth = byMonth;
+    }
+
+    public OffsetDateTime getComputedAt() {
+        return computedAt;
+    }
+
+    public void setComputedAt(OffsetDateTime computedAt) {
+        this.computedAt = computedAt;
+    }
+}
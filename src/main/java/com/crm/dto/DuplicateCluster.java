@@ -0,0 +1,37 @@
+package com.crm.dto;
+
+import java.util.List;
+
+/**
+ * Records linked by likely-duplicate pairs; score is that of the strongest pair.
+ */
+public class DuplicateCluster {
+
+    private double score;
+    private List<SearchHit> records;
+
+    // Constructors
+    public DuplicateCluster() {}
+
+    public DuplicateCluster(double score, List<SearchHit> records) {
+        this.score = score;
+        this.records = records;
+    }
+
+    // Getters and Setters
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+
+    public List<SearchHit> getRecords() {
+        return records;
+    }
+
+    public void setRecords(List<SearchHit> records) {
+        this.records = records;
+    }
+}
@@ -0,0 +1,66 @@
+package com.crm.dto;
+
+/**
+ * A record that is likely a duplicate of the one asked about; score runs
+ * from app.duplicates.min-score to 1.
+ */
+public class DuplicateMatch {
+
+    private String type;
+    private Long id;
+    private String title;
+    private String detail;
+    private double score;
+
+    // Constructors
+    public DuplicateMatch() {}
+
+    public DuplicateMatch(SearchHit hit, double score) {
+        this.type = hit.getType();
+        this.id = hit.getId();
+        this.title = hit.getTitle();
+        this.detail = hit.getDetail();
+        this.score = score;
+    }
+
+    // Getters and Setters
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+
+    public void setDetail(String detail) {
+        this.detail = detail;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+}
@@ -0,0 +1,95 @@
+package com.crm.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a whole-organization duplicate scan of one record type. All
+ * clusters are counted in {@code clusterCount}; the strongest are listed.
+ */
+public class DuplicateScanReport {
+
+    private String type;
+
+    private int records;
+
+    private int blocks;
+
+    private long comparisons;
+
+    private int clusterCount;
+
+    private List<DuplicateCluster> clusters = new ArrayList<>();
+
+    private boolean clustersTruncated;
+
+    private long tookMs;
+
+    // Constructors
+    public DuplicateScanReport() {}
+
+    // Getters and Setters
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public int getRecords() {
+        return records;
+    }
+
+    public void setRecords(int records) {
+        this.records = records;
+    }
+
+    public int getBlocks() {
+        return blocks;
+    }
+
+    public void setBlocks(int blocks) {
+        this.blocks = blocks;
+    }
+
+    public long getComparisons() {
+        return comparisons;
+    }
+
+    public void setComparisons(long comparisons) {
+        this.comparisons = comparisons;
+    }
+
+    public int getClusterCount() {
+        return clusterCount;
+    }
+
+    public void setClusterCount(int clusterCount) {
+        this.clusterCount = clusterCount;
+    }
+
+    public List<DuplicateCluster> getClusters() {
+        return clusters;
+    }
+
+    public void setClusters(List<DuplicateCluster> clusters) {
+        this.clusters = clusters;
+    }
+
+    public boolean isClustersTruncated() {
+        return clustersTruncated;
+    }
+
+    public void setClustersTruncated(boolean clustersTruncated) {
+        this.clustersTruncated = clustersTruncated;
+    }
+
+    public long getTookMs() {
+        return tookMs;
+    }
+
+    public void setTookMs(long tookMs) {
+        this.tookMs = tookMs;
+    }
+}
@@ -0,0 +1,95 @@
+package com.crm.dto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Open pipeline of one stage, owner or expected-close month. weightedValue is
+ * the sum of deal value times probability; deals without a probability
+ * (unscoredCount of dealCount) add nothing to it.
+ */
+public class ForecastLine {
+
+    // Stage, member id or "yyyy-MM"; null for deals without an expected close date
+    private String key;
+
+    // Owner's name, on owner lines only
+    private String name;
+
+    private long dealCount;
+
+    private long unscoredCount;
+
+    private BigDecimal pipelineValue = BigDecimal.ZERO;
+
+    private BigDecimal weightedValue = BigDecimal.ZERO;
+
+    // Constructors
+    public ForecastLine() {}
+
+    public ForecastLine(String key, String name) {
+        this.key = key;
+        this.name = name;
+    }
+
+    // weightedPercent is the sum of value times probability, with probability in percent
+    public void add(long deals, long scored, BigDecimal value, BigDecimal weightedPercent) {
+        dealCount += deals;
+        unscoredCount += deals - scored;
+        pipelineValue = pipelineValue.add(value);
+        weightedValue = weightedValue.add(weightedPercent.movePointLeft(2));
+    }
+
+    public void roundWeightedValue() {
+        weightedValue = weightedValue.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    // Getters and Setters
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getDealCount() {
+        return dealCount;
+    }
+
+    public void setDealCount(long dealCount) {
+        this.dealCount = dealCount;
+    }
+
+    public long getUnscoredCount() {
+        return unscoredCount;
+    }
+
+    public void setUnscoredCount(long unscoredCount) {
+        this.unscoredCount = unscoredCount;
+    }
+
+    public BigDecimal getPipelineValue() {
+        return pipelineValue;
+    }
+
+    public void setPipelineValue(BigDecimal pipelineValue) {
+        this.pipelineValue = pipelineValue;
+    }
+
+    public BigDecimal getWeightedValue() {
+        return weightedValue;
+    }
+
+    public void setWeightedValue(BigDecimal weightedValue) {
+        this.weightedValue = weightedValue;
+    }
+}
@@ -0,0 +1,33 @@
+package com.crm.dto;
+
+public class ImportDuplicate {
+
+    private int row;
+
+    private DuplicateMatch match;
+
+    // Constructors
+    public ImportDuplicate() {}
+
+    public ImportDuplicate(int row, DuplicateMatch match) {
+        this.row = row;
+        this.match = match;
+    }
+
+    // Getters and Setters
+    public int getRow() {
+        return row;
+    }
+
+    public void setRow(int row) {
+        this.row = row;
+    }
+
+    public DuplicateMatch getMatch() {
+        return match;
+    }
+
+    public void setMatch(DuplicateMatch match) {
+        this.match = match;
+    }
+}
@@ -0,0 +1,114 @@
+package com.crm.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. Every rejected row is counted in {@code failed};
+ * only the first {@link #MAX_ERRORS} are listed in {@code errors}. Imported
+ * rows that look like an existing record are listed in {@code duplicates},
+ * under the same cap.
+ */
+public class ImportReport {
+
+    public static final int MAX_ERRORS = 1000;
+
+    private int totalRows;
+
+    private int imported;
+
+    private int failed;
+
+    private List<ImportRowError> errors = new ArrayList<>();
+
+    private boolean errorsTruncated;
+
+    private List<ImportDuplicate> duplicates = new ArrayList<>();
+
+    private boolean duplicatesTruncated;
+
+    // Constructors
+    public ImportReport() {}
+
+    public void addRow() {
+        totalRows++;
+    }
+
+    public void addImported() {
+        imported++;
+    }
+
+    public void addError(int row, String message) {
+        failed++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(new ImportRowError(row, message));
+        } else {
+            errorsTruncated = true;
+        }
+    }
+
+    public void addDuplicate(int row, DuplicateMatch match) {
+        if (duplicates.size() < MAX_ERRORS) {
+            duplicates.add(new ImportDuplicate(row, match));
+        } else {
+            duplicatesTruncated = true;
+        }
+    }
+
+    // Getters and Setters
+    public int getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(int totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public void setImported(int imported) {
+        this.imported = imported;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<ImportRowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<ImportRowError> errors) {
+        this.errors = errors;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public void setErrorsTruncated(boolean errorsTruncated) {
+        this.errorsTruncated = errorsTruncated;
+    }
+
+    public List<ImportDuplicate> getDuplicates() {
+        return duplicates;
+    }
+
+    public void setDuplicates(List<ImportDuplicate> duplicates) {
+        this.duplicates = duplicates;
+    }
+
+    public boolean isDuplicatesTruncated() {
+        return duplicatesTruncated;
+    }
+
+    public void setDuplicatesTruncated(boolean duplicatesTruncated) {
+        this.duplicatesTruncated = duplicatesTruncated;
+    }
+}
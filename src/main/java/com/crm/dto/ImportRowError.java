@@ -0,0 +1,33 @@
+package com.crm.dto;
+
+public class ImportRowError {
+
+    private int row;
+
+    private String message;
+
+    // Constructors
+    public ImportRowError() {}
+
+    public ImportRowError(int row, String message) {
+        this.row = row;
+        this.message = message;
+    }
+
+    // Getters and Setters
+    public int getRow() {
+        return row;
+    }
+
+    public void setRow(int row) {
+        this.row = row;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
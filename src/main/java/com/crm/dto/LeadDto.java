@@ -38,11 +38,14 @@ public class LeadDto {
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSX")
     private OffsetDateTime updatedAt;
     
+    private Long version;
+    
     // Constructors
     public LeadDto() {}
     
     public LeadDto(Long leadId, String leadName, String leadEmail, String phone, Boolean isVerified,
-                  Long orgId, Long memberId, String memberName, OffsetDateTime createdAt, OffsetDateTime updatedAt) {
+                  Long orgId, Long memberId, String memberName, OffsetDateTime createdAt, OffsetDateTime updatedAt,
+                  Long version) {
         this.leadId = leadId;
         this.leadName = leadName;
         this.leadEmail = leadEmail;
@@ -53,6 +56,7 @@ public class LeadDto {
         this.memberName = memberName;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
+        this.version = version;
     }
     
     // Getters and Setters
@@ -135,4 +139,12 @@ public class LeadDto {
     public void setUpdatedAt(OffsetDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
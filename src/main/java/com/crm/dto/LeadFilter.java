@@ -0,0 +1,44 @@
+package com.crm.dto;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Query parameters accepted by GET /api/leads/search. Every field is optional.
+ */
+public class LeadFilter {
+
+    private Boolean isVerified;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private OffsetDateTime createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private OffsetDateTime createdTo;
+
+    // Getters and Setters
+    public Boolean getIsVerified() {
+        return isVerified;
+    }
+
+    public void setIsVerified(Boolean isVerified) {
+        this.isVerified = isVerified;
+    }
+
+    public OffsetDateTime getCreatedFrom() {
+        return createdFrom;
+    }
+
+    public void setCreatedFrom(OffsetDateTime createdFrom) {
+        this.createdFrom = createdFrom;
+    }
+
+    public OffsetDateTime getCreatedTo() {
+        return createdTo;
+    }
+
+    public void setCreatedTo(OffsetDateTime createdTo) {
+        this.createdTo = createdTo;
+    }
+}
@@ -0,0 +1,71 @@
+package com.crm.dto;
+
+import com.crm.entity.ChangeVersion.EntityType;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * A committed change pushed to the organization's /api/events subscribers.
+ * Carries ids only; clients refetch the records they display.
+ */
+public class LiveEvent {
+
+    public enum Action {
+        CREATED, UPDATED, DELETED
+    }
+
+    private EntityType type;
+
+    private Action action;
+
+    // Empty when the change touched records that were not tracked one by one (member deletion)
+    private List<Long> ids;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSX")
+    private OffsetDateTime at;
+
+    // Constructors
+    public LiveEvent() {}
+
+    public LiveEvent(EntityType type, Action action, List<Long> ids, OffsetDateTime at) {
+        this.type = type;
+        this.action = action;
+        this.ids = ids;
+        this.at = at;
+    }
+
+    // Getters and Setters
+    public EntityType getType() {
+        return type;
+    }
+
+    public void setType(EntityType type) {
+        this.type = type;
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    public void setAction(Action action) {
+        this.action = action;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public OffsetDateTime getAt() {
+        return at;
+    }
+
+    public void setAt(OffsetDateTime at) {
+        this.at = at;
+    }
+}
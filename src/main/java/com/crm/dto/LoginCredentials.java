@@ -0,0 +1,99 @@
+package com.crm.dto;
+
+import com.crm.entity.Member;
+
+/**
+ * Columns needed to check a login, read in one narrow query instead of
+ * loading the Member entity with its role and organization.
+ */
+public class LoginCredentials {
+
+    private Long memberId;
+    private String email;
+    private String name;
+    private String passwordHash;
+    private Member.MemberStatus status;
+    private Long orgId;
+    private String orgName;
+    private String roleName;
+
+    // Constructors
+    public LoginCredentials() {}
+
+    public LoginCredentials(Long memberId, String email, String name, String passwordHash,
+                            Member.MemberStatus status, Long orgId, String orgName, String roleName) {
+        this.memberId = memberId;
+        this.email = email;
+        this.name = name;
+        this.passwordHash = passwordHash;
+        this.status = status;
+        this.orgId = orgId;
+        this.orgName = orgName;
+        this.roleName = roleName;
+    }
+
+    // Getters and Setters
+    public Long getMemberId() {
+        return memberId;
+    }
+
+    public void setMemberId(Long memberId) {
+        this.memberId = memberId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getPasswordHash() {
+        return passwordHash;
+    }
+
+    public void setPasswordHash(String passwordHash) {
+        this.passwordHash = passwordHash;
+    }
+
+    public Member.MemberStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(Member.MemberStatus status) {
+        this.status = status;
+    }
+
+    public Long getOrgId() {
+        return orgId;
+    }
+
+    public void setOrgId(Long orgId) {
+        this.orgId = orgId;
+    }
+
+    public String getOrgName() {
+        return orgName;
+    }
+
+    public void setOrgName(String orgName) {
+        this.orgName = orgName;
+    }
+
+    public String getRoleName() {
+        return roleName;
+    }
+
+    public void setRoleName(String roleName) {
+        this.roleName = roleName;
+    }
+}
@@ -0,0 +1,55 @@
+package com.crm.dto;
+
+/**
+ * One /api/search result: enough to render a typeahead row and link to the record.
+ */
+public class SearchHit {
+
+    private String type;
+    private Long id;
+    private String title;
+    private String detail;
+
+    // Constructors
+    public SearchHit() {}
+
+    public SearchHit(String type, Long id, String title, String detail) {
+        this.type = type;
+        this.id = id;
+        this.title = title;
+        this.detail = detail;
+    }
+
+    // Getters and Setters
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+
+    public void setDetail(String detail) {
+        this.detail = detail;
+    }
+}
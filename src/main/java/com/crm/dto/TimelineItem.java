@@ -0,0 +1,106 @@
+package com.crm.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.OffsetDateTime;
+
+/**
+ * One entry on an account, contact or deal timeline.
+ */
+public class TimelineItem {
+
+    public enum Source {
+        ACTIVITY, DEAL, LEAD
+    }
+
+    private Source source;
+
+    // Activity type for activities, CREATED or STAGE_CHANGED for deals, CREATED for leads
+    private String event;
+
+    // Id of the activity, deal or lead
+    private Long id;
+
+    private String title;
+
+    private String detail;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSX")
+    private OffsetDateTime at;
+
+    // Position within the source's own order (the deal event id for deals)
+    @JsonIgnore
+    private long sortId;
+
+    // Constructors
+    public TimelineItem() {}
+
+    public TimelineItem(Source source, String event, Long id, String title, String detail,
+                        OffsetDateTime at, long sortId) {
+        this.source = source;
+        this.event = event;
+        this.id = id;
+        this.title = title;
+        this.detail = detail;
+        this.at = at;
+        this.sortId = sortId;
+    }
+
+    // Getters and Setters
+    public Source getSource() {
+        return source;
+    }
+
+    public void setSource(Source source) {
+        this.source = source;
+    }
+
+    public String getEvent() {
+        return event;
+    }
+
+    public void setEvent(String event) {
+        this.event = event;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+
+    public void setDetail(String detail) {
+        this.detail = detail;
+    }
+
+    public OffsetDateTime getAt() {
+        return at;
+    }
+
+    public void setAt(OffsetDateTime at) {
+        this.at = at;
+    }
+
+    public long getSortId() {
+        return sortId;
+    }
+
+    public void setSortId(long sortId) {
+        this.sortId = sortId;
+    }
+}
@@ -9,11 +9,16 @@ import java.time.ZoneOffset;
 import java.util.List;
 
 @Entity
-@Table(name = "accounts")
+@Table(name = "accounts", indexes = {
+    @Index(name = "idx_accounts_org_created", columnList = "org_id, created_at, account_id"),
+    @Index(name = "idx_accounts_org_name", columnList = "org_id, account_name"),
+    @Index(name = "idx_accounts_org_updated", columnList = "org_id, updated_at")
+})
 public class Account {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "accounts_seq")
+    @SequenceGenerator(name = "accounts_seq", sequenceName = "accounts_account_id_seq", allocationSize = 50)
     @Column(name = "account_id")
     private Long accountId;
     
@@ -66,6 +71,10 @@ public class Account {
     @Column(name = "updated_at")
     private OffsetDateTime updatedAt;
     
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
     @OneToMany(mappedBy = "account", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Contact> contacts;
     
@@ -138,6 +147,14 @@ public class Account {
         this.updatedAt = updatedAt;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     public List<Contact> getContacts() {
         return contacts;
     }
@@ -9,11 +9,17 @@ import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 
 @Entity
-@Table(name = "activities")
+@Table(name = "activities", indexes = {
+    @Index(name = "idx_activities_org_created", columnList = "org_id, created_at, activity_id"),
+    @Index(name = "idx_activities_org_status", columnList = "org_id, status"),
+    @Index(name = "idx_activities_member", columnList = "member_id"),
+    @Index(name = "idx_activities_org_updated", columnList = "org_id, updated_at")
+})
 public class Activity {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "activities_seq")
+    @SequenceGenerator(name = "activities_seq", sequenceName = "activities_activity_id_seq", allocationSize = 50)
     @Column(name = "activity_id")
     private Long activityId;
     
@@ -69,6 +75,10 @@ public class Activity {
     @Column(name = "updated_at")
     private OffsetDateTime updatedAt;
     
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = OffsetDateTime.now(ZoneOffset.UTC);
@@ -212,4 +222,12 @@ public class Activity {
     public void setUpdatedAt(OffsetDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
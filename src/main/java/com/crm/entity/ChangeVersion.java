@@ -0,0 +1,84 @@
+package com.crm.entity;
+
+import jakarta.persistence.*;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Change counter for one organization and one kind of record. Every write path
+ * bumps it through ChangeVersionService; the HTTP layer derives ETags from it,
+ * so a GET can answer 304 without querying the records themselves.
+ */
+@Entity
+@Table(name = "change_versions", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_change_versions_org_entity_type", columnNames = {"org_id", "entity_type"})
+})
+public class ChangeVersion {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "version_id")
+    private Long versionId;
+    
+    @Column(name = "org_id", nullable = false)
+    private Long orgId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private EntityType entityType;
+    
+    @Column(name = "version", nullable = false)
+    private long version;
+    
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+    
+    // Constructors
+    public ChangeVersion() {}
+    
+    // Getters and Setters
+    public Long getVersionId() {
+        return versionId;
+    }
+    
+    public void setVersionId(Long versionId) {
+        this.versionId = versionId;
+    }
+    
+    public Long getOrgId() {
+        return orgId;
+    }
+    
+    public void setOrgId(Long orgId) {
+        this.orgId = orgId;
+    }
+    
+    public EntityType getEntityType() {
+        return entityType;
+    }
+    
+    public void setEntityType(EntityType entityType) {
+        this.entityType = entityType;
+    }
+    
+    public long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(long version) {
+        this.version = version;
+    }
+    
+    public OffsetDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(OffsetDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    // DASHBOARD covers the rollup rows behind the summary endpoints
+    public enum EntityType {
+        ACCOUNT, ACTIVITY, CONTACT, DEAL, LEAD, MEMBER, DASHBOARD
+    }
+}
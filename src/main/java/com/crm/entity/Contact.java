@@ -10,11 +10,24 @@ import java.time.ZoneOffset;
 import java.util.List;
 
 @Entity
-@Table(name = "contacts")
+@Table(name = "contacts", indexes = {
+    @Index(name = "idx_contacts_org_created", columnList = "org_id, created_at, contact_id"),
+    @Index(name = "idx_contacts_account", columnList = "account_id"),
+    @Index(name = "idx_contacts_org_name", columnList = "org_id, contact_name"),
+    @Index(name = "idx_contacts_org_updated", columnList = "org_id, updated_at")
+})
+@NamedEntityGraph(name = Contact.WITH_MEMBER_AND_ACCOUNT, attributeNodes = {
+    @NamedAttributeNode("member"),
+    @NamedAttributeNode("account")
+})
 public class Contact {
     
+    // Search results carry the owner and account names
+    public static final String WITH_MEMBER_AND_ACCOUNT = "Contact.withMemberAndAccount";
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "contacts_seq")
+    @SequenceGenerator(name = "contacts_seq", sequenceName = "contacts_contact_id_seq", allocationSize = 50)
     @Column(name = "contact_id")
     private Long contactId;
     
@@ -54,6 +67,10 @@ public class Contact {
     @Column(name = "updated_at")
     private OffsetDateTime updatedAt;
     
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = OffsetDateTime.now(ZoneOffset.UTC);
@@ -157,4 +174,12 @@ public class Contact {
     public void setUpdatedAt(OffsetDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
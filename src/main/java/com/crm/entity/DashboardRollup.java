@@ -0,0 +1,122 @@
+package com.crm.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Pre-aggregated dashboard counter for one organization. Monthly metrics use a
+ * {@code yyyy-MM} bucket (UTC); {@link Metric#DEAL_STAGE} uses the stage name.
+ * Kept current by DashboardRollupService on every deal and lead write.
+ */
+@Entity
+@Table(name = "dashboard_rollups", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_dashboard_rollups_org_metric_bucket", columnNames = {"org_id", "metric", "bucket"})
+})
+public class DashboardRollup {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "rollup_id")
+    private Long rollupId;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "org_id", nullable = false)
+    private Organization organization;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "metric", nullable = false, length = 20)
+    private Metric metric;
+    
+    @Column(name = "bucket", nullable = false, length = 50)
+    private String bucket;
+    
+    @Column(name = "item_count", nullable = false)
+    private long itemCount;
+    
+    @Column(name = "total_value", nullable = false, precision = 17, scale = 2)
+    private BigDecimal totalValue = BigDecimal.ZERO;
+    
+    @Column(name = "updated_at")
+    private OffsetDateTime updatedAt;
+    
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = OffsetDateTime.now(ZoneOffset.UTC);
+    }
+    
+    // Constructors
+    public DashboardRollup() {}
+    
+    public DashboardRollup(Organization organization, Metric metric, String bucket, long itemCount, BigDecimal totalValue) {
+        this.organization = organization;
+        this.metric = metric;
+        this.bucket = bucket;
+        this.itemCount = itemCount;
+        this.totalValue = totalValue;
+    }
+    
+    // Getters and Setters
+    public Long getRollupId() {
+        return rollupId;
+    }
+    
+    public void setRollupId(Long rollupId) {
+        this.rollupId = rollupId;
+    }
+    
+    public Organization getOrganization() {
+        return organization;
+    }
+    
+    public void setOrganization(Organization organization) {
+        this.organization = organization;
+    }
+    
+    public Metric getMetric() {
+        return metric;
+    }
+    
+    public void setMetric(Metric metric) {
+        this.metric = metric;
+    }
+    
+    public String getBucket() {
+        return bucket;
+    }
+    
+    public void setBucket(String bucket) {
+        this.bucket = bucket;
+    }
+    
+    public long getItemCount() {
+        return itemCount;
+    }
+    
+    public void setItemCount(long itemCount) {
+        this.itemCount = itemCount;
+    }
+    
+    public BigDecimal getTotalValue() {
+        return totalValue;
+    }
+    
+    public void setTotalValue(BigDecimal totalValue) {
+        this.totalValue = totalValue;
+    }
+    
+    public OffsetDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(OffsetDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    public enum Metric {
+        DEALS_CREATED, LEADS_CREATED, DEAL_STAGE
+    }
+}
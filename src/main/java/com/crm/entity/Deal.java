@@ -1,6 +1,7 @@
 package com.crm.entity;
 
 import jakarta.persistence.*;
+import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -11,11 +12,19 @@ import java.time.ZoneOffset;
 import java.util.List;
 
 @Entity
-@Table(name = "deals")
+@Table(name = "deals", indexes = {
+    @Index(name = "idx_deals_org_created", columnList = "org_id, created_at, deal_id"),
+    @Index(name = "idx_deals_org_stage", columnList = "org_id, deal_stage"),
+    @Index(name = "idx_deals_org_value", columnList = "org_id, deal_value"),
+    @Index(name = "idx_deals_org_close_date", columnList = "org_id, expected_close_date"),
+    @Index(name = "idx_deals_member", columnList = "member_id"),
+    @Index(name = "idx_deals_org_updated", columnList = "org_id, updated_at")
+})
 public class Deal {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "deals_seq")
+    @SequenceGenerator(name = "deals_seq", sequenceName = "deals_deal_id_seq", allocationSize = 50)
     @Column(name = "deal_id")
     private Long dealId;
     
@@ -42,8 +51,11 @@ public class Deal {
     @Column(name = "actual_close_date")
     private OffsetDateTime actualCloseDate;
     
-    @Column(name = "probability")
-    private String probability;
+    // Percent, 0-100; the forecast weights the deal value by it
+    @DecimalMin(value = "0.0", message = "Probability must be between 0 and 100")
+    @DecimalMax(value = "100.0", message = "Probability must be between 0 and 100")
+    @Column(name = "probability", precision = 5, scale = 2)
+    private BigDecimal probability;
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "account_id")
@@ -75,6 +87,10 @@ public class Deal {
     @Column(name = "updated_at")
     private OffsetDateTime updatedAt;
     
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = OffsetDateTime.now(ZoneOffset.UTC);
@@ -154,11 +170,11 @@ public class Deal {
         this.actualCloseDate = actualCloseDate;
     }
     
-    public String getProbability() {
+    public BigDecimal getProbability() {
         return probability;
     }
     
-    public void setProbability(String probability) {
+    public void setProbability(BigDecimal probability) {
         this.probability = probability;
     }
     
@@ -217,4 +233,12 @@ public class Deal {
     public void setUpdatedAt(OffsetDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,155 @@
+package com.crm.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * One entry in a deal's history, shown on the deal's timeline and on those of
+ * the account and contact it belonged to at the time. Written by DealService
+ * and BulkUpdateService; deleted with the deal (ON DELETE CASCADE).
+ */
+@Entity
+@Table(name = "deal_events", indexes = {
+    @Index(name = "idx_deal_events_deal", columnList = "deal_id, occurred_at, event_id"),
+    @Index(name = "idx_deal_events_account", columnList = "account_id, occurred_at, event_id"),
+    @Index(name = "idx_deal_events_contact", columnList = "contact_id, occurred_at, event_id")
+})
+public class DealEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(name = "org_id", nullable = false)
+    private Long orgId;
+
+    @Column(name = "deal_id", nullable = false)
+    private Long dealId;
+
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Column(name = "contact_id")
+    private Long contactId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 20)
+    private EventType eventType;
+
+    @Column(name = "from_stage", length = 50)
+    private String fromStage;
+
+    @Column(name = "to_stage", length = 50)
+    private String toStage;
+
+    @Column(name = "deal_value", precision = 15, scale = 2)
+    private BigDecimal dealValue;
+
+    @Column(name = "occurred_at", nullable = false)
+    private OffsetDateTime occurredAt;
+
+    // Constructors
+    public DealEvent() {}
+
+    public DealEvent(Long orgId, Long dealId, Long accountId, Long contactId, EventType eventType,
+                     String fromStage, String toStage, BigDecimal dealValue) {
+        this.orgId = orgId;
+        this.dealId = dealId;
+        this.accountId = accountId;
+        this.contactId = contactId;
+        this.eventType = eventType;
+        this.fromStage = fromStage;
+        this.toStage = toStage;
+        this.dealValue = dealValue;
+        this.occurredAt = OffsetDateTime.now(ZoneOffset.UTC);
+    }
+
+    // Getters and Setters
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public Long getOrgId() {
+        return orgId;
+    }
+
+    public void setOrgId(Long orgId) {
+        this.orgId = orgId;
+    }
+
+    public Long getDealId() {
+        return dealId;
+    }
+
+    public void setDealId(Long dealId) {
+        this.dealId = dealId;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public Long getContactId() {
+        return contactId;
+    }
+
+    public void setContactId(Long contactId) {
+        this.contactId = contactId;
+    }
+
+    public EventType getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(EventType eventType) {
+        this.eventType = eventType;
+    }
+
+    public String getFromStage() {
+        return fromStage;
+    }
+
+    public void setFromStage(String fromStage) {
+        this.fromStage = fromStage;
+    }
+
+    public String getToStage() {
+        return toStage;
+    }
+
+    public void setToStage(String toStage) {
+        this.toStage = toStage;
+    }
+
+    public BigDecimal getDealValue() {
+        return dealValue;
+    }
+
+    public void setDealValue(BigDecimal dealValue) {
+        this.dealValue = dealValue;
+    }
+
+    public OffsetDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(OffsetDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+
+    public enum EventType {
+        CREATED, STAGE_CHANGED
+    }
+}
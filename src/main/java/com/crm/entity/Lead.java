@@ -9,11 +9,20 @@ import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 
 @Entity
-@Table(name = "leads")
+@Table(name = "leads", indexes = {
+    @Index(name = "idx_leads_org_created", columnList = "org_id, created_at, lead_id"),
+    @Index(name = "idx_leads_org_verified_created", columnList = "org_id, is_verified, created_at"),
+    @Index(name = "idx_leads_org_updated", columnList = "org_id, updated_at")
+})
+@NamedEntityGraph(name = Lead.WITH_MEMBER, attributeNodes = @NamedAttributeNode("member"))
 public class Lead {
     
+    // Search results carry the owner's name
+    public static final String WITH_MEMBER = "Lead.withMember";
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "leads_seq")
+    @SequenceGenerator(name = "leads_seq", sequenceName = "leads_lead_id_seq", allocationSize = 50)
     @Column(name = "lead_id")
     private Long leadId;
     
@@ -49,6 +58,10 @@ public class Lead {
     @Column(name = "updated_at")
     private OffsetDateTime updatedAt;
     
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
     @OneToMany(mappedBy = "lead", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private java.util.List<Activity> activities;
     
@@ -147,6 +160,14 @@ public class Lead {
         this.updatedAt = updatedAt;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     public java.util.List<Activity> getActivities() {
         return activities;
     }
@@ -5,6 +5,8 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -15,8 +17,17 @@ import java.util.List;
 
 @Entity
 @Table(name = "members")
+@NamedEntityGraph(name = Member.WITH_ROLE_AND_ORGANIZATION, attributeNodes = {
+    @NamedAttributeNode("role"),
+    @NamedAttributeNode("organization")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "members")
 public class Member implements UserDetails {
     
+    // Fetch plan for reads that build a MemberDto or a login response
+    public static final String WITH_ROLE_AND_ORGANIZATION = "Member.withRoleAndOrganization";
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "member_id")
@@ -42,12 +53,12 @@ public class Member implements UserDetails {
     @Column(name = "status", nullable = false)
     private MemberStatus status = MemberStatus.ACTIVE;
     
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "org_id", nullable = false)
     @JsonIgnore
     private Organization organization;
     
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "role_id", nullable = false)
     @JsonIgnore
     private Role role;
@@ -58,23 +69,23 @@ public class Member implements UserDetails {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
-    @OneToMany(mappedBy = "member", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @OneToMany(mappedBy = "member", fetch = FetchType.LAZY)
     @JsonIgnore
     private List<Lead> leads;
     
-    @OneToMany(mappedBy = "member", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @OneToMany(mappedBy = "member", fetch = FetchType.LAZY)
     @JsonIgnore
     private List<Contact> contacts;
     
-    @OneToMany(mappedBy = "member", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @OneToMany(mappedBy = "member", fetch = FetchType.LAZY)
     @JsonIgnore
     private List<Account> accounts;
     
-    @OneToMany(mappedBy = "member", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @OneToMany(mappedBy = "member", fetch = FetchType.LAZY)
     @JsonIgnore
     private List<Deal> deals;
     
-    @OneToMany(mappedBy = "member", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @OneToMany(mappedBy = "member", fetch = FetchType.LAZY)
     @JsonIgnore
     private List<Activity> activities;
     
@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
@@ -11,6 +13,8 @@ import java.util.List;
 
 @Entity
 @Table(name = "organizations")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "organizations")
 public class Organization {
     
     @Id
@@ -35,24 +39,27 @@ public class Organization {
     @Column(name = "updated_at")
     private OffsetDateTime updatedAt;
     
-    @OneToMany(mappedBy = "organization", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @OneToMany(mappedBy = "organization", fetch = FetchType.LAZY)
     private List<Member> members;
     
-    @OneToMany(mappedBy = "organization", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @OneToMany(mappedBy = "organization", fetch = FetchType.LAZY)
     private List<Lead> leads;
     
-    @OneToMany(mappedBy = "organization", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @OneToMany(mappedBy = "organization", fetch = FetchType.LAZY)
     private List<Contact> contacts;
     
-    @OneToMany(mappedBy = "organization", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @OneToMany(mappedBy = "organization", fetch = FetchType.LAZY)
     private List<Account> accounts;
     
-    @OneToMany(mappedBy = "organization", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @OneToMany(mappedBy = "organization", fetch = FetchType.LAZY)
     private List<Deal> deals;
     
-    @OneToMany(mappedBy = "organization", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @OneToMany(mappedBy = "organization", fetch = FetchType.LAZY)
     private List<Activity> activities;
     
+    @OneToMany(mappedBy = "organization", fetch = FetchType.LAZY)
+    private List<DashboardRollup> dashboardRollups;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = OffsetDateTime.now(ZoneOffset.UTC);
@@ -160,4 +167,12 @@ public class Organization {
     public void setActivities(List<Activity> activities) {
         this.activities = activities;
     }
+    
+    public List<DashboardRollup> getDashboardRollups() {
+        return dashboardRollups;
+    }
+    
+    public void setDashboardRollups(List<DashboardRollup> dashboardRollups) {
+        this.dashboardRollups = dashboardRollups;
+    }
 }
@@ -1,30 +1,72 @@
 package com.crm.repository;
 
+import com.crm.dto.AccountDto;
 import com.crm.entity.Account;
 import com.crm.entity.Member;
 import com.crm.entity.Organization;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 @Repository
-public interface AccountRepository extends JpaRepository<Account, Long> {
+public interface AccountRepository extends JpaRepository<Account, Long>, JpaSpecificationExecutor<Account> {
     List<Account> findByOrganization(Organization organization);
     List<Account> findByMember(Member member);
     List<Account> findByOrganizationAndMember(Organization organization, Member member);
     
-    // Custom queries with JOIN FETCH to avoid lazy loading issues
-    @Query("SELECT a FROM Account a LEFT JOIN FETCH a.organization LEFT JOIN FETCH a.member WHERE a.organization = :organization")
-    List<Account> findByOrganizationWithRelations(@Param("organization") Organization organization);
+    // Constructor projection for list/detail reads (unmanaged, no persistence context entries)
+    String DTO_SELECT = "SELECT new com.crm.dto.AccountDto(a.accountId, a.accountName, a.email, a.phone, a.website, a.description, a.industry, " +
+            "a.address, a.city, a.state, a.postalCode, a.country, a.organization.orgId, a.member.memberId, a.createdAt, a.updatedAt, a.version) " +
+            "FROM Account a ";
+
+    @Query(DTO_SELECT + "WHERE a.organization = :organization")
+    List<AccountDto> findDtosByOrganization(@Param("organization") Organization organization);
+    
+    @Query(DTO_SELECT + "WHERE a.member = :member")
+    List<AccountDto> findDtosByMember(@Param("member") Member member);
     
-    @Query("SELECT a FROM Account a LEFT JOIN FETCH a.organization LEFT JOIN FETCH a.member WHERE a.member = :member")
-    List<Account> findByMemberWithRelations(@Param("member") Member member);
+    @Query(DTO_SELECT + "WHERE a.accountId = :accountId")
+    AccountDto findDtoById(@Param("accountId") Long accountId);
+
+    // Keyset pagination over (createdAt, id), newest first; pass PageCursor.pageRequest(limit)
+    @Query(DTO_SELECT + "WHERE a.organization = :organization ORDER BY a.createdAt DESC, a.accountId DESC")
+    List<AccountDto> findFirstPageByOrganization(@Param("organization") Organization organization, Pageable pageable);
     
-    @Query("SELECT a FROM Account a LEFT JOIN FETCH a.organization LEFT JOIN FETCH a.member WHERE a.accountId = :accountId")
-    Account findByIdWithRelations(@Param("accountId") Long accountId);
+    @Query(DTO_SELECT + "WHERE a.organization = :organization AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.accountId < :id)) ORDER BY a.createdAt DESC, a.accountId DESC")
+    List<AccountDto> findPageByOrganizationAfter(@Param("organization") Organization organization,
+                                                 @Param("createdAt") OffsetDateTime createdAt,
+                                                 @Param("id") Long id,
+                                                 Pageable pageable);
     
     boolean existsByEmail(String email);
+    
+    boolean existsByEmailAndAccountIdNot(String email, Long accountId);
+    
+    // Chunk-level lookups for bulk import
+    @Query("SELECT a.email FROM Account a WHERE a.email IN :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+    
+    @Query("SELECT a.accountId FROM Account a WHERE a.organization.orgId = :orgId AND a.accountId IN :accountIds")
+    Set<Long> findIdsByOrganization(@Param("orgId") Long orgId, @Param("accountIds") Collection<Long> accountIds);
+    
+    boolean existsByAccountIdAndOrganizationOrgId(Long accountId, Long orgId);
+    
+    /**
+     * FK reference for an account id sent by the client: checked with one
+     * EXISTS query against the caller's organization, without loading the row.
+     */
+    default Account getReferenceInOrganization(Long accountId, Long orgId) {
+        if (!existsByAccountIdAndOrganizationOrgId(accountId, orgId)) {
+            throw new RuntimeException("Account not found");
+        }
+        return getReferenceById(accountId);
+    }
 }
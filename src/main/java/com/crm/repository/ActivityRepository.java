@@ -1,5 +1,6 @@
 package com.crm.repository;
 
+import com.crm.dto.ActivityDto;
 import com.crm.entity.Activity;
 import com.crm.entity.Lead;
 import com.crm.entity.Member;
@@ -7,28 +8,65 @@ import com.crm.entity.Organization;
 import com.crm.entity.Account;
 import com.crm.entity.Contact;
 import com.crm.entity.Deal;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface ActivityRepository extends JpaRepository<Activity, Long> {
+public interface ActivityRepository extends JpaRepository<Activity, Long>, JpaSpecificationExecutor<Activity> {
     List<Activity> findByOrganization(Organization organization);
     List<Activity> findByMember(Member member);
     List<Activity> findByOrganizationAndMember(Organization organization, Member member);
     List<Activity> findByLead(Lead lead);
     List<Activity> findByOrganizationAndLead(Organization organization, Lead lead);
     
-    // Custom queries with JOIN FETCH to avoid lazy loading issues
-    @Query("SELECT a FROM Activity a LEFT JOIN FETCH a.organization LEFT JOIN FETCH a.member LEFT JOIN FETCH a.account LEFT JOIN FETCH a.contact LEFT JOIN FETCH a.deal LEFT JOIN FETCH a.lead WHERE a.organization = :organization")
-    List<Activity> findByOrganizationWithRelations(@Param("organization") Organization organization);
+    // Constructor projection for list/detail reads: FK ids come straight from the
+    // activity row, so none of the six associations are joined or hydrated
+    String DTO_SELECT = "SELECT new com.crm.dto.ActivityDto(a.activityId, a.activityType, a.subject, a.description, a.activityDate, a.status, a.priority, " +
+            "a.organization.orgId, a.member.memberId, a.lead.leadId, a.contact.contactId, a.account.accountId, a.deal.dealId, a.createdAt, a.updatedAt, a.version) " +
+            "FROM Activity a ";
+
+    @Query(DTO_SELECT + "WHERE a.organization = :organization")
+    List<ActivityDto> findDtosByOrganization(@Param("organization") Organization organization);
+    
+    @Query(DTO_SELECT + "WHERE a.member = :member")
+    List<ActivityDto> findDtosByMember(@Param("member") Member member);
     
-    @Query("SELECT a FROM Activity a LEFT JOIN FETCH a.organization LEFT JOIN FETCH a.member LEFT JOIN FETCH a.account LEFT JOIN FETCH a.contact LEFT JOIN FETCH a.deal LEFT JOIN FETCH a.lead WHERE a.member = :member")
-    List<Activity> findByMemberWithRelations(@Param("member") Member member);
+    @Query(DTO_SELECT + "WHERE a.activityId = :activityId")
+    ActivityDto findDtoById(@Param("activityId") Long activityId);
+
+    // Keyset pagination over (createdAt, id), newest first; pass PageCursor.pageRequest(limit)
+    @Query(DTO_SELECT + "WHERE a.organization = :organization ORDER BY a.createdAt DESC, a.activityId DESC")
+    List<ActivityDto> findFirstPageByOrganization(@Param("organization") Organization organization, Pageable pageable);
     
-    @Query("SELECT a FROM Activity a LEFT JOIN FETCH a.organization LEFT JOIN FETCH a.member LEFT JOIN FETCH a.account LEFT JOIN FETCH a.contact LEFT JOIN FETCH a.deal LEFT JOIN FETCH a.lead WHERE a.activityId = :activityId")
-    Activity findByIdWithRelations(@Param("activityId") Long activityId);
+    @Query(DTO_SELECT + "WHERE a.organization = :organization AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.activityId < :id)) ORDER BY a.createdAt DESC, a.activityId DESC")
+    List<ActivityDto> findPageByOrganizationAfter(@Param("organization") Organization organization,
+                                                  @Param("createdAt") OffsetDateTime createdAt,
+                                                  @Param("id") Long id,
+                                                  Pageable pageable);
+
+    // Bulk updates: set-based, scoped to the organization, one statement per chunk of ids
+    @Modifying
+    @Query("UPDATE Activity a SET a.status = :status, a.updatedAt = :now, a.version = a.version + 1 " +
+           "WHERE a.organization.orgId = :orgId AND a.activityId IN :ids AND (a.status IS NULL OR a.status <> :status)")
+    int updateStatus(@Param("orgId") Long orgId,
+                     @Param("ids") Collection<Long> ids,
+                     @Param("status") String status,
+                     @Param("now") OffsetDateTime now);
+
+    @Modifying
+    @Query("UPDATE Activity a SET a.member = :member, a.updatedAt = :now, a.version = a.version + 1 " +
+           "WHERE a.organization.orgId = :orgId AND a.activityId IN :ids AND a.member <> :member")
+    int updateMember(@Param("orgId") Long orgId,
+                     @Param("ids") Collection<Long> ids,
+                     @Param("member") Member member,
+                     @Param("now") OffsetDateTime now);
 }
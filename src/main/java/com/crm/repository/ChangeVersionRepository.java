@@ -0,0 +1,39 @@
+package com.crm.repository;
+
+import com.crm.entity.ChangeVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ChangeVersionRepository extends JpaRepository<ChangeVersion, Long> {
+    
+    @Query("SELECT v FROM ChangeVersion v WHERE v.orgId = :orgId AND v.entityType IN :entityTypes")
+    List<ChangeVersion> findByOrgIdAndEntityTypes(@Param("orgId") Long orgId,
+                                                  @Param("entityTypes") Collection<ChangeVersion.EntityType> entityTypes);
+    
+    // Counters bumped after the given time, across organizations
+    @Query("SELECT v FROM ChangeVersion v WHERE v.updatedAt > :since AND v.entityType IN :entityTypes")
+    List<ChangeVersion> findChangedSince(@Param("since") OffsetDateTime since,
+                                         @Param("entityTypes") Collection<ChangeVersion.EntityType> entityTypes);
+    
+    // Returns 0 when the counter row does not exist yet
+    @Modifying
+    @Query("UPDATE ChangeVersion v SET v.version = v.version + 1, v.updatedAt = :now " +
+           "WHERE v.orgId = :orgId AND v.entityType = :entityType")
+    int increment(@Param("orgId") Long orgId,
+                  @Param("entityType") ChangeVersion.EntityType entityType,
+                  @Param("now") OffsetDateTime now);
+    
+    // ON CONFLICT keeps a concurrent first write from aborting the caller's transaction
+    @Modifying
+    @Query(value = "INSERT INTO change_versions (org_id, entity_type, version, updated_at) " +
+                   "VALUES (:orgId, :entityType, 0, CURRENT_TIMESTAMP) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfMissing(@Param("orgId") Long orgId, @Param("entityType") String entityType);
+}
@@ -1,31 +1,68 @@
 package com.crm.repository;
 
+import com.crm.dto.ContactDto;
 import com.crm.entity.Contact;
 import com.crm.entity.Member;
 import com.crm.entity.Organization;
 import com.crm.entity.Account;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 
 @Repository
-public interface ContactRepository extends JpaRepository<Contact, Long> {
+public interface ContactRepository extends JpaRepository<Contact, Long>, JpaSpecificationExecutor<Contact> {
     List<Contact> findByOrganization(Organization organization);
     List<Contact> findByMember(Member member);
     List<Contact> findByOrganizationAndMember(Organization organization, Member member);
     List<Contact> findByAccount(Account account);
     List<Contact> findByOrganizationAndAccount(Organization organization, Account account);
     
-    // Custom queries with JOIN FETCH to avoid lazy loading issues
-    @Query("SELECT c FROM Contact c LEFT JOIN FETCH c.organization LEFT JOIN FETCH c.member LEFT JOIN FETCH c.account WHERE c.organization = :organization")
-    List<Contact> findByOrganizationWithRelations(@Param("organization") Organization organization);
+    // Filtered search: fetch member and account with the page instead of one select per row
+    @Override
+    @EntityGraph(Contact.WITH_MEMBER_AND_ACCOUNT)
+    Page<Contact> findAll(Specification<Contact> spec, Pageable pageable);
     
-    @Query("SELECT c FROM Contact c LEFT JOIN FETCH c.organization LEFT JOIN FETCH c.member LEFT JOIN FETCH c.account WHERE c.member = :member")
-    List<Contact> findByMemberWithRelations(@Param("member") Member member);
+    // Constructor projection for list/detail reads; member and account are joined
+    // only for the display names ContactDto carries
+    String DTO_SELECT = "SELECT new com.crm.dto.ContactDto(c.contactId, c.contactName, c.contactEmail, c.phone, " +
+            "c.organization.orgId, m.memberId, acc.accountId, m.name, acc.accountName, c.createdAt, c.updatedAt, c.version) " +
+            "FROM Contact c JOIN c.member m LEFT JOIN c.account acc ";
+
+    @Query(DTO_SELECT + "WHERE c.organization = :organization")
+    List<ContactDto> findDtosByOrganization(@Param("organization") Organization organization);
+    
+    @Query(DTO_SELECT + "WHERE c.member = :member")
+    List<ContactDto> findDtosByMember(@Param("member") Member member);
+    
+    @Query(DTO_SELECT + "WHERE c.contactId = :contactId")
+    ContactDto findDtoById(@Param("contactId") Long contactId);
+
+    // Keyset pagination over (createdAt, id), newest first; pass PageCursor.pageRequest(limit)
+    @Query(DTO_SELECT + "WHERE c.organization = :organization ORDER BY c.createdAt DESC, c.contactId DESC")
+    List<ContactDto> findFirstPageByOrganization(@Param("organization") Organization organization, Pageable pageable);
     
-    @Query("SELECT c FROM Contact c LEFT JOIN FETCH c.organization LEFT JOIN FETCH c.member LEFT JOIN FETCH c.account WHERE c.contactId = :contactId")
-    Contact findByIdWithRelations(@Param("contactId") Long contactId);
+    @Query(DTO_SELECT + "WHERE c.organization = :organization AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.contactId < :id)) ORDER BY c.createdAt DESC, c.contactId DESC")
+    List<ContactDto> findPageByOrganizationAfter(@Param("organization") Organization organization,
+                                                 @Param("createdAt") OffsetDateTime createdAt,
+                                                 @Param("id") Long id,
+                                                 Pageable pageable);
+
+    boolean existsByContactIdAndOrganizationOrgId(Long contactId, Long orgId);
+
+    // See AccountRepository.getReferenceInOrganization
+    default Contact getReferenceInOrganization(Long contactId, Long orgId) {
+        if (!existsByContactIdAndOrganizationOrgId(contactId, orgId)) {
+            throw new RuntimeException("Contact not found");
+        }
+        return getReferenceById(contactId);
+    }
 }
@@ -0,0 +1,44 @@
+package com.crm.repository;
+
+import com.crm.entity.DashboardRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+
+@Repository
+public interface DashboardRollupRepository extends JpaRepository<DashboardRollup, Long> {
+    
+    @Query("SELECT r FROM DashboardRollup r WHERE r.organization.orgId = :orgId AND r.metric = :metric AND r.itemCount > 0 ORDER BY r.bucket")
+    List<DashboardRollup> findNonEmpty(@Param("orgId") Long orgId, @Param("metric") DashboardRollup.Metric metric);
+    
+    // Atomic in-place delta; returns 0 when the bucket row does not exist yet
+    @Modifying
+    @Query("UPDATE DashboardRollup r SET r.itemCount = r.itemCount + :countDelta, r.totalValue = r.totalValue + :valueDelta, " +
+           "r.updatedAt = :now WHERE r.organization.orgId = :orgId AND r.metric = :metric AND r.bucket = :bucket")
+    int increment(@Param("orgId") Long orgId,
+                  @Param("metric") DashboardRollup.Metric metric,
+                  @Param("bucket") String bucket,
+                  @Param("countDelta") long countDelta,
+                  @Param("valueDelta") BigDecimal valueDelta,
+                  @Param("now") OffsetDateTime now);
+    
+    // ON CONFLICT keeps a concurrent first write from aborting the caller's transaction
+    @Modifying
+    @Query(value = "INSERT INTO dashboard_rollups (org_id, metric, bucket, item_count, total_value, updated_at) " +
+                   "VALUES (:orgId, :metric, :bucket, 0, 0, CURRENT_TIMESTAMP) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfMissing(@Param("orgId") Long orgId, @Param("metric") String metric, @Param("bucket") String bucket);
+    
+    @Modifying
+    @Query("DELETE FROM DashboardRollup r WHERE r.organization.orgId = :orgId")
+    int deleteByOrgId(@Param("orgId") Long orgId);
+    
+    @Query("SELECT DISTINCT r.organization.orgId FROM DashboardRollup r")
+    Set<Long> findOrgIdsWithRollups();
+}
@@ -0,0 +1,25 @@
+package com.crm.repository;
+
+import com.crm.entity.DealEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+
+@Repository
+public interface DealEventRepository extends JpaRepository<DealEvent, Long> {
+
+    // Bulk stage change: one event per deal that moves, read from the rows before their UPDATE
+    @Modifying
+    @Query(value = "INSERT INTO deal_events (org_id, deal_id, account_id, contact_id, event_type, from_stage, to_stage, deal_value, occurred_at) " +
+                   "SELECT org_id, deal_id, account_id, contact_id, 'STAGE_CHANGED', deal_stage, :stage, deal_value, :now FROM deals " +
+                   "WHERE org_id = :orgId AND deal_id IN :ids AND deal_stage <> :stage", nativeQuery = true)
+    int insertStageChanges(@Param("orgId") Long orgId,
+                           @Param("ids") Collection<Long> ids,
+                           @Param("stage") String stage,
+                           @Param("now") OffsetDateTime now);
+}
@@ -1,60 +1,125 @@
 package com.crm.repository;
 
+import com.crm.dto.DealDto;
 import com.crm.entity.Deal;
 import com.crm.entity.Member;
 import com.crm.entity.Organization;
 import com.crm.entity.Contact;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface DealRepository extends JpaRepository<Deal, Long> {
+public interface DealRepository extends JpaRepository<Deal, Long>, JpaSpecificationExecutor<Deal> {
 	List<Deal> findByOrganization(Organization organization);
 	List<Deal> findByMember(Member member);
 	List<Deal> findByOrganizationAndMember(Organization organization, Member member);
 	List<Deal> findByContactsContaining(Contact contact);
 	List<Deal> findByOrganizationAndContactsContaining(Organization organization, Contact contact);
 	
-	// Custom queries with JOIN FETCH to avoid lazy loading issues
-	@Query("SELECT d FROM Deal d LEFT JOIN FETCH d.organization LEFT JOIN FETCH d.member LEFT JOIN FETCH d.account LEFT JOIN FETCH d.contact WHERE d.organization = :organization")
-	List<Deal> findByOrganizationWithRelations(@Param("organization") Organization organization);
+	// Read models: constructor projections select only the DTO columns and FK ids,
+	// so list and detail reads return unmanaged DTOs instead of hydrated entity graphs
+	String DTO_SELECT = "SELECT new com.crm.dto.DealDto(d.dealId, d.dealName, d.description, d.dealValue, d.dealStage, d.expectedCloseDate, d.actualCloseDate, d.probability, " +
+	        "d.organization.orgId, d.member.memberId, d.account.accountId, d.contact.contactId, d.createdAt, d.updatedAt, d.version) " +
+	        "FROM Deal d ";
+
+	@Query(DTO_SELECT + "WHERE d.organization = :organization")
+	List<DealDto> findDtosByOrganization(@Param("organization") Organization organization);
+	
+	@Query(DTO_SELECT + "WHERE d.member = :member")
+	List<DealDto> findDtosByMember(@Param("member") Member member);
 	
-	@Query("SELECT d FROM Deal d LEFT JOIN FETCH d.organization LEFT JOIN FETCH d.member LEFT JOIN FETCH d.account LEFT JOIN FETCH d.contact WHERE d.member = :member")
-	List<Deal> findByMemberWithRelations(@Param("member") Member member);
+	@Query(DTO_SELECT + "WHERE d.dealId = :dealId")
+	DealDto findDtoById(@Param("dealId") Long dealId);
+
+	// Keyset pagination over (createdAt, id), newest first; pass PageCursor.pageRequest(limit)
+	@Query(DTO_SELECT + "WHERE d.organization = :organization ORDER BY d.createdAt DESC, d.dealId DESC")
+	List<DealDto> findFirstPageByOrganization(@Param("organization") Organization organization, Pageable pageable);
 	
-	@Query("SELECT d FROM Deal d LEFT JOIN FETCH d.organization LEFT JOIN FETCH d.member LEFT JOIN FETCH d.account LEFT JOIN FETCH d.contact WHERE d.dealId = :dealId")
-	Deal findByIdWithRelations(@Param("dealId") Long dealId);
+	@Query(DTO_SELECT + "WHERE d.organization = :organization AND (d.createdAt < :createdAt OR (d.createdAt = :createdAt AND d.dealId < :id)) ORDER BY d.createdAt DESC, d.dealId DESC")
+	List<DealDto> findPageByOrganizationAfter(@Param("organization") Organization organization,
+	                                          @Param("createdAt") OffsetDateTime createdAt,
+	                                          @Param("id") Long id,
+	                                          Pageable pageable);
 
 	/**
 	 * Deals where the primary contact or account email matches a given email,
 	 * scoped to an organization. This is used to show projects for end users
 	 * based on the email they log in with.
 	 */
-	@Query("SELECT d FROM Deal d " +
-	       "LEFT JOIN FETCH d.organization o " +
-	       "LEFT JOIN FETCH d.member m " +
-	       "LEFT JOIN FETCH d.account a " +
-	       "LEFT JOIN FETCH d.contact c " +
-	       "WHERE o = :organization " +
+	@Query(DTO_SELECT +
+	       "LEFT JOIN d.account a " +
+	       "LEFT JOIN d.contact c " +
+	       "WHERE d.organization = :organization " +
 	       "AND (" +
 	       "  (c IS NOT NULL AND LOWER(c.contactEmail) = LOWER(:email)) " +
 	       "   OR " +
 	       "  (a IS NOT NULL AND LOWER(a.email) = LOWER(:email))" +
 	       ")")
-	List<Deal> findByOrganizationAndPartyEmail(@Param("organization") Organization organization,
-	                                           @Param("email") String email);
+	List<DealDto> findDtosByOrganizationAndPartyEmail(@Param("organization") Organization organization,
+	                                                 @Param("email") String email);
+
+	// Stage and value before a PATCH that changes them, for the dashboard rollup deltas
+	@Query("SELECT d.dealStage, d.dealValue, d.version FROM Deal d WHERE d.organization.orgId = :orgId AND d.dealId = :dealId")
+	List<Object[]> findStageAndValue(@Param("orgId") Long orgId, @Param("dealId") Long dealId);
+
+	// Bulk updates: set-based, scoped to the organization, one statement per chunk of ids
+	@Query("SELECT d.dealStage, COUNT(d), COALESCE(SUM(d.dealValue), 0) FROM Deal d " +
+	       "WHERE d.organization.orgId = :orgId AND d.dealId IN :ids AND d.dealStage <> :stage GROUP BY d.dealStage")
+	List<Object[]> summarizeStagesOtherThan(@Param("orgId") Long orgId,
+	                                        @Param("ids") Collection<Long> ids,
+	                                        @Param("stage") String stage);
 
-	// Monthly deal summary for charts (year, month, count) per organization
-	@Query("SELECT EXTRACT(YEAR FROM d.createdAt) AS year, EXTRACT(MONTH FROM d.createdAt) AS month, COUNT(d) AS dealCount " +
-	       "FROM Deal d WHERE d.organization = :organization " +
-	       "GROUP BY EXTRACT(YEAR FROM d.createdAt), EXTRACT(MONTH FROM d.createdAt) ORDER BY year, month")
-	List<Object[]> findMonthlyDealSummaryByOrganization(@Param("organization") Organization organization);
+	@Modifying
+	@Query("UPDATE Deal d SET d.dealStage = :stage, d.updatedAt = :now, d.version = d.version + 1 " +
+	       "WHERE d.organization.orgId = :orgId AND d.dealId IN :ids AND d.dealStage <> :stage")
+	int updateStage(@Param("orgId") Long orgId,
+	                @Param("ids") Collection<Long> ids,
+	                @Param("stage") String stage,
+	                @Param("now") OffsetDateTime now);
 
-	// Deal stage distribution per organization
-	@Query("SELECT d.dealStage, COUNT(d) FROM Deal d WHERE d.organization = :organization GROUP BY d.dealStage")
+	@Modifying
+	@Query("UPDATE Deal d SET d.member = :member, d.updatedAt = :now, d.version = d.version + 1 " +
+	       "WHERE d.organization.orgId = :orgId AND d.dealId IN :ids AND d.member <> :member")
+	int updateMember(@Param("orgId") Long orgId,
+	                 @Param("ids") Collection<Long> ids,
+	                 @Param("member") Member member,
+	                 @Param("now") OffsetDateTime now);
+
+	// Monthly deal summary for charts (year, month, count) per organization. Months are UTC, as in
+	// DashboardRollupService.monthBucket; plain EXTRACT would use the session time zone (the JVM default)
+	@Query(value = "SELECT EXTRACT(YEAR FROM created_at AT TIME ZONE 'UTC') AS year, " +
+	               "EXTRACT(MONTH FROM created_at AT TIME ZONE 'UTC') AS month, COUNT(*) AS dealCount " +
+	               "FROM deals WHERE org_id = :orgId GROUP BY 1, 2 ORDER BY 1, 2", nativeQuery = true)
+	List<Object[]> findMonthlyDealSummaryByOrganization(@Param("orgId") Long orgId);
+
+	// Open pipeline per (stage, owner, expected-close month); COUNT(d.probability) skips deals without one
+	@Query("SELECT d.dealStage, m.memberId, m.name, YEAR(d.expectedCloseDate), MONTH(d.expectedCloseDate), " +
+	       "COUNT(d), COUNT(d.probability), COALESCE(SUM(d.dealValue), 0), COALESCE(SUM(d.dealValue * d.probability), 0) " +
+	       "FROM Deal d JOIN d.member m WHERE d.organization.orgId = :orgId AND d.dealStage NOT IN :closedStages " +
+	       "GROUP BY d.dealStage, m.memberId, m.name, YEAR(d.expectedCloseDate), MONTH(d.expectedCloseDate)")
+	List<Object[]> summarizeOpenPipeline(@Param("orgId") Long orgId,
+	                                     @Param("closedStages") Collection<String> closedStages);
+
+	// Deal stage distribution and pipeline value per organization
+	@Query("SELECT d.dealStage, COUNT(d), COALESCE(SUM(d.dealValue), 0) FROM Deal d WHERE d.organization = :organization GROUP BY d.dealStage")
 	List<Object[]> findDealStageDistributionByOrganization(@Param("organization") Organization organization);
+
+	boolean existsByDealIdAndOrganizationOrgId(Long dealId, Long orgId);
+
+	// See AccountRepository.getReferenceInOrganization
+	default Deal getReferenceInOrganization(Long dealId, Long orgId) {
+		if (!existsByDealIdAndOrganizationOrgId(dealId, orgId)) {
+			throw new RuntimeException("Deal not found");
+		}
+		return getReferenceById(dealId);
+	}
 }
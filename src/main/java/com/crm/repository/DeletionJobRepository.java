@@ -0,0 +1,45 @@
+package com.crm.repository;
+
+import com.crm.entity.DeletionJob;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+@Repository
+public interface DeletionJobRepository extends JpaRepository<DeletionJob, Long> {
+
+    // FOR UPDATE SKIP LOCKED (-2) so only one instance works on a job at a time
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT j FROM DeletionJob j WHERE j.status IN :statuses AND j.leaseUntil <= :now ORDER BY j.createdAt")
+    List<DeletionJob> findClaimableForUpdate(@Param("statuses") Collection<DeletionJob.Status> statuses,
+                                             @Param("now") OffsetDateTime now,
+                                             Pageable pageable);
+
+    // Progress is written with each chunk; extending the lease keeps other instances off the job
+    @Modifying
+    @Query("UPDATE DeletionJob j SET j.currentStep = :step, j.rowsDeleted = j.rowsDeleted + :rows, j.leaseUntil = :leaseUntil " +
+           "WHERE j.jobId = :jobId")
+    int recordProgress(@Param("jobId") Long jobId,
+                       @Param("step") String step,
+                       @Param("rows") long rows,
+                       @Param("leaseUntil") OffsetDateTime leaseUntil);
+
+    @Query("SELECT j.orgId FROM DeletionJob j WHERE j.memberId IS NULL")
+    Set<Long> findDeletedOrgIds();
+
+    @Query("SELECT j.memberId FROM DeletionJob j WHERE j.memberId IS NOT NULL")
+    Set<Long> findDeletedMemberIds();
+}
@@ -1,42 +1,89 @@
 package com.crm.repository;
 
+import com.crm.dto.LeadDto;
 import com.crm.entity.Lead;
 import com.crm.entity.Member;
 import com.crm.entity.Organization;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface LeadRepository extends JpaRepository<Lead, Long> {
+public interface LeadRepository extends JpaRepository<Lead, Long>, JpaSpecificationExecutor<Lead> {
     List<Lead> findByOrganization(Organization organization);
     List<Lead> findByMember(Member member);
     List<Lead> findByOrganizationAndMember(Organization organization, Member member);
     List<Lead> findByOrganizationAndIsVerified(Organization organization, Boolean isVerified);
     
-    // Custom queries with JOIN FETCH to avoid lazy loading issues
-    @Query("SELECT l FROM Lead l LEFT JOIN FETCH l.organization LEFT JOIN FETCH l.member WHERE l.organization = :organization")
-    List<Lead> findByOrganizationWithRelations(@Param("organization") Organization organization);
+    // Filtered search: fetch the owner with the page instead of one select per row
+    @Override
+    @EntityGraph(Lead.WITH_MEMBER)
+    Page<Lead> findAll(Specification<Lead> spec, Pageable pageable);
     
-    @Query("SELECT l FROM Lead l LEFT JOIN FETCH l.organization LEFT JOIN FETCH l.member WHERE l.member = :member")
-    List<Lead> findByMemberWithRelations(@Param("member") Member member);
+    // Constructor projection for list/detail reads; member is joined for memberName only
+    String DTO_SELECT = "SELECT new com.crm.dto.LeadDto(l.leadId, l.leadName, l.leadEmail, l.phone, l.isVerified, " +
+            "l.organization.orgId, m.memberId, m.name, l.createdAt, l.updatedAt, l.version) " +
+            "FROM Lead l JOIN l.member m ";
+
+    @Query(DTO_SELECT + "WHERE l.organization = :organization")
+    List<LeadDto> findDtosByOrganization(@Param("organization") Organization organization);
+    
+    @Query(DTO_SELECT + "WHERE l.member = :member")
+    List<LeadDto> findDtosByMember(@Param("member") Member member);
+    
+    @Query(DTO_SELECT + "WHERE l.leadId = :leadId")
+    LeadDto findDtoById(@Param("leadId") Long leadId);
+
+    // Keyset pagination over (createdAt, id), newest first; pass PageCursor.pageRequest(limit)
+    @Query(DTO_SELECT + "WHERE l.organization = :organization ORDER BY l.createdAt DESC, l.leadId DESC")
+    List<LeadDto> findFirstPageByOrganization(@Param("organization") Organization organization, Pageable pageable);
     
-    @Query("SELECT l FROM Lead l LEFT JOIN FETCH l.organization LEFT JOIN FETCH l.member WHERE l.leadId = :leadId")
-    Lead findByIdWithRelations(@Param("leadId") Long leadId);
+    @Query(DTO_SELECT + "WHERE l.organization = :organization AND (l.createdAt < :createdAt OR (l.createdAt = :createdAt AND l.leadId < :id)) ORDER BY l.createdAt DESC, l.leadId DESC")
+    List<LeadDto> findPageByOrganizationAfter(@Param("organization") Organization organization,
+                                              @Param("createdAt") OffsetDateTime createdAt,
+                                              @Param("id") Long id,
+                                              Pageable pageable);
 
-    @Query("""
+    @Modifying
+    @Query("UPDATE Lead l SET l.member = :member, l.updatedAt = :now, l.version = l.version + 1 " +
+           "WHERE l.organization.orgId = :orgId AND l.leadId IN :ids AND l.member <> :member")
+    int updateMember(@Param("orgId") Long orgId,
+                     @Param("ids") Collection<Long> ids,
+                     @Param("member") Member member,
+                     @Param("now") OffsetDateTime now);
+
+    // UTC months; see DealRepository.findMonthlyDealSummaryByOrganization
+    @Query(value = """
     SELECT 
-        YEAR(l.createdAt) AS year,
-        MONTH(l.createdAt) AS month,
-        COUNT(l.id) AS leadCount
-    FROM Lead l
-    WHERE l.organization = :organization
-    GROUP BY YEAR(l.createdAt), MONTH(l.createdAt)
-    ORDER BY YEAR(l.createdAt), MONTH(l.createdAt)
-""")
-List<Object[]> findMonthlyLeadSummaryByOrganization(@Param("organization") Organization organization);
+        EXTRACT(YEAR FROM created_at AT TIME ZONE 'UTC') AS year,
+        EXTRACT(MONTH FROM created_at AT TIME ZONE 'UTC') AS month,
+        COUNT(*) AS leadCount
+    FROM leads
+    WHERE org_id = :orgId
+    GROUP BY 1, 2
+    ORDER BY 1, 2
+""", nativeQuery = true)
+List<Object[]> findMonthlyLeadSummaryByOrganization(@Param("orgId") Long orgId);
+
+    boolean existsByLeadIdAndOrganizationOrgId(Long leadId, Long orgId);
+
+    // See AccountRepository.getReferenceInOrganization
+    default Lead getReferenceInOrganization(Long leadId, Long orgId) {
+        if (!existsByLeadIdAndOrganizationOrgId(leadId, orgId)) {
+            throw new RuntimeException("Lead not found");
+        }
+        return getReferenceById(leadId);
+    }
 
 }
@@ -1,8 +1,10 @@
 package com.crm.repository;
 
+import com.crm.dto.LoginCredentials;
 import com.crm.entity.Member;
 import com.crm.entity.Organization;
 import com.crm.entity.Role;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,17 +17,17 @@ import java.util.Optional;
 public interface MemberRepository extends JpaRepository<Member, Long> {
     Optional<Member> findByEmail(String email);
     
-    @Query("SELECT m FROM Member m LEFT JOIN FETCH m.role LEFT JOIN FETCH m.organization WHERE m.email = :email")
+    // role and organization are lazy; methods that build DTOs ask for them through the entity graph
+    @EntityGraph(Member.WITH_ROLE_AND_ORGANIZATION)
+    @Query("SELECT m FROM Member m WHERE m.email = :email")
     Optional<Member> findByEmailWithRoleAndOrganization(@Param("email") String email);
     
-    @Query("SELECT m FROM Member m LEFT JOIN FETCH m.role LEFT JOIN FETCH m.organization WHERE m.organization = :organization")
-    List<Member> findByOrganizationWithRelations(@Param("organization") Organization organization);
+    @EntityGraph(Member.WITH_ROLE_AND_ORGANIZATION)
+    Optional<Member> findWithRoleAndOrganizationByMemberId(Long memberId);
     
-    @Query("SELECT m FROM Member m LEFT JOIN FETCH m.role LEFT JOIN FETCH m.organization")
-    List<Member> findAllWithRelations();
-    
-    @Query("SELECT m FROM Member m LEFT JOIN FETCH m.role LEFT JOIN FETCH m.organization WHERE m.memberId = :memberId")
-    Member findByIdWithRelations(@Param("memberId") Long memberId);
+    @Override
+    @EntityGraph(Member.WITH_ROLE_AND_ORGANIZATION)
+    List<Member> findAll();
     
     @Query(value = "SELECT m.member_id, m.email, m.name, m.password, m.status, o.org_id, o.org_name, r.role_name " +
                    "FROM members m " +
@@ -34,7 +36,13 @@ public interface MemberRepository extends JpaRepository<Member, Long> {
                    "WHERE m.email = :email", nativeQuery = true)
     Optional<Object[]> findUserDataForAuth(@Param("email") String email);
     
+    // Login lookup: just the columns the password check and token need
+    @Query("SELECT new com.crm.dto.LoginCredentials(m.memberId, m.email, m.name, m.password, m.status, o.orgId, o.orgName, r.roleName) " +
+           "FROM Member m LEFT JOIN m.organization o LEFT JOIN m.role r WHERE m.email = :email")
+    Optional<LoginCredentials> findLoginCredentials(@Param("email") String email);
+    
     boolean existsByEmail(String email);
+    @EntityGraph(Member.WITH_ROLE_AND_ORGANIZATION)
     List<Member> findByOrganization(Organization organization);
     List<Member> findByOrganizationAndStatus(Organization organization, Member.MemberStatus status);
     List<Member> findByRole(Role role);
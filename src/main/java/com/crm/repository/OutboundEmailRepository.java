@@ -0,0 +1,32 @@
+package com.crm.repository;
+
+import com.crm.entity.OutboundEmail;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboundEmailRepository extends JpaRepository<OutboundEmail, Long> {
+
+    // FOR UPDATE SKIP LOCKED (-2) so several instances can drain the queue without double sends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboundEmail e WHERE e.status = :status AND e.nextAttemptAt <= :now ORDER BY e.nextAttemptAt")
+    List<OutboundEmail> findDueForUpdate(@Param("status") OutboundEmail.Status status,
+                                         @Param("now") OffsetDateTime now,
+                                         Pageable pageable);
+
+    long countByStatus(OutboundEmail.Status status);
+
+    @Query("SELECT MIN(e.createdAt) FROM OutboundEmail e WHERE e.status = :status")
+    OffsetDateTime findOldestCreatedAtByStatus(@Param("status") OutboundEmail.Status status);
+}
@@ -0,0 +1,163 @@
+package com.crm.repository;
+
+import com.crm.dto.AccountFilter;
+import com.crm.dto.ActivityFilter;
+import com.crm.dto.ContactFilter;
+import com.crm.dto.DealFilter;
+import com.crm.dto.LeadFilter;
+import com.crm.entity.Account;
+import com.crm.entity.Activity;
+import com.crm.entity.Contact;
+import com.crm.entity.Deal;
+import com.crm.entity.Lead;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Criteria predicates for the search endpoints. Every specification is
+ * anchored on org_id first so it lines up with the (org_id, ...) indexes
+ * in the schema migrations (V4__query_indexes.sql).
+ */
+public final class SearchSpecifications {
+
+    private SearchSpecifications() {}
+
+    public static Specification<Deal> deals(Long orgId, DealFilter filter) {
+        return (root, query, cb) -> {
+            fetchForContent(root, query, "member");
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("organization").get("orgId"), orgId));
+            if (filter.getStage() != null && !filter.getStage().isBlank()) {
+                predicates.add(cb.equal(root.get("dealStage"), filter.getStage()));
+            }
+            if (filter.getMinValue() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("dealValue"), filter.getMinValue()));
+            }
+            if (filter.getMaxValue() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("dealValue"), filter.getMaxValue()));
+            }
+            if (filter.getCloseFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("expectedCloseDate"), filter.getCloseFrom()));
+            }
+            if (filter.getCloseTo() != null) {
+                predicates.add(cb.lessThan(root.get("expectedCloseDate"), filter.getCloseTo()));
+            }
+            if (filter.getMemberId() != null) {
+                predicates.add(cb.equal(root.get("member").get("memberId"), filter.getMemberId()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    public static Specification<Lead> leads(Long orgId, LeadFilter filter) {
+        return (root, query, cb) -> {
+            fetchForContent(root, query, "member");
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("organization").get("orgId"), orgId));
+            if (filter.getIsVerified() != null) {
+                predicates.add(cb.equal(root.get("isVerified"), filter.getIsVerified()));
+            }
+            if (filter.getCreatedFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), filter.getCreatedFrom()));
+            }
+            if (filter.getCreatedTo() != null) {
+                predicates.add(cb.lessThan(root.get("createdAt"), filter.getCreatedTo()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    public static Specification<Contact> contacts(Long orgId, ContactFilter filter) {
+        return (root, query, cb) -> {
+            fetchForContent(root, query, "member", "account");
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("organization").get("orgId"), orgId));
+            if (filter.getAccountId() != null) {
+                predicates.add(cb.equal(root.get("account").get("accountId"), filter.getAccountId()));
+            }
+            if (filter.getNamePrefix() != null && !filter.getNamePrefix().isBlank()) {
+                predicates.add(startsWithIgnoreCase(cb, root.get("contactName"), filter.getNamePrefix()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    public static Specification<Account> accounts(Long orgId, AccountFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("organization").get("orgId"), orgId));
+            if (filter.getNamePrefix() != null && !filter.getNamePrefix().isBlank()) {
+                predicates.add(startsWithIgnoreCase(cb, root.get("accountName"), filter.getNamePrefix()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    public static Specification<Activity> activities(Long orgId, ActivityFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("organization").get("orgId"), orgId));
+            if (filter.getStatus() != null && !filter.getStatus().isBlank()) {
+                predicates.add(cb.equal(root.get("status"), filter.getStatus()));
+            }
+            if (filter.getActivityType() != null && !filter.getActivityType().isBlank()) {
+                predicates.add(cb.equal(root.get("activityType"), filter.getActivityType()));
+            }
+            if (filter.getMemberId() != null) {
+                predicates.add(cb.equal(root.get("member").get("memberId"), filter.getMemberId()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Keeps only sort properties that are safe to expose, falling back to the
+     * given default when none remain.
+     */
+    public static Pageable restrictSort(Pageable pageable, Sort fallback, String... allowed) {
+        Set<String> allowedProperties = Set.of(allowed);
+        List<Sort.Order> orders = new ArrayList<>();
+        for (Sort.Order order : pageable.getSort()) {
+            if (!allowedProperties.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Unsupported sort property: " + order.getProperty());
+            }
+            orders.add(order);
+        }
+        Sort sort = orders.isEmpty() ? fallback : Sort.by(orders);
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+    }
+
+    /**
+     * Fetch-joins associations the DTO mappers read, but only for the content
+     * query; the COUNT query issued for the page total must not fetch.
+     */
+    private static void fetchForContent(Root<?> root, CriteriaQuery<?> query, String... associations) {
+        Class<?> resultType = query.getResultType();
+        if (Long.class.equals(resultType) || long.class.equals(resultType)) {
+            return;
+        }
+        for (String association : associations) {
+            root.fetch(association, JoinType.LEFT);
+        }
+    }
+
+    private static Predicate startsWithIgnoreCase(CriteriaBuilder cb, Expression<String> column, String prefix) {
+        String escaped = prefix.trim().toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return cb.like(cb.lower(column), escaped + "%", '\\');
+    }
+}
@@ -1,6 +1,8 @@
 package com.crm.security;
 
-import com.crm.config.JwtConfig;
+import com.crm.service.TenantDeletionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,56 +22,66 @@ import java.util.List;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     @Autowired
-    private JwtConfig jwtConfig;
+    private JwtClaimsCache jwtClaimsCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TenantDeletionService tenantDeletionService;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                     FilterChain filterChain) throws ServletException, IOException {
         
         final String requestTokenHeader = request.getHeader("Authorization");
-        final String requestURI = request.getRequestURI();
         
-        logger.debug("JWT Filter - Processing request: " + request.getMethod() + " " + requestURI);
-        logger.debug("JWT Filter - Authorization header: " + (requestTokenHeader != null ? "Present" : "Missing"));
+        if (logger.isDebugEnabled()) {
+            logger.debug("JWT Filter - Processing request: " + request.getMethod() + " " + request.getRequestURI());
+        }
 
-        String username = null;
-        String jwtToken = null;
+        JwtPrincipal principal = null;
 
         if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
-            jwtToken = requestTokenHeader.substring(7);
-            logger.debug("JWT Filter - Token extracted, length: " + jwtToken.length());
+            String jwtToken = requestTokenHeader.substring(7);
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String outcome = "valid";
             try {
-                username = jwtConfig.extractUsername(jwtToken);
-                logger.debug("JWT Filter - Username extracted: " + username);
+                // Single verification per token; later lookups read the principal
+                principal = jwtClaimsCache.resolve(jwtToken);
+                // Tokens outlive a deletion; refuse them once the org or member is scheduled for it
+                if (tenantDeletionService.isHidden(principal.getOrgId(), principal.getMemberId())) {
+                    principal = null;
+                    outcome = "revoked";
+                }
             } catch (Exception e) {
+                outcome = "invalid";
                 logger.error("JWT Filter - Unable to get JWT Token or JWT Token has expired: " + e.getMessage());
+            } finally {
+                sample.stop(Timer.builder("crm.jwt.parse")
+                        .description("Bearer token resolution in the JWT filter (cache lookup or signature check)")
+                        .tag("outcome", outcome)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
             }
         } else {
             logger.debug("JWT Filter - No valid Authorization header found");
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            logger.debug("JWT Filter - Validating token for user: " + username);
-            try {
-                if (jwtConfig.validateToken(jwtToken, username)) {
-                    // Extract role from token and create authorities
-                    String role = jwtConfig.extractRole(jwtToken);
-                    List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
-                    
-                    UsernamePasswordAuthenticationToken authToken = 
-                        new UsernamePasswordAuthenticationToken(username, null, authorities);
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                    
-                    logger.debug("JWT Filter - Authentication set for user: " + username + " with role: " + role);
-                } else {
-                    logger.warn("JWT Filter - Token validation failed for user: " + username);
-                }
-            } catch (Exception e) {
-                logger.error("JWT Filter - Error validating JWT token: " + e.getMessage(), e);
+        if (principal != null && principal.getUsername() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_" + principal.getRole()));
+            
+            UsernamePasswordAuthenticationToken authToken = 
+                new UsernamePasswordAuthenticationToken(principal, null, authorities);
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+            
+            if (logger.isDebugEnabled()) {
+                logger.debug("JWT Filter - Authentication set for user: " + principal.getUsername() + " with role: " + principal.getRole());
             }
-        } else if (username == null) {
-            logger.debug("JWT Filter - No username extracted, request will be anonymous");
+        } else if (principal == null) {
+            logger.debug("JWT Filter - No verified token, request will be anonymous");
         } else {
             logger.debug("JWT Filter - Authentication already exists in SecurityContext");
         }
@@ -0,0 +1,93 @@
+package com.crm.security;
+
+import com.crm.config.JwtConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded LRU cache of recently verified tokens, keyed by the SHA-256 of the
+ * token so raw bearer tokens are never held as map keys.
+ *
+ * A hit skips the HMAC verification entirely; entries are dropped as soon as
+ * the token's own expiry passes.
+ */
+@Component
+public class JwtClaimsCache {
+
+    private final JwtConfig jwtConfig;
+
+    private final Map<String, JwtPrincipal> entries;
+
+    // Taken twice per request; a lock rather than a monitor so waiting virtual threads unmount
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public JwtClaimsCache(JwtConfig jwtConfig,
+                          @Value("${spring.security.jwt.cache-size:10000}") int maxEntries) {
+        this.jwtConfig = jwtConfig;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, JwtPrincipal> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the verified claims for the token, parsing it at most once while
+     * it stays cached. Throws a JwtException when the token is invalid or expired.
+     */
+    public JwtPrincipal resolve(String token) {
+        String key = hash(token);
+        JwtPrincipal cached;
+        lock.lock();
+        try {
+            cached = entries.get(key);
+            if (cached != null && cached.isExpired()) {
+                entries.remove(key);
+                cached = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (cached != null) {
+            return cached;
+        }
+
+        // Verify outside the lock; an expired or tampered token throws here
+        JwtPrincipal verified = jwtConfig.parseVerified(token);
+        lock.lock();
+        try {
+            entries.put(key, verified);
+        } finally {
+            lock.unlock();
+        }
+        return verified;
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] bytes = digest.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.crm.security;
+
+import java.security.Principal;
+import java.util.Date;
+
+/**
+ * Claims of a JWT whose signature has already been verified.
+ *
+ * Stored as the principal of the request's Authentication so controllers can
+ * read orgId, memberId and role without parsing the token again.
+ */
+public final class JwtPrincipal implements Principal {
+
+    private final String username;
+    private final Long orgId;
+    private final Long memberId;
+    private final String role;
+    private final Date expiration;
+
+    public JwtPrincipal(String username, Long orgId, Long memberId, String role, Date expiration) {
+        this.username = username;
+        this.orgId = orgId;
+        this.memberId = memberId;
+        this.role = role;
+        this.expiration = expiration;
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Long getOrgId() {
+        return orgId;
+    }
+
+    public Long getMemberId() {
+        return memberId;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public Date getExpiration() {
+        return expiration;
+    }
+
+    public boolean isExpired() {
+        return expiration != null && expiration.getTime() <= System.currentTimeMillis();
+    }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+}
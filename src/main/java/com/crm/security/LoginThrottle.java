@@ -0,0 +1,104 @@
+package com.crm.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Token buckets for login attempts, one per client IP and one per email.
+ *
+ * Buckets live in lock-striped LRU maps: a key only contends with keys that
+ * hash to the same stripe, and each stripe is capped so a spray of distinct
+ * emails or addresses cannot grow memory without bound.
+ */
+@Component
+public class LoginThrottle {
+
+    private static final int STRIPES = 64;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    private final int ipCapacity;
+    private final double ipTokensPerNano;
+    private final int emailCapacity;
+    private final double emailTokensPerNano;
+
+    public LoginThrottle(@Value("${app.auth.throttle.ip.capacity:20}") int ipCapacity,
+                         @Value("${app.auth.throttle.ip.refill-period:1m}") Duration ipRefillPeriod,
+                         @Value("${app.auth.throttle.email.capacity:5}") int emailCapacity,
+                         @Value("${app.auth.throttle.email.refill-period:1m}") Duration emailRefillPeriod,
+                         @Value("${app.auth.throttle.max-keys:100000}") int maxKeys) {
+        this.ipCapacity = ipCapacity;
+        this.ipTokensPerNano = (double) ipCapacity / ipRefillPeriod.toNanos();
+        this.emailCapacity = emailCapacity;
+        this.emailTokensPerNano = (double) emailCapacity / emailRefillPeriod.toNanos();
+        int perStripe = Math.max(16, maxKeys / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+    }
+
+    /**
+     * Takes one attempt from the IP bucket, then from the email bucket.
+     * Throws LoginThrottledException with a Retry-After hint when either is empty.
+     */
+    public void acquire(String clientIp, String email) {
+        long now = System.nanoTime();
+        long wait = take("ip:" + clientIp, ipCapacity, ipTokensPerNano, now);
+        if (wait == 0 && email != null) {
+            wait = take("email:" + email.trim().toLowerCase(Locale.ROOT), emailCapacity, emailTokensPerNano, now);
+        }
+        if (wait > 0) {
+            throw new LoginThrottledException("Too many login attempts, try again later", wait);
+        }
+    }
+
+    // Returns 0 when a token was taken, otherwise the seconds until one is available
+    private long take(String key, int capacity, double tokensPerNano, long now) {
+        Stripe stripe = stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+        synchronized (stripe) {
+            Bucket bucket = stripe.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(capacity, now);
+                stripe.put(key, bucket);
+            } else {
+                bucket.tokens = Math.min(capacity, bucket.tokens + (now - bucket.updatedAt) * tokensPerNano);
+                bucket.updatedAt = now;
+            }
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return 0;
+            }
+            double nanosUntilToken = (1 - bucket.tokens) / tokensPerNano;
+            return Math.max(1, (long) Math.ceil(nanosUntilToken / 1_000_000_000d));
+        }
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long updatedAt;
+
+        private Bucket(double tokens, long updatedAt) {
+            this.tokens = tokens;
+            this.updatedAt = updatedAt;
+        }
+    }
+
+    private static final class Stripe extends LinkedHashMap<String, Bucket> {
+        private final int maxEntries;
+
+        private Stripe(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+            return size() > maxEntries;
+        }
+    }
+}
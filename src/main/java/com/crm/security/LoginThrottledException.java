@@ -0,0 +1,19 @@
+package com.crm.security;
+
+/**
+ * Login refused before any password check: the caller is over its attempt
+ * budget or the password-verification pool is saturated. Maps to 429.
+ */
+public class LoginThrottledException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
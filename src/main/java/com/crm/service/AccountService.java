@@ -1,17 +1,29 @@
 package com.crm.service;
 
+import com.crm.dto.CursorPage;
 import com.crm.dto.AccountDto;
+import com.crm.dto.AccountFilter;
+import com.crm.dto.LiveEvent.Action;
+import com.crm.dto.SearchPage;
 import com.crm.entity.Account;
+import com.crm.entity.ChangeVersion.EntityType;
 import com.crm.entity.Member;
 import com.crm.entity.Organization;
 import com.crm.repository.AccountRepository;
 import com.crm.repository.MemberRepository;
 import com.crm.repository.OrganizationRepository;
+import com.crm.repository.SearchSpecifications;
+import com.crm.util.PageCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,6 +39,18 @@ public class AccountService {
     @Autowired
     private MemberRepository memberRepository;
     
+    @Autowired
+    private ChangeVersionService changeVersionService;
+    
+    @Autowired
+    private PartialUpdateService partialUpdateService;
+    
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private LiveEventService liveEventService;
+    
     public AccountDto createAccount(AccountDto accountDto) {
         // Validate that orgId and memberId are provided (auto-populated by controller)
         if (accountDto.getOrgId() == null) {
@@ -41,11 +65,9 @@ public class AccountService {
             throw new RuntimeException("Account with this email already exists");
         }
         
-        Organization organization = organizationRepository.findById(accountDto.getOrgId())
-                .orElseThrow(() -> new RuntimeException("Organization not found"));
+        Organization organization = organizationRepository.getReferenceById(accountDto.getOrgId());
         
-        Member member = memberRepository.findById(accountDto.getMemberId())
-                .orElseThrow(() -> new RuntimeException("Member not found"));
+        Member member = memberRepository.getReferenceById(accountDto.getMemberId());
         
         Account account = new Account();
         account.setAccountName(accountDto.getAccountName());
@@ -63,7 +85,11 @@ public class AccountService {
         account.setMember(member);
         
         Account savedAccount = accountRepository.save(account);
-        return convertToDto(savedAccount);
+        changeVersionService.bump(accountDto.getOrgId(), EntityType.ACCOUNT);
+        AccountDto created = convertToDto(savedAccount);
+        searchIndexService.index(accountDto.getOrgId(), created);
+        liveEventService.publish(accountDto.getOrgId(), EntityType.ACCOUNT, Action.CREATED, created.getAccountId());
+        return created;
     }
     
     @Transactional(readOnly = true)
@@ -71,24 +97,46 @@ public class AccountService {
         Organization organization = organizationRepository.findById(orgId)
                 .orElseThrow(() -> new RuntimeException("Organization not found"));
         
-        return accountRepository.findByOrganizationWithRelations(organization)
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return accountRepository.findDtosByOrganization(organization);
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<AccountDto> getAccountsPageByOrganization(Long orgId, String cursor, Integer limit) {
+        Organization organization = organizationRepository.findById(orgId)
+                .orElseThrow(() -> new RuntimeException("Organization not found"));
+        
+        int pageSize = PageCursor.clampLimit(limit);
+        PageCursor after = PageCursor.decode(cursor);
+        List<AccountDto> rows = after == null
+                ? accountRepository.findFirstPageByOrganization(organization, PageCursor.pageRequest(pageSize))
+                : accountRepository.findPageByOrganizationAfter(organization, after.getCreatedAt(), after.getId(),
+                        PageCursor.pageRequest(pageSize));
+        return PageCursor.toPage(rows, pageSize, AccountDto::getCreatedAt, AccountDto::getAccountId, Function.identity());
+    }
+    
+    /**
+     * Filtered, sorted page of accounts; only the requested page is read from the database.
+     */
+    @Transactional(readOnly = true)
+    public SearchPage<AccountDto> searchAccounts(Long orgId, AccountFilter filter, Pageable pageable) {
+        Pageable page = SearchSpecifications.restrictSort(pageable, Sort.by(Sort.Direction.ASC, "accountName", "accountId"),
+                "createdAt", "accountName", "industry", "city");
+        return SearchPage.of(accountRepository.findAll(SearchSpecifications.accounts(orgId, filter), page), this::convertToDto);
     }
     
     @Transactional(readOnly = true)
     public AccountDto getAccountById(Long accountId) {
-        Account account = accountRepository.findByIdWithRelations(accountId);
+        AccountDto account = accountRepository.findDtoById(accountId);
         if (account == null) {
             throw new RuntimeException("Account not found");
         }
-        return convertToDto(account);
+        return account;
     }
     
     public AccountDto updateAccount(Long accountId, AccountDto accountDto) {
         Account account = accountRepository.findById(accountId)
                 .orElseThrow(() -> new RuntimeException("Account not found"));
+        PartialUpdateService.checkVersion(Account.class, accountId, accountDto.getVersion(), account.getVersion());
         
         // Check if email already exists for another account
         if (accountDto.getEmail() != null && !accountDto.getEmail().equals(account.getEmail()) 
@@ -108,15 +156,75 @@ public class AccountService {
         account.setPostalCode(accountDto.getPostalCode());
         account.setCountry(accountDto.getCountry());
         
-        Account savedAccount = accountRepository.save(account);
-        return convertToDto(savedAccount);
+        Account savedAccount = accountRepository.saveAndFlush(account);
+        // Contacts show the account name
+        changeVersionService.bump(account.getOrganization().getOrgId(), EntityType.ACCOUNT, EntityType.CONTACT);
+        AccountDto updated = convertToDto(savedAccount);
+        searchIndexService.index(updated.getOrgId(), updated);
+        liveEventService.publish(updated.getOrgId(), EntityType.ACCOUNT, Action.UPDATED, accountId);
+        return updated;
     }
     
-    public void deleteAccount(Long accountId) {
-        if (!accountRepository.existsById(accountId)) {
-            throw new RuntimeException("Account not found");
+    /**
+     * Changes only the non-null fields of the patch, provided the account is
+     * still at patch.version.
+     */
+    public AccountDto patchAccount(Long orgId, Long accountId, AccountDto patch) {
+        partialUpdateService.validate(patch);
+        if (patch.getEmail() != null && accountRepository.existsByEmailAndAccountIdNot(patch.getEmail(), accountId)) {
+            throw new RuntimeException("Account with this email already exists");
+        }
+        Map<String, Object> changes = new LinkedHashMap<>();
+        if (patch.getAccountName() != null) {
+            changes.put("accountName", patch.getAccountName());
+        }
+        if (patch.getEmail() != null) {
+            changes.put("email", patch.getEmail());
+        }
+        if (patch.getPhone() != null) {
+            changes.put("phone", patch.getPhone());
+        }
+        if (patch.getWebsite() != null) {
+            changes.put("website", patch.getWebsite());
+        }
+        if (patch.getDescription() != null) {
+            changes.put("description", patch.getDescription());
+        }
+        if (patch.getIndustry() != null) {
+            changes.put("industry", patch.getIndustry());
+        }
+        if (patch.getAddress() != null) {
+            changes.put("address", patch.getAddress());
         }
-        accountRepository.deleteById(accountId);
+        if (patch.getCity() != null) {
+            changes.put("city", patch.getCity());
+        }
+        if (patch.getState() != null) {
+            changes.put("state", patch.getState());
+        }
+        if (patch.getPostalCode() != null) {
+            changes.put("postalCode", patch.getPostalCode());
+        }
+        if (patch.getCountry() != null) {
+            changes.put("country", patch.getCountry());
+        }
+        partialUpdateService.update(Account.class, "accountId", orgId, accountId, patch.getVersion(), changes);
+        // Contacts show the account name
+        changeVersionService.bump(orgId, EntityType.ACCOUNT, EntityType.CONTACT);
+        AccountDto patched = accountRepository.findDtoById(accountId);
+        searchIndexService.index(orgId, patched);
+        liveEventService.publish(orgId, EntityType.ACCOUNT, Action.UPDATED, accountId);
+        return patched;
+    }
+    
+    public void deleteAccount(Long accountId) {
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new RuntimeException("Account not found"));
+        accountRepository.delete(account);
+        // The account's contacts go with it
+        changeVersionService.bump(account.getOrganization().getOrgId(), EntityType.ACCOUNT, EntityType.CONTACT);
+        searchIndexService.remove(account.getOrganization().getOrgId(), EntityType.ACCOUNT, accountId);
+        liveEventService.publish(account.getOrganization().getOrgId(), EntityType.ACCOUNT, Action.DELETED, accountId);
     }
     
     private AccountDto convertToDto(Account account) {
@@ -137,6 +245,7 @@ public class AccountService {
         dto.setMemberId(account.getMember().getMemberId());
         dto.setCreatedAt(account.getCreatedAt());
         dto.setUpdatedAt(account.getUpdatedAt());
+        dto.setVersion(account.getVersion());
         return dto;
     }
 }
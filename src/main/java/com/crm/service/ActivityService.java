@@ -1,7 +1,10 @@
 package com.crm.service;
 
+import com.crm.dto.CursorPage;
 import com.crm.dto.ActivityDto;
+import com.crm.dto.LiveEvent.Action;
 import com.crm.entity.Activity;
+import com.crm.entity.ChangeVersion.EntityType;
 import com.crm.entity.Member;
 import com.crm.entity.Organization;
 import com.crm.entity.Account;
@@ -15,13 +18,17 @@ import com.crm.repository.AccountRepository;
 import com.crm.repository.ContactRepository;
 import com.crm.repository.DealRepository;
 import com.crm.repository.LeadRepository;
+import com.crm.util.PageCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -50,6 +57,18 @@ public class ActivityService {
     @Autowired
     private LeadRepository leadRepository;
     
+    @Autowired
+    private ChangeVersionService changeVersionService;
+    
+    @Autowired
+    private PartialUpdateService partialUpdateService;
+    
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private LiveEventService liveEventService;
+    
     public ActivityDto createActivity(ActivityDto activityDto) {
         // Validate that orgId and memberId are provided (auto-populated by controller)
         if (activityDto.getOrgId() == null) {
@@ -59,34 +78,28 @@ public class ActivityService {
             throw new RuntimeException("Member ID is required");
         }
         
-        Organization organization = organizationRepository.findById(activityDto.getOrgId())
-                .orElseThrow(() -> new RuntimeException("Organization not found"));
+        Organization organization = organizationRepository.getReferenceById(activityDto.getOrgId());
         
-        Member member = memberRepository.findById(activityDto.getMemberId())
-                .orElseThrow(() -> new RuntimeException("Member not found"));
+        Member member = memberRepository.getReferenceById(activityDto.getMemberId());
         
         Account account = null;
         if (activityDto.getAccountId() != null) {
-            account = accountRepository.findById(activityDto.getAccountId())
-                    .orElseThrow(() -> new RuntimeException("Account not found"));
+            account = accountRepository.getReferenceInOrganization(activityDto.getAccountId(), activityDto.getOrgId());
         }
         
         Contact contact = null;
         if (activityDto.getContactId() != null) {
-            contact = contactRepository.findById(activityDto.getContactId())
-                    .orElseThrow(() -> new RuntimeException("Contact not found"));
+            contact = contactRepository.getReferenceInOrganization(activityDto.getContactId(), activityDto.getOrgId());
         }
         
         Deal deal = null;
         if (activityDto.getDealId() != null) {
-            deal = dealRepository.findById(activityDto.getDealId())
-                    .orElseThrow(() -> new RuntimeException("Deal not found"));
+            deal = dealRepository.getReferenceInOrganization(activityDto.getDealId(), activityDto.getOrgId());
         }
         
         Lead lead = null;
         if (activityDto.getLeadId() != null) {
-            lead = leadRepository.findById(activityDto.getLeadId())
-                    .orElseThrow(() -> new RuntimeException("Lead not found"));
+            lead = leadRepository.getReferenceInOrganization(activityDto.getLeadId(), activityDto.getOrgId());
         }
         
         Activity activity = new Activity();
@@ -104,8 +117,12 @@ public class ActivityService {
         activity.setLead(lead);
         
         Activity savedActivity = activityRepository.save(activity);
+        changeVersionService.bump(activityDto.getOrgId(), EntityType.ACTIVITY);
         log.info("Activity saved successfully with ID: {}", savedActivity.getActivityId());
-        return convertToDto(savedActivity);
+        ActivityDto created = convertToDto(savedActivity);
+        searchIndexService.index(activityDto.getOrgId(), created);
+        liveEventService.publish(activityDto.getOrgId(), EntityType.ACTIVITY, Action.CREATED, created.getActivityId());
+        return created;
     }
     
     @Transactional(readOnly = true)
@@ -113,24 +130,36 @@ public class ActivityService {
         Organization organization = organizationRepository.findById(orgId)
                 .orElseThrow(() -> new RuntimeException("Organization not found"));
         
-        return activityRepository.findByOrganizationWithRelations(organization)
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return activityRepository.findDtosByOrganization(organization);
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<ActivityDto> getActivitiesPageByOrganization(Long orgId, String cursor, Integer limit) {
+        Organization organization = organizationRepository.findById(orgId)
+                .orElseThrow(() -> new RuntimeException("Organization not found"));
+        
+        int pageSize = PageCursor.clampLimit(limit);
+        PageCursor after = PageCursor.decode(cursor);
+        List<ActivityDto> rows = after == null
+                ? activityRepository.findFirstPageByOrganization(organization, PageCursor.pageRequest(pageSize))
+                : activityRepository.findPageByOrganizationAfter(organization, after.getCreatedAt(), after.getId(),
+                        PageCursor.pageRequest(pageSize));
+        return PageCursor.toPage(rows, pageSize, ActivityDto::getCreatedAt, ActivityDto::getActivityId, Function.identity());
     }
     
     @Transactional(readOnly = true)
     public ActivityDto getActivityById(Long activityId) {
-        Activity activity = activityRepository.findByIdWithRelations(activityId);
+        ActivityDto activity = activityRepository.findDtoById(activityId);
         if (activity == null) {
             throw new RuntimeException("Activity not found");
         }
-        return convertToDto(activity);
+        return activity;
     }
     
     public ActivityDto updateActivity(Long activityId, ActivityDto activityDto) {
         Activity activity = activityRepository.findById(activityId)
                 .orElseThrow(() -> new RuntimeException("Activity not found"));
+        PartialUpdateService.checkVersion(Activity.class, activityId, activityDto.getVersion(), activity.getVersion());
         
         activity.setActivityType(activityDto.getActivityType());
         activity.setSubject(activityDto.getSubject());
@@ -139,42 +168,90 @@ public class ActivityService {
         activity.setStatus(activityDto.getStatus());
         activity.setPriority(activityDto.getPriority());
         
+        Long orgId = activity.getOrganization().getOrgId();
         if (activityDto.getAccountId() != null) {
-            Account account = accountRepository.findById(activityDto.getAccountId())
-                    .orElseThrow(() -> new RuntimeException("Account not found"));
+            Account account = accountRepository.getReferenceInOrganization(activityDto.getAccountId(), orgId);
             activity.setAccount(account);
         }
         
         if (activityDto.getContactId() != null) {
-            Contact contact = contactRepository.findById(activityDto.getContactId())
-                    .orElseThrow(() -> new RuntimeException("Contact not found"));
+            Contact contact = contactRepository.getReferenceInOrganization(activityDto.getContactId(), orgId);
             activity.setContact(contact);
         }
         
         if (activityDto.getDealId() != null) {
-            Deal deal = dealRepository.findById(activityDto.getDealId())
-                    .orElseThrow(() -> new RuntimeException("Deal not found"));
+            Deal deal = dealRepository.getReferenceInOrganization(activityDto.getDealId(), orgId);
             activity.setDeal(deal);
         }
         
         if (activityDto.getLeadId() != null) {
-            Lead lead = leadRepository.findById(activityDto.getLeadId())
-                    .orElseThrow(() -> new RuntimeException("Lead not found"));
+            Lead lead = leadRepository.getReferenceInOrganization(activityDto.getLeadId(), orgId);
             activity.setLead(lead);
         }
         
-        Activity savedActivity = activityRepository.save(activity);
-        return convertToDto(savedActivity);
+        Activity savedActivity = activityRepository.saveAndFlush(activity);
+        changeVersionService.bump(activity.getOrganization().getOrgId(), EntityType.ACTIVITY);
+        ActivityDto updated = convertToDto(savedActivity);
+        searchIndexService.index(updated.getOrgId(), updated);
+        liveEventService.publish(updated.getOrgId(), EntityType.ACTIVITY, Action.UPDATED, activityId);
+        return updated;
     }
     
-    public void deleteActivity(Long activityId) {
-        if (!activityRepository.existsById(activityId)) {
-            throw new RuntimeException("Activity not found");
+    /**
+     * Changes only the non-null fields of the patch, provided the activity is
+     * still at patch.version.
+     */
+    public ActivityDto patchActivity(Long orgId, Long activityId, ActivityDto patch) {
+        partialUpdateService.validate(patch);
+        Map<String, Object> changes = new LinkedHashMap<>();
+        if (patch.getActivityType() != null) {
+            changes.put("activityType", patch.getActivityType());
+        }
+        if (patch.getSubject() != null) {
+            changes.put("subject", patch.getSubject());
+        }
+        if (patch.getDescription() != null) {
+            changes.put("description", patch.getDescription());
+        }
+        if (patch.getActivityDate() != null) {
+            changes.put("activityDate", patch.getActivityDate());
+        }
+        if (patch.getStatus() != null) {
+            changes.put("status", patch.getStatus());
+        }
+        if (patch.getPriority() != null) {
+            changes.put("priority", patch.getPriority());
+        }
+        if (patch.getAccountId() != null) {
+            changes.put("account", accountRepository.getReferenceInOrganization(patch.getAccountId(), orgId));
         }
-        activityRepository.deleteById(activityId);
+        if (patch.getContactId() != null) {
+            changes.put("contact", contactRepository.getReferenceInOrganization(patch.getContactId(), orgId));
+        }
+        if (patch.getDealId() != null) {
+            changes.put("deal", dealRepository.getReferenceInOrganization(patch.getDealId(), orgId));
+        }
+        if (patch.getLeadId() != null) {
+            changes.put("lead", leadRepository.getReferenceInOrganization(patch.getLeadId(), orgId));
+        }
+        partialUpdateService.update(Activity.class, "activityId", orgId, activityId, patch.getVersion(), changes);
+        changeVersionService.bump(orgId, EntityType.ACTIVITY);
+        ActivityDto patched = activityRepository.findDtoById(activityId);
+        searchIndexService.index(orgId, patched);
+        liveEventService.publish(orgId, EntityType.ACTIVITY, Action.UPDATED, activityId);
+        return patched;
+    }
+    
+    public void deleteActivity(Long activityId) {
+        Activity activity = activityRepository.findById(activityId)
+                .orElseThrow(() -> new RuntimeException("Activity not found"));
+        activityRepository.delete(activity);
+        changeVersionService.bump(activity.getOrganization().getOrgId(), EntityType.ACTIVITY);
+        searchIndexService.remove(activity.getOrganization().getOrgId(), EntityType.ACTIVITY, activityId);
+        liveEventService.publish(activity.getOrganization().getOrgId(), EntityType.ACTIVITY, Action.DELETED, activityId);
     }
     
-    private ActivityDto convertToDto(Activity activity) {
+    ActivityDto convertToDto(Activity activity) {
         ActivityDto dto = new ActivityDto();
         dto.setActivityId(activity.getActivityId());
         dto.setActivityType(activity.getActivityType());
@@ -191,6 +268,7 @@ public class ActivityService {
         dto.setLeadId(activity.getLead() != null ? activity.getLead().getLeadId() : null);
         dto.setCreatedAt(activity.getCreatedAt());
         dto.setUpdatedAt(activity.getUpdatedAt());
+        dto.setVersion(activity.getVersion());
         return dto;
     }
 }
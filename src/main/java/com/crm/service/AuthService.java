@@ -22,7 +22,7 @@ public class AuthService {
     private JwtConfig jwtConfig;
     
     public JwtResponse authenticateUser(LoginRequest loginRequest) {
-        Member member = memberRepository.findByEmail(loginRequest.getEmail())
+        Member member = memberRepository.findByEmailWithRoleAndOrganization(loginRequest.getEmail())
                 .orElseThrow(() -> new RuntimeException("User not found with email: " + loginRequest.getEmail()));
         
         if (!passwordEncoder.matches(loginRequest.getPassword(), member.getPassword())) {
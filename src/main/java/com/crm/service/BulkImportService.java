@@ -0,0 +1,338 @@
+package com.crm.service;
+
+import com.crm.dto.AccountDto;
+import com.crm.dto.ContactDto;
+import com.crm.dto.DuplicateMatch;
+import com.crm.dto.ImportReport;
+import com.crm.dto.ImportRowError;
+import com.crm.dto.LeadDto;
+import com.crm.dto.LiveEvent.Action;
+import com.crm.entity.Account;
+import com.crm.entity.ChangeVersion.EntityType;
+import com.crm.entity.Contact;
+import com.crm.entity.Lead;
+import com.crm.entity.Member;
+import com.crm.entity.Organization;
+import com.crm.repository.AccountRepository;
+import com.crm.repository.MemberRepository;
+import com.crm.repository.OrganizationRepository;
+import com.crm.util.DuplicateFingerprint;
+import com.crm.util.ImportRowReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Streams CSV/NDJSON rows into leads, contacts and accounts. Rows are validated
+ * as they are read and written in chunks: one transaction per chunk, references
+ * resolved once per chunk, and inserts batched by Hibernate (jdbc.batch_size)
+ * on the pooled entity sequences.
+ */
+@Service
+public class BulkImportService {
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private DashboardRollupService dashboardRollupService;
+
+    @Autowired
+    private ChangeVersionService changeVersionService;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private LiveEventService liveEventService;
+
+    @Autowired
+    private DuplicateDetectionService duplicateDetectionService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.import.chunk-size:1000}")
+    private int chunkSize;
+
+    public ImportReport importLeads(Long orgId, Long memberId, String contentType, InputStream body,
+                                    boolean skipDuplicates) throws IOException {
+        return runImport(contentType, body, LeadDto.class, chunk -> {
+            Organization organization = organizationRepository.getReferenceById(orgId);
+            Member member = memberRepository.getReferenceById(memberId);
+            List<Lead> leads = new ArrayList<>(chunk.size());
+            for (PendingRow<LeadDto> row : chunk) {
+                LeadDto leadDto = row.dto;
+                if (isSkippedDuplicate(row, orgId, EntityType.LEAD, skipDuplicates,
+                        DuplicateFingerprint.of(leadDto.getLeadName(), leadDto.getLeadEmail(), leadDto.getPhone()))) {
+                    continue;
+                }
+                Lead lead = new Lead();
+                lead.setLeadName(leadDto.getLeadName());
+                lead.setLeadEmail(leadDto.getLeadEmail());
+                lead.setPhone(leadDto.getPhone());
+                lead.setIsVerified(leadDto.getIsVerified() != null ? leadDto.getIsVerified() : false);
+                lead.setOrganization(organization);
+                lead.setMember(member);
+                entityManager.persist(lead);
+                leads.add(lead);
+                // The row DTO already holds the values; only the generated fields are missing
+                leadDto.setLeadId(lead.getLeadId());
+                leadDto.setMemberId(memberId);
+                leadDto.setVersion(lead.getVersion());
+                searchIndexService.index(orgId, leadDto);
+                liveEventService.publish(orgId, EntityType.LEAD, Action.CREATED, leadDto.getLeadId());
+            }
+            dashboardRollupService.leadsCreated(orgId, leads);
+            changeVersionService.bump(orgId, EntityType.LEAD);
+        });
+    }
+
+    public ImportReport importContacts(Long orgId, Long memberId, String contentType, InputStream body,
+                                       boolean skipDuplicates) throws IOException {
+        return runImport(contentType, body, ContactDto.class, chunk -> {
+            Organization organization = organizationRepository.getReferenceById(orgId);
+            Member member = memberRepository.getReferenceById(memberId);
+
+            // One query per chunk; an account outside the caller's organization counts as missing
+            Set<Long> accountIds = chunk.stream()
+                    .map(row -> row.dto.getAccountId())
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            Set<Long> knownAccountIds = accountIds.isEmpty()
+                    ? Set.of()
+                    : accountRepository.findIdsByOrganization(orgId, accountIds);
+
+            for (PendingRow<ContactDto> row : chunk) {
+                ContactDto contactDto = row.dto;
+                Account account = null;
+                if (contactDto.getAccountId() != null) {
+                    if (!knownAccountIds.contains(contactDto.getAccountId())) {
+                        row.reject("Account not found");
+                        continue;
+                    }
+                    account = accountRepository.getReferenceById(contactDto.getAccountId());
+                }
+                if (isSkippedDuplicate(row, orgId, EntityType.CONTACT, skipDuplicates, DuplicateFingerprint.of(
+                        contactDto.getContactName(), contactDto.getContactEmail(), contactDto.getPhone()))) {
+                    continue;
+                }
+                Contact contact = new Contact();
+                contact.setContactName(contactDto.getContactName());
+                contact.setContactEmail(contactDto.getContactEmail());
+                contact.setPhone(contactDto.getPhone());
+                contact.setOrganization(organization);
+                contact.setMember(member);
+                contact.setAccount(account);
+                entityManager.persist(contact);
+                contactDto.setContactId(contact.getContactId());
+                contactDto.setMemberId(memberId);
+                contactDto.setVersion(contact.getVersion());
+                searchIndexService.index(orgId, contactDto);
+                liveEventService.publish(orgId, EntityType.CONTACT, Action.CREATED, contactDto.getContactId());
+            }
+            changeVersionService.bump(orgId, EntityType.CONTACT);
+        });
+    }
+
+    public ImportReport importAccounts(Long orgId, Long memberId, String contentType, InputStream body,
+                                       boolean skipDuplicates) throws IOException {
+        // Emails seen earlier in this upload, so duplicates within the file are rejected too
+        Set<String> seenEmails = new HashSet<>();
+        return runImport(contentType, body, AccountDto.class, chunk -> {
+            Organization organization = organizationRepository.getReferenceById(orgId);
+            Member member = memberRepository.getReferenceById(memberId);
+
+            Set<String> emails = chunk.stream()
+                    .map(row -> row.dto.getEmail())
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            Set<String> existingEmails = emails.isEmpty()
+                    ? Set.of()
+                    : accountRepository.findExistingEmails(emails);
+
+            for (PendingRow<AccountDto> row : chunk) {
+                AccountDto accountDto = row.dto;
+                String email = accountDto.getEmail();
+                if (email != null && (existingEmails.contains(email) || !seenEmails.add(email))) {
+                    row.reject("Account with this email already exists");
+                    continue;
+                }
+                if (isSkippedDuplicate(row, orgId, EntityType.ACCOUNT, skipDuplicates,
+                        DuplicateFingerprint.of(accountDto.getAccountName(), email, accountDto.getPhone()))) {
+                    continue;
+                }
+                Account account = new Account();
+                account.setAccountName(accountDto.getAccountName());
+                account.setEmail(email);
+                account.setPhone(accountDto.getPhone());
+                account.setWebsite(accountDto.getWebsite());
+                account.setDescription(accountDto.getDescription());
+                account.setIndustry(accountDto.getIndustry());
+                account.setAddress(accountDto.getAddress());
+                account.setCity(accountDto.getCity());
+                account.setState(accountDto.getState());
+                account.setPostalCode(accountDto.getPostalCode());
+                account.setCountry(accountDto.getCountry());
+                account.setOrganization(organization);
+                account.setMember(member);
+                entityManager.persist(account);
+                accountDto.setAccountId(account.getAccountId());
+                accountDto.setMemberId(memberId);
+                accountDto.setVersion(account.getVersion());
+                searchIndexService.index(orgId, accountDto);
+                liveEventService.publish(orgId, EntityType.ACCOUNT, Action.CREATED, accountDto.getAccountId());
+            }
+            changeVersionService.bump(orgId, EntityType.ACCOUNT);
+        });
+    }
+
+    private <D> ImportReport runImport(String contentType, InputStream body, Class<D> dtoType,
+                                       ChunkWriter<D> writer) throws IOException {
+        ImportReport report = new ImportReport();
+        List<PendingRow<D>> chunk = new ArrayList<>(chunkSize);
+        try (ImportRowReader reader = ImportRowReader.of(contentType, body, objectMapper)) {
+            ImportRowReader.Row row;
+            while ((row = reader.next()) != null) {
+                report.addRow();
+                D dto = toValidDto(row, dtoType, report);
+                if (dto != null) {
+                    chunk.add(new PendingRow<>(row.getNumber(), dto));
+                }
+                if (chunk.size() == chunkSize) {
+                    writeChunk(chunk, writer, report);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, writer, report);
+        }
+        // Chunk-level rejections are recorded after parse errors from later rows
+        report.getErrors().sort(Comparator.comparingInt(ImportRowError::getRow));
+        return report;
+    }
+
+    private <D> D toValidDto(ImportRowReader.Row row, Class<D> dtoType, ImportReport report) {
+        if (row.getError() != null) {
+            report.addError(row.getNumber(), row.getError());
+            return null;
+        }
+        D dto;
+        try {
+            dto = objectMapper.convertValue(row.getValues(), dtoType);
+        } catch (IllegalArgumentException e) {
+            report.addError(row.getNumber(), "Invalid value: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            return null;
+        }
+        Set<ConstraintViolation<D>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            report.addError(row.getNumber(), violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+            return null;
+        }
+        return dto;
+    }
+
+    private <D> void writeChunk(List<PendingRow<D>> chunk, ChunkWriter<D> writer, ImportReport report) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                writer.write(chunk);
+                entityManager.flush();
+                entityManager.clear();
+            });
+        } catch (RuntimeException e) {
+            // The whole chunk rolled back, so rows that were accepted are reported as failed too
+            String message = "Chunk rolled back: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            for (PendingRow<D> row : chunk) {
+                if (row.rejection == null) {
+                    row.reject(message);
+                }
+            }
+        }
+        for (PendingRow<D> row : chunk) {
+            if (row.rejection != null) {
+                report.addError(row.number, row.rejection);
+            } else {
+                report.addImported();
+                if (row.duplicate != null) {
+                    report.addDuplicate(row.number, row.duplicate);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks the row against the records already in the organization (not
+     * against earlier rows of the same chunk). A likely duplicate is rejected
+     * with skipDuplicates, otherwise imported and listed in the report.
+     */
+    private boolean isSkippedDuplicate(PendingRow<?> row, Long orgId, EntityType type, boolean skipDuplicates,
+                                       DuplicateFingerprint fingerprint) {
+        DuplicateMatch match = duplicateDetectionService.bestMatch(orgId, type, fingerprint);
+        if (match == null) {
+            return false;
+        }
+        if (skipDuplicates) {
+            row.reject("Likely duplicate of " + match.getType() + " " + match.getId() + " (" + match.getTitle() + ")");
+            return true;
+        }
+        row.duplicate = match;
+        return false;
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter<D> {
+        void write(List<PendingRow<D>> chunk);
+    }
+
+    private static class PendingRow<D> {
+        private final int number;
+        private final D dto;
+        private String rejection;
+        private DuplicateMatch duplicate;
+
+        PendingRow(int number, D dto) {
+            this.number = number;
+            this.dto = dto;
+        }
+
+        void reject(String message) {
+            this.rejection = message;
+        }
+    }
+}
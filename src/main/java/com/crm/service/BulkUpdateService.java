@@ -0,0 +1,244 @@
+package com.crm.service;
+
+import com.crm.dto.ActivityFilter;
+import com.crm.dto.BulkUpdateRequest;
+import com.crm.dto.BulkUpdateResult;
+import com.crm.dto.DealFilter;
+import com.crm.dto.LeadFilter;
+import com.crm.dto.LiveEvent.Action;
+import com.crm.entity.Activity;
+import com.crm.entity.ChangeVersion.EntityType;
+import com.crm.entity.Deal;
+import com.crm.entity.Lead;
+import com.crm.entity.Member;
+import com.crm.repository.ActivityRepository;
+import com.crm.repository.DealEventRepository;
+import com.crm.repository.DealRepository;
+import com.crm.repository.LeadRepository;
+import com.crm.repository.MemberRepository;
+import com.crm.repository.SearchSpecifications;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Stage changes, owner reassignment and activity status changes over many rows.
+ * Targets come from an id list or a search filter and are processed in chunks:
+ * each chunk is one transaction running one set-based UPDATE, so nothing is
+ * loaded into the persistence context.
+ */
+@Service
+public class BulkUpdateService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkUpdateService.class);
+
+    @Autowired
+    private DealRepository dealRepository;
+
+    @Autowired
+    private LeadRepository leadRepository;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private DealEventRepository dealEventRepository;
+
+    @Autowired
+    private DashboardRollupService dashboardRollupService;
+
+    @Autowired
+    private ChangeVersionService changeVersionService;
+
+    @Autowired
+    private LiveEventService liveEventService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TenantDeletionService tenantDeletionService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.bulk.chunk-size:1000}")
+    private int chunkSize;
+
+    public BulkUpdateResult changeDealStage(Long orgId, BulkUpdateRequest<DealFilter> request) {
+        String stage = request.getDealStage();
+        if (stage == null || stage.isBlank()) {
+            throw new IllegalArgumentException("dealStage is required");
+        }
+        BulkUpdateResult result = run(request, Deal.class, "dealId",
+                filter -> SearchSpecifications.deals(orgId, filter),
+                ids -> {
+                    // Rollup deltas come from the rows as they are before the update
+                    List<Object[]> previousStages = dealRepository.summarizeStagesOtherThan(orgId, ids, stage);
+                    OffsetDateTime now = now();
+                    dealEventRepository.insertStageChanges(orgId, ids, stage, now);
+                    int updated = dealRepository.updateStage(orgId, ids, stage, now);
+                    dashboardRollupService.dealsMovedToStage(orgId, previousStages, stage);
+                    changeVersionService.bump(orgId, EntityType.DEAL);
+                    liveEventService.publish(orgId, EntityType.DEAL, Action.UPDATED, ids);
+                    return updated;
+                });
+        log.info("Bulk stage change to '{}' in organization {}: {} of {} deals updated",
+                stage, orgId, result.getUpdated(), result.getMatched());
+        return result;
+    }
+
+    public BulkUpdateResult reassignDeals(Long orgId, BulkUpdateRequest<DealFilter> request) {
+        Member member = targetMember(orgId, request.getMemberId());
+        BulkUpdateResult result = run(request, Deal.class, "dealId",
+                filter -> SearchSpecifications.deals(orgId, filter),
+                ids -> {
+                    changeVersionService.bump(orgId, EntityType.DEAL);
+                    liveEventService.publish(orgId, EntityType.DEAL, Action.UPDATED, ids);
+                    return dealRepository.updateMember(orgId, ids, member, now());
+                });
+        log.info("Bulk reassignment to member {} in organization {}: {} of {} deals updated",
+                member.getMemberId(), orgId, result.getUpdated(), result.getMatched());
+        return result;
+    }
+
+    public BulkUpdateResult reassignLeads(Long orgId, BulkUpdateRequest<LeadFilter> request) {
+        Member member = targetMember(orgId, request.getMemberId());
+        BulkUpdateResult result = run(request, Lead.class, "leadId",
+                filter -> SearchSpecifications.leads(orgId, filter),
+                ids -> {
+                    changeVersionService.bump(orgId, EntityType.LEAD);
+                    liveEventService.publish(orgId, EntityType.LEAD, Action.UPDATED, ids);
+                    return leadRepository.updateMember(orgId, ids, member, now());
+                });
+        log.info("Bulk reassignment to member {} in organization {}: {} of {} leads updated",
+                member.getMemberId(), orgId, result.getUpdated(), result.getMatched());
+        return result;
+    }
+
+    public BulkUpdateResult reassignActivities(Long orgId, BulkUpdateRequest<ActivityFilter> request) {
+        Member member = targetMember(orgId, request.getMemberId());
+        BulkUpdateResult result = run(request, Activity.class, "activityId",
+                filter -> SearchSpecifications.activities(orgId, filter),
+                ids -> {
+                    changeVersionService.bump(orgId, EntityType.ACTIVITY);
+                    liveEventService.publish(orgId, EntityType.ACTIVITY, Action.UPDATED, ids);
+                    return activityRepository.updateMember(orgId, ids, member, now());
+                });
+        log.info("Bulk reassignment to member {} in organization {}: {} of {} activities updated",
+                member.getMemberId(), orgId, result.getUpdated(), result.getMatched());
+        return result;
+    }
+
+    public BulkUpdateResult changeActivityStatus(Long orgId, BulkUpdateRequest<ActivityFilter> request) {
+        String status = request.getStatus();
+        if (status == null || status.isBlank()) {
+            throw new IllegalArgumentException("status is required");
+        }
+        BulkUpdateResult result = run(request, Activity.class, "activityId",
+                filter -> SearchSpecifications.activities(orgId, filter),
+                ids -> {
+                    changeVersionService.bump(orgId, EntityType.ACTIVITY);
+                    liveEventService.publish(orgId, EntityType.ACTIVITY, Action.UPDATED, ids);
+                    return activityRepository.updateStatus(orgId, ids, status, now());
+                });
+        log.info("Bulk status change to '{}' in organization {}: {} of {} activities updated",
+                status, orgId, result.getUpdated(), result.getMatched());
+        return result;
+    }
+
+    private Member targetMember(Long orgId, Long memberId) {
+        if (memberId == null) {
+            throw new IllegalArgumentException("memberId is required");
+        }
+        Member member = memberRepository.findById(memberId)
+                .filter(m -> !tenantDeletionService.isHidden(null, m.getMemberId()))
+                .orElseThrow(() -> new RuntimeException("Member not found"));
+        if (!orgId.equals(member.getOrganization().getOrgId())) {
+            throw new RuntimeException("Member does not belong to this organization");
+        }
+        return member;
+    }
+
+    /**
+     * Feeds the target ids to the updater one chunk (and one transaction) at a
+     * time. Filter targets are paged by ascending id, so rows an earlier chunk
+     * changed are never revisited even when the change takes them out of the filter.
+     */
+    private <T, F> BulkUpdateResult run(BulkUpdateRequest<F> request, Class<T> entityType, String idAttribute,
+                                        Function<F, Specification<T>> specification, ChunkUpdater updater) {
+        BulkUpdateResult result = new BulkUpdateResult();
+        if (request.getIds() != null && !request.getIds().isEmpty()) {
+            List<Long> ids = new ArrayList<>(new LinkedHashSet<>(request.getIds()));
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+                Integer updated = transactionTemplate.execute(status -> updater.update(chunk));
+                result.addChunk(chunk.size(), updated);
+            }
+            return result;
+        }
+        if (request.getFilter() == null) {
+            throw new IllegalArgumentException("Either ids or filter is required");
+        }
+        Specification<T> spec = specification.apply(request.getFilter());
+        Long lastId = null;
+        while (true) {
+            Long afterId = lastId;
+            List<Long> chunk = new ArrayList<>();
+            Integer updated = transactionTemplate.execute(status -> {
+                chunk.addAll(nextIds(entityType, idAttribute, spec, afterId));
+                return chunk.isEmpty() ? 0 : updater.update(chunk);
+            });
+            if (chunk.isEmpty()) {
+                break;
+            }
+            result.addChunk(chunk.size(), updated);
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+            lastId = chunk.get(chunk.size() - 1);
+        }
+        return result;
+    }
+
+    private <T> List<Long> nextIds(Class<T> entityType, String idAttribute, Specification<T> spec, Long afterId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(entityType);
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (afterId != null) {
+            predicate = cb.and(predicate, cb.greaterThan(root.get(idAttribute), afterId));
+        }
+        query.select(root.get(idAttribute)).where(predicate).orderBy(cb.asc(root.get(idAttribute)));
+        return entityManager.createQuery(query).setMaxResults(chunkSize).getResultList();
+    }
+
+    private static OffsetDateTime now() {
+        return OffsetDateTime.now(ZoneOffset.UTC);
+    }
+
+    @FunctionalInterface
+    private interface ChunkUpdater {
+        int update(List<Long> ids);
+    }
+}
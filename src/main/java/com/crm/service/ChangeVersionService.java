@@ -0,0 +1,116 @@
+package com.crm.service;
+
+import com.crm.config.ReplicaRoutingDataSource;
+import com.crm.entity.ChangeVersion;
+import com.crm.entity.ChangeVersion.EntityType;
+import com.crm.repository.ChangeVersionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Per-organization, per-entity-type change counters behind the HTTP ETags.
+ *
+ * Write paths call {@link #bump} inside their transaction. The counters are
+ * incremented in beforeCommit, once per transaction and in a fixed order, so
+ * the counter row locks are held only while the transaction commits.
+ */
+@Service
+public class ChangeVersionService {
+
+    @Autowired
+    private ChangeVersionRepository changeVersionRepository;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.datasource.replica.max-lag:2s}")
+    private Duration replicaMaxLag;
+
+    @Value("${app.datasource.replica.check-interval-ms:1000}")
+    private long replicaCheckIntervalMs;
+
+    public void bump(Long orgId, EntityType... entityTypes) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            transactionTemplate.executeWithoutResult(status -> bump(orgId, entityTypes));
+            return;
+        }
+        PendingBumps pending = null;
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingBumps existing) {
+                pending = existing;
+            }
+        }
+        if (pending == null) {
+            pending = new PendingBumps();
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.add(orgId, entityTypes);
+    }
+
+    /**
+     * Current counters for the given types (0 for a type never written), or
+     * null when one changed so recently that a read replica may not show the
+     * change yet; a version must never be paired with older content.
+     */
+    @Transactional(readOnly = true)
+    public Map<EntityType, Long> currentVersions(Long orgId, Collection<EntityType> entityTypes) {
+        Map<EntityType, Long> versions = new EnumMap<>(EntityType.class);
+        for (EntityType entityType : entityTypes) {
+            versions.put(entityType, 0L);
+        }
+        OffsetDateTime settledBefore = replicaRoutingDataSource.hasReplicas()
+                ? OffsetDateTime.now(ZoneOffset.UTC).minus(replicaMaxLag).minusNanos(replicaCheckIntervalMs * 1_000_000)
+                : null;
+        for (ChangeVersion changeVersion : changeVersionRepository.findByOrgIdAndEntityTypes(orgId, entityTypes)) {
+            if (settledBefore != null && changeVersion.getUpdatedAt().isAfter(settledBefore)) {
+                return null;
+            }
+            versions.put(changeVersion.getEntityType(), changeVersion.getVersion());
+        }
+        return versions;
+    }
+
+    private void increment(Long orgId, EntityType entityType) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        if (changeVersionRepository.increment(orgId, entityType, now) == 0) {
+            changeVersionRepository.insertIfMissing(orgId, entityType.name());
+            changeVersionRepository.increment(orgId, entityType, now);
+        }
+    }
+
+    private final class PendingBumps implements TransactionSynchronization {
+
+        // Sorted so concurrent transactions lock shared counters in the same order
+        private final Map<Long, Set<EntityType>> byOrg = new TreeMap<>();
+
+        private void add(Long orgId, EntityType... entityTypes) {
+            Set<EntityType> types = byOrg.computeIfAbsent(orgId, id -> new TreeSet<>());
+            for (EntityType entityType : entityTypes) {
+                types.add(entityType);
+            }
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            byOrg.forEach((orgId, types) -> types.forEach(entityType -> increment(orgId, entityType)));
+        }
+    }
+}
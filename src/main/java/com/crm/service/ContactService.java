@@ -1,6 +1,11 @@
 package com.crm.service;
 
+import com.crm.dto.CursorPage;
 import com.crm.dto.ContactDto;
+import com.crm.dto.ContactFilter;
+import com.crm.dto.LiveEvent.Action;
+import com.crm.dto.SearchPage;
+import com.crm.entity.ChangeVersion.EntityType;
 import com.crm.entity.Contact;
 import com.crm.entity.Member;
 import com.crm.entity.Organization;
@@ -8,12 +13,19 @@ import com.crm.entity.Account;
 import com.crm.repository.ContactRepository;
 import com.crm.repository.MemberRepository;
 import com.crm.repository.OrganizationRepository;
+import com.crm.repository.SearchSpecifications;
 import com.crm.repository.AccountRepository;
+import com.crm.util.PageCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,6 +43,18 @@ public class ContactService {
     @Autowired
     private AccountRepository accountRepository;
     
+    @Autowired
+    private ChangeVersionService changeVersionService;
+    
+    @Autowired
+    private PartialUpdateService partialUpdateService;
+    
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private LiveEventService liveEventService;
+    
     @Transactional
     public ContactDto createContact(ContactDto contactDto) {
         // Validate that orgId and memberId are provided (auto-populated by controller)
@@ -41,16 +65,13 @@ public class ContactService {
             throw new RuntimeException("Member ID is required");
         }
         
-        Organization organization = organizationRepository.findById(contactDto.getOrgId())
-                .orElseThrow(() -> new RuntimeException("Organization not found"));
+        Organization organization = organizationRepository.getReferenceById(contactDto.getOrgId());
         
-        Member member = memberRepository.findById(contactDto.getMemberId())
-                .orElseThrow(() -> new RuntimeException("Member not found"));
+        Member member = memberRepository.getReferenceById(contactDto.getMemberId());
         
         Account account = null;
         if (contactDto.getAccountId() != null) {
-            account = accountRepository.findById(contactDto.getAccountId())
-                    .orElseThrow(() -> new RuntimeException("Account not found"));
+            account = accountRepository.getReferenceInOrganization(contactDto.getAccountId(), contactDto.getOrgId());
         }
         
         Contact contact = new Contact();
@@ -62,7 +83,11 @@ public class ContactService {
         contact.setAccount(account);
         
         Contact savedContact = contactRepository.save(contact);
-        return convertToDto(savedContact);
+        changeVersionService.bump(contactDto.getOrgId(), EntityType.CONTACT);
+        ContactDto created = convertToDto(savedContact);
+        searchIndexService.index(contactDto.getOrgId(), created);
+        liveEventService.publish(contactDto.getOrgId(), EntityType.CONTACT, Action.CREATED, created.getContactId());
+        return created;
     }
     
     @Transactional(readOnly = true)
@@ -70,10 +95,31 @@ public class ContactService {
         Organization organization = organizationRepository.findById(orgId)
                 .orElseThrow(() -> new RuntimeException("Organization not found"));
         
-        return contactRepository.findByOrganizationWithRelations(organization)
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return contactRepository.findDtosByOrganization(organization);
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<ContactDto> getContactsPageByOrganization(Long orgId, String cursor, Integer limit) {
+        Organization organization = organizationRepository.findById(orgId)
+                .orElseThrow(() -> new RuntimeException("Organization not found"));
+        
+        int pageSize = PageCursor.clampLimit(limit);
+        PageCursor after = PageCursor.decode(cursor);
+        List<ContactDto> rows = after == null
+                ? contactRepository.findFirstPageByOrganization(organization, PageCursor.pageRequest(pageSize))
+                : contactRepository.findPageByOrganizationAfter(organization, after.getCreatedAt(), after.getId(),
+                        PageCursor.pageRequest(pageSize));
+        return PageCursor.toPage(rows, pageSize, ContactDto::getCreatedAt, ContactDto::getContactId, Function.identity());
+    }
+    
+    /**
+     * Filtered, sorted page of contacts; only the requested page is read from the database.
+     */
+    @Transactional(readOnly = true)
+    public SearchPage<ContactDto> searchContacts(Long orgId, ContactFilter filter, Pageable pageable) {
+        Pageable page = SearchSpecifications.restrictSort(pageable, Sort.by(Sort.Direction.ASC, "contactName", "contactId"),
+                "createdAt", "contactName");
+        return SearchPage.of(contactRepository.findAll(SearchSpecifications.contacts(orgId, filter), page), this::convertToDto);
     }
     
     @Transactional(readOnly = true)
@@ -81,10 +127,7 @@ public class ContactService {
         Member member = memberRepository.findById(memberId)
                 .orElseThrow(() -> new RuntimeException("Member not found"));
         
-        return contactRepository.findByMemberWithRelations(member)
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return contactRepository.findDtosByMember(member);
     }
     
     @Transactional(readOnly = true)
@@ -100,38 +143,73 @@ public class ContactService {
     
     @Transactional(readOnly = true)
     public ContactDto getContactById(Long contactId) {
-        Contact contact = contactRepository.findByIdWithRelations(contactId);
+        ContactDto contact = contactRepository.findDtoById(contactId);
         if (contact == null) {
             throw new RuntimeException("Contact not found");
         }
-        return convertToDto(contact);
+        return contact;
     }
     
     @Transactional
     public ContactDto updateContact(Long contactId, ContactDto contactDto) {
         Contact contact = contactRepository.findById(contactId)
                 .orElseThrow(() -> new RuntimeException("Contact not found"));
+        PartialUpdateService.checkVersion(Contact.class, contactId, contactDto.getVersion(), contact.getVersion());
         
         contact.setContactName(contactDto.getContactName());
         contact.setContactEmail(contactDto.getContactEmail());
         contact.setPhone(contactDto.getPhone());
         
+        Long orgId = contact.getOrganization().getOrgId();
         if (contactDto.getAccountId() != null) {
-            Account account = accountRepository.findById(contactDto.getAccountId())
-                    .orElseThrow(() -> new RuntimeException("Account not found"));
+            Account account = accountRepository.getReferenceInOrganization(contactDto.getAccountId(), orgId);
             contact.setAccount(account);
         }
         
-        Contact savedContact = contactRepository.save(contact);
-        return convertToDto(savedContact);
+        Contact savedContact = contactRepository.saveAndFlush(contact);
+        changeVersionService.bump(contact.getOrganization().getOrgId(), EntityType.CONTACT);
+        ContactDto updated = convertToDto(savedContact);
+        searchIndexService.index(updated.getOrgId(), updated);
+        liveEventService.publish(updated.getOrgId(), EntityType.CONTACT, Action.UPDATED, contactId);
+        return updated;
     }
     
+    /**
+     * Changes only the non-null fields of the patch, provided the contact is
+     * still at patch.version.
+     */
     @Transactional
-    public void deleteContact(Long contactId) {
-        if (!contactRepository.existsById(contactId)) {
-            throw new RuntimeException("Contact not found");
+    public ContactDto patchContact(Long orgId, Long contactId, ContactDto patch) {
+        partialUpdateService.validate(patch);
+        Map<String, Object> changes = new LinkedHashMap<>();
+        if (patch.getContactName() != null) {
+            changes.put("contactName", patch.getContactName());
         }
-        contactRepository.deleteById(contactId);
+        if (patch.getContactEmail() != null) {
+            changes.put("contactEmail", patch.getContactEmail());
+        }
+        if (patch.getPhone() != null) {
+            changes.put("phone", patch.getPhone());
+        }
+        if (patch.getAccountId() != null) {
+            changes.put("account", accountRepository.getReferenceInOrganization(patch.getAccountId(), orgId));
+        }
+        partialUpdateService.update(Contact.class, "contactId", orgId, contactId, patch.getVersion(), changes);
+        changeVersionService.bump(orgId, EntityType.CONTACT);
+        ContactDto patched = contactRepository.findDtoById(contactId);
+        searchIndexService.index(orgId, patched);
+        liveEventService.publish(orgId, EntityType.CONTACT, Action.UPDATED, contactId);
+        return patched;
+    }
+    
+    @Transactional
+    public void deleteContact(Long contactId) {
+        Contact contact = contactRepository.findById(contactId)
+                .orElseThrow(() -> new RuntimeException("Contact not found"));
+        contactRepository.delete(contact);
+        changeVersionService.bump(contact.getOrganization().getOrgId(), EntityType.CONTACT);
+        searchIndexService.remove(contact.getOrganization().getOrgId(), EntityType.CONTACT, contactId);
+        liveEventService.publish(contact.getOrganization().getOrgId(), EntityType.CONTACT, Action.DELETED, contactId);
     }
     
     private ContactDto convertToDto(Contact contact) {
@@ -146,7 +224,8 @@ public class ContactService {
             contact.getMember().getName(),
             contact.getAccount() != null ? contact.getAccount().getAccountName() : null,
             contact.getCreatedAt(),
-            contact.getUpdatedAt()
+            contact.getUpdatedAt(),
+            contact.getVersion()
         );
     }
 }
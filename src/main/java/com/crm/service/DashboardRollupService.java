@@ -0,0 +1,229 @@
+package com.crm.service;
+
+import com.crm.entity.ChangeVersion.EntityType;
+import com.crm.entity.DashboardRollup;
+import com.crm.entity.DashboardRollup.Metric;
+import com.crm.entity.Deal;
+import com.crm.entity.Lead;
+import com.crm.entity.Organization;
+import com.crm.repository.DashboardRollupRepository;
+import com.crm.repository.DealRepository;
+import com.crm.repository.LeadRepository;
+import com.crm.repository.OrganizationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Per-organization dashboard counters (deals and leads created per month, deal
+ * count and pipeline value per stage). Write paths apply deltas in the caller's
+ * transaction so the dashboards read O(months + stages) rows; {@link #rebuild}
+ * recomputes an organization from the source tables for backfill and drift.
+ */
+@Service
+public class DashboardRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardRollupService.class);
+
+    @Autowired
+    private DashboardRollupRepository rollupRepository;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private DealRepository dealRepository;
+
+    @Autowired
+    private LeadRepository leadRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TenantDeletionService tenantDeletionService;
+
+    @Autowired
+    private ChangeVersionService changeVersionService;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void dealCreated(Deal deal) {
+        Long orgId = deal.getOrganization().getOrgId();
+        add(orgId, Metric.DEALS_CREATED, monthBucket(deal.getCreatedAt()), 1, BigDecimal.ZERO);
+        add(orgId, Metric.DEAL_STAGE, deal.getDealStage(), 1, valueOf(deal));
+    }
+
+    /**
+     * Moves a deal between stage buckets; call after the new stage and value are set.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void dealChanged(Deal deal, String previousStage, BigDecimal previousValue) {
+        dealChanged(deal.getOrganization().getOrgId(), previousStage, previousValue, deal.getDealStage(), deal.getDealValue());
+    }
+
+    /**
+     * Same as above for callers that changed the deal with an UPDATE statement
+     * and never loaded the entity (see DealService.patchDeal).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void dealChanged(Long orgId, String previousStage, BigDecimal previousValue, String newStage, BigDecimal newValue) {
+        if (Objects.equals(previousStage, newStage)
+                && valueOf(previousValue).compareTo(valueOf(newValue)) == 0) {
+            return;
+        }
+        add(orgId, Metric.DEAL_STAGE, previousStage, -1, valueOf(previousValue).negate());
+        add(orgId, Metric.DEAL_STAGE, newStage, 1, valueOf(newValue));
+    }
+
+    /**
+     * Bulk stage change: rows are (previous stage, deal count, summed value) for
+     * the deals being moved, as returned by DealRepository.summarizeStagesOtherThan.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void dealsMovedToStage(Long orgId, List<Object[]> previousStages, String newStage) {
+        long movedCount = 0;
+        BigDecimal movedValue = BigDecimal.ZERO;
+        for (Object[] r : previousStages) {
+            long count = ((Number) r[1]).longValue();
+            BigDecimal value = new BigDecimal(r[2].toString());
+            add(orgId, Metric.DEAL_STAGE, (String) r[0], -count, value.negate());
+            movedCount += count;
+            movedValue = movedValue.add(value);
+        }
+        if (movedCount > 0) {
+            add(orgId, Metric.DEAL_STAGE, newStage, movedCount, movedValue);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void dealDeleted(Deal deal) {
+        Long orgId = deal.getOrganization().getOrgId();
+        add(orgId, Metric.DEALS_CREATED, monthBucket(deal.getCreatedAt()), -1, BigDecimal.ZERO);
+        add(orgId, Metric.DEAL_STAGE, deal.getDealStage(), -1, valueOf(deal).negate());
+    }
+
+    /**
+     * One delta per month touched, so a bulk import chunk costs one UPDATE.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void leadsCreated(Long orgId, Collection<Lead> leads) {
+        Map<String, Long> perMonth = leads.stream()
+                .collect(Collectors.groupingBy(lead -> monthBucket(lead.getCreatedAt()), Collectors.counting()));
+        perMonth.forEach((bucket, count) -> add(orgId, Metric.LEADS_CREATED, bucket, count, BigDecimal.ZERO));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void leadDeleted(Lead lead) {
+        add(lead.getOrganization().getOrgId(), Metric.LEADS_CREATED, monthBucket(lead.getCreatedAt()), -1, BigDecimal.ZERO);
+    }
+
+    @Transactional(readOnly = true)
+    public List<DashboardRollup> getRollups(Long orgId, Metric metric) {
+        return rollupRepository.findNonEmpty(orgId, metric);
+    }
+
+    /**
+     * Replaces an organization's counters with fresh aggregates over its deals and leads.
+     */
+    @Transactional
+    public void rebuild(Long orgId) {
+        Organization organization = organizationRepository.findById(orgId)
+                .orElseThrow(() -> new RuntimeException("Organization not found"));
+        rollupRepository.deleteByOrgId(orgId);
+        rollupRepository.flush();
+
+        List<DashboardRollup> rollups = new ArrayList<>();
+        rollups.addAll(monthlyRollups(organization, Metric.DEALS_CREATED,
+                dealRepository.findMonthlyDealSummaryByOrganization(orgId)));
+        rollups.addAll(monthlyRollups(organization, Metric.LEADS_CREATED,
+                leadRepository.findMonthlyLeadSummaryByOrganization(orgId)));
+        for (Object[] r : dealRepository.findDealStageDistributionByOrganization(organization)) {
+            rollups.add(new DashboardRollup(organization, Metric.DEAL_STAGE, (String) r[0],
+                    ((Number) r[1]).longValue(), new BigDecimal(r[2].toString())));
+        }
+        rollupRepository.saveAll(rollups);
+        changeVersionService.bump(orgId, EntityType.DASHBOARD);
+    }
+
+    // Nightly reconciliation in case a write bypassed the service layer
+    @Scheduled(cron = "${app.dashboard.rollup-rebuild-cron:0 30 3 * * *}")
+    public void rebuildAll() {
+        for (Organization organization : organizationRepository.findAll()) {
+            if (!tenantDeletionService.isOrganizationHidden(organization.getOrgId())) {
+                rebuildQuietly(organization.getOrgId());
+            }
+        }
+    }
+
+    // Backfill organizations that predate the rollup table
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMissing() {
+        Set<Long> withRollups = rollupRepository.findOrgIdsWithRollups();
+        for (Organization organization : organizationRepository.findAll()) {
+            if (!withRollups.contains(organization.getOrgId())
+                    && !tenantDeletionService.isOrganizationHidden(organization.getOrgId())) {
+                rebuildQuietly(organization.getOrgId());
+            }
+        }
+    }
+
+    private void rebuildQuietly(Long orgId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> rebuild(orgId));
+        } catch (RuntimeException e) {
+            log.warn("Dashboard rollup rebuild failed for organization {}: {}", orgId, e.getMessage());
+        }
+    }
+
+    private void add(Long orgId, Metric metric, String bucket, long countDelta, BigDecimal valueDelta) {
+        changeVersionService.bump(orgId, EntityType.DASHBOARD);
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        if (rollupRepository.increment(orgId, metric, bucket, countDelta, valueDelta, now) == 0) {
+            rollupRepository.insertIfMissing(orgId, metric.name(), bucket);
+            rollupRepository.increment(orgId, metric, bucket, countDelta, valueDelta, now);
+        }
+    }
+
+    private static List<DashboardRollup> monthlyRollups(Organization organization, Metric metric, List<Object[]> rows) {
+        // Merge by bucket in case the source query returns the same month twice
+        Map<String, Long> counts = rows.stream().collect(Collectors.toMap(
+                r -> YearMonth.of(((Number) r[0]).intValue(), ((Number) r[1]).intValue()).toString(),
+                r -> ((Number) r[2]).longValue(), Long::sum, TreeMap::new));
+        return counts.entrySet().stream()
+                .map(e -> new DashboardRollup(organization, metric, e.getKey(), e.getValue(), BigDecimal.ZERO))
+                .collect(Collectors.toList());
+    }
+
+    // UTC months; the rebuild queries bucket the same way
+    private static String monthBucket(OffsetDateTime createdAt) {
+        return YearMonth.from(createdAt.withOffsetSameInstant(ZoneOffset.UTC)).toString();
+    }
+
+    private static BigDecimal valueOf(Deal deal) {
+        return valueOf(deal.getDealValue());
+    }
+
+    private static BigDecimal valueOf(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
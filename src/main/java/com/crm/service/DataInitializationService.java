@@ -8,10 +8,14 @@ import com.crm.repository.OrganizationRepository;
 import com.crm.repository.RoleRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+// Before other runners, e.g. SyntheticDataGenerator, which needs the roles
 @Service
+@Order(Ordered.HIGHEST_PRECEDENCE)
 public class DataInitializationService implements CommandLineRunner {
     
     @Autowired
@@ -0,0 +1,137 @@
+package com.crm.service;
+
+import com.crm.dto.DealForecast;
+import com.crm.dto.ForecastLine;
+import com.crm.entity.ChangeVersion.EntityType;
+import com.crm.repository.DealRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Weighted pipeline forecast: one aggregate query per organization over its
+ * open deals, grouped by stage, owner and expected-close month, and rolled up
+ * into the three breakdowns here.
+ *
+ * Results are cached per organization together with the DEAL and MEMBER
+ * change versions they were computed at (see ChangeVersionService). Every
+ * deal write bumps DEAL, including bulk updates and writes on other
+ * instances, so a cached forecast is only served while nothing it covers
+ * has changed.
+ */
+@Service
+public class DealForecastService {
+
+    private static final Set<EntityType> SOURCES = Set.of(EntityType.DEAL, EntityType.MEMBER);
+
+    @Autowired
+    private DealRepository dealRepository;
+
+    @Autowired
+    private ChangeVersionService changeVersionService;
+
+    @Value("${app.forecast.closed-stages:Closed Won,Closed Lost}")
+    private Set<String> closedStages;
+
+    private final Map<Long, Cached> cache;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public DealForecastService(@Value("${app.forecast.cache-size:1000}") int maxEntries) {
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Cached> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Transactional(readOnly = true)
+    public DealForecast getForecast(Long orgId) {
+        // Null while a replica may still lag a recent change; computed then, but not cached
+        Map<EntityType, Long> versions = changeVersionService.currentVersions(orgId, SOURCES);
+        if (versions != null) {
+            lock.lock();
+            try {
+                Cached cached = cache.get(orgId);
+                if (cached != null && cached.versions.equals(versions)) {
+                    return cached.forecast;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        DealForecast forecast = compute(orgId);
+        if (versions != null) {
+            lock.lock();
+            try {
+                cache.put(orgId, new Cached(versions, forecast));
+            } finally {
+                lock.unlock();
+            }
+        }
+        return forecast;
+    }
+
+    private DealForecast compute(Long orgId) {
+        ForecastLine total = new ForecastLine();
+        Map<String, ForecastLine> byStage = new TreeMap<>();
+        Map<Long, ForecastLine> byOwner = new TreeMap<>();
+        // Deals without an expected close date sort last
+        Map<YearMonth, ForecastLine> byMonth = new TreeMap<>(Comparator.nullsLast(Comparator.naturalOrder()));
+        for (Object[] row : dealRepository.summarizeOpenPipeline(orgId, closedStages)) {
+            String stage = (String) row[0];
+            Long memberId = (Long) row[1];
+            String memberName = (String) row[2];
+            YearMonth month = row[3] != null ? YearMonth.of((Integer) row[3], (Integer) row[4]) : null;
+            long deals = (Long) row[5];
+            long scored = (Long) row[6];
+            BigDecimal value = (BigDecimal) row[7];
+            BigDecimal weighted = (BigDecimal) row[8];
+
+            total.add(deals, scored, value, weighted);
+            byStage.computeIfAbsent(stage, key -> new ForecastLine(key, null))
+                    .add(deals, scored, value, weighted);
+            byOwner.computeIfAbsent(memberId, key -> new ForecastLine(key.toString(), memberName))
+                    .add(deals, scored, value, weighted);
+            byMonth.computeIfAbsent(month, key -> new ForecastLine(key != null ? key.toString() : null, null))
+                    .add(deals, scored, value, weighted);
+        }
+
+        DealForecast forecast = new DealForecast();
+        forecast.setTotal(total);
+        forecast.setByStage(new ArrayList<>(byStage.values()));
+        forecast.setByOwner(new ArrayList<>(byOwner.values()));
+        forecast.setByMonth(new ArrayList<>(byMonth.values()));
+        forecast.setComputedAt(OffsetDateTime.now(ZoneOffset.UTC));
+        total.roundWeightedValue();
+        forecast.getByStage().forEach(ForecastLine::roundWeightedValue);
+        forecast.getByOwner().forEach(ForecastLine::roundWeightedValue);
+        forecast.getByMonth().forEach(ForecastLine::roundWeightedValue);
+        return forecast;
+    }
+
+    private static final class Cached {
+        private final Map<EntityType, Long> versions;
+        private final DealForecast forecast;
+
+        private Cached(Map<EntityType, Long> versions, DealForecast forecast) {
+            this.versions = versions;
+            this.forecast = forecast;
+        }
+    }
+}
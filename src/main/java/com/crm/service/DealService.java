@@ -1,24 +1,41 @@
 package com.crm.service;
 
+import com.crm.dto.CursorPage;
 import com.crm.dto.DealDto;
+import com.crm.dto.DealFilter;
+import com.crm.dto.LiveEvent.Action;
+import com.crm.dto.SearchPage;
+import com.crm.entity.ChangeVersion.EntityType;
+import com.crm.entity.DashboardRollup;
 import com.crm.entity.Deal;
+import com.crm.entity.DealEvent;
 import com.crm.entity.Member;
 import com.crm.entity.Organization;
 import com.crm.entity.Account;
 import com.crm.entity.Contact;
+import com.crm.repository.DealEventRepository;
 import com.crm.repository.DealRepository;
 import com.crm.repository.MemberRepository;
 import com.crm.repository.OrganizationRepository;
+import com.crm.repository.SearchSpecifications;
 import com.crm.repository.AccountRepository;
 import com.crm.repository.ContactRepository;
+import com.crm.util.PageCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -40,6 +57,25 @@ public class DealService {
     @Autowired
     private ContactRepository contactRepository;
     
+    @Autowired
+    private DashboardRollupService dashboardRollupService;
+    
+    @Autowired
+    private ChangeVersionService changeVersionService;
+    
+    @Autowired
+    private PartialUpdateService partialUpdateService;
+    
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private LiveEventService liveEventService;
+    
+    @Autowired
+    private DealEventRepository dealEventRepository;
+    
+    @Transactional
     public DealDto createDeal(DealDto dealDto) {
         // Validate that orgId and memberId are provided (auto-populated by controller)
         if (dealDto.getOrgId() == null) {
@@ -49,22 +85,19 @@ public class DealService {
             throw new RuntimeException("Member ID is required");
         }
         
-        Organization organization = organizationRepository.findById(dealDto.getOrgId())
-                .orElseThrow(() -> new RuntimeException("Organization not found"));
+        // From the verified token: proxies, no SELECT
+        Organization organization = organizationRepository.getReferenceById(dealDto.getOrgId());
         
-        Member member = memberRepository.findById(dealDto.getMemberId())
-                .orElseThrow(() -> new RuntimeException("Member not found"));
+        Member member = memberRepository.getReferenceById(dealDto.getMemberId());
         
         Account account = null;
         if (dealDto.getAccountId() != null) {
-            account = accountRepository.findById(dealDto.getAccountId())
-                    .orElseThrow(() -> new RuntimeException("Account not found"));
+            account = accountRepository.getReferenceInOrganization(dealDto.getAccountId(), dealDto.getOrgId());
         }
         
         Contact contact = null;
         if (dealDto.getContactId() != null) {
-            contact = contactRepository.findById(dealDto.getContactId())
-                    .orElseThrow(() -> new RuntimeException("Contact not found"));
+            contact = contactRepository.getReferenceInOrganization(dealDto.getContactId(), dealDto.getOrgId());
         }
         
         Deal deal = new Deal();
@@ -81,7 +114,13 @@ public class DealService {
         deal.setContact(contact);
         
         Deal savedDeal = dealRepository.save(deal);
-        return convertToDto(savedDeal);
+        dashboardRollupService.dealCreated(savedDeal);
+        changeVersionService.bump(organization.getOrgId(), EntityType.DEAL);
+        DealDto created = convertToDto(savedDeal);
+        recordEvent(created, DealEvent.EventType.CREATED, null);
+        searchIndexService.index(organization.getOrgId(), created);
+        liveEventService.publish(organization.getOrgId(), EntityType.DEAL, Action.CREATED, created.getDealId());
+        return created;
     }
     
     @Transactional(readOnly = true)
@@ -89,10 +128,31 @@ public class DealService {
         Organization organization = organizationRepository.findById(orgId)
                 .orElseThrow(() -> new RuntimeException("Organization not found"));
         
-        return dealRepository.findByOrganizationWithRelations(organization)
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return dealRepository.findDtosByOrganization(organization);
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<DealDto> getDealsPageByOrganization(Long orgId, String cursor, Integer limit) {
+        Organization organization = organizationRepository.findById(orgId)
+                .orElseThrow(() -> new RuntimeException("Organization not found"));
+        
+        int pageSize = PageCursor.clampLimit(limit);
+        PageCursor after = PageCursor.decode(cursor);
+        List<DealDto> rows = after == null
+                ? dealRepository.findFirstPageByOrganization(organization, PageCursor.pageRequest(pageSize))
+                : dealRepository.findPageByOrganizationAfter(organization, after.getCreatedAt(), after.getId(),
+                        PageCursor.pageRequest(pageSize));
+        return PageCursor.toPage(rows, pageSize, DealDto::getCreatedAt, DealDto::getDealId, Function.identity());
+    }
+    
+    /**
+     * Filtered, sorted page of deals; only the requested page is read from the database.
+     */
+    @Transactional(readOnly = true)
+    public SearchPage<DealDto> searchDeals(Long orgId, DealFilter filter, Pageable pageable) {
+        Pageable page = SearchSpecifications.restrictSort(pageable, Sort.by(Sort.Direction.DESC, "createdAt", "dealId"),
+                "createdAt", "dealName", "dealValue", "dealStage", "expectedCloseDate");
+        return SearchPage.of(dealRepository.findAll(SearchSpecifications.deals(orgId, filter), page), this::convertToDto);
     }
     
     @Transactional(readOnly = true)
@@ -109,10 +169,7 @@ public class DealService {
             throw new RuntimeException("Member does not belong to this organization");
         }
 
-        return dealRepository.findByMemberWithRelations(member)
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return dealRepository.findDtosByMember(member);
     }
 
     /**
@@ -136,42 +193,35 @@ public class DealService {
         }
 
         String roleName = member.getRole() != null ? member.getRole().getRoleName() : null;
-        List<Deal> deals;
 
         if (roleName != null && roleName.equalsIgnoreCase("User")) {
             // Portal/customer user: match deals via contact/account email
-            deals = dealRepository.findByOrganizationAndPartyEmail(organization, member.getEmail());
-        } else {
-            // Internal CRM users: deals they own
-            deals = dealRepository.findByMemberWithRelations(member);
+            return dealRepository.findDtosByOrganizationAndPartyEmail(organization, member.getEmail());
         }
-
-        return deals.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        // Internal CRM users: deals they own
+        return dealRepository.findDtosByMember(member);
     }
     
     @Transactional(readOnly = true)
     public DealDto getDealById(Long dealId) {
-        Deal deal = dealRepository.findByIdWithRelations(dealId);
+        DealDto deal = dealRepository.findDtoById(dealId);
         if (deal == null) {
             throw new RuntimeException("Deal not found");
         }
-        return convertToDto(deal);
+        return deal;
     }
 
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getMonthlySummary(Long orgId) {
-        Organization organization = organizationRepository.findById(orgId)
-                .orElseThrow(() -> new RuntimeException("Organization not found"));
-
-        List<Object[]> rows = dealRepository.findMonthlyDealSummaryByOrganization(organization);
+        // Served from the pre-aggregated rollups, not a GROUP BY over the deals table
+        List<DashboardRollup> rollups = dashboardRollupService.getRollups(orgId, DashboardRollup.Metric.DEALS_CREATED);
         List<Map<String, Object>> result = new ArrayList<>();
-        for (Object[] r : rows) {
+        for (DashboardRollup rollup : rollups) {
+            YearMonth month = YearMonth.parse(rollup.getBucket());
             Map<String, Object> row = new HashMap<>();
-            row.put("year", ((Number) r[0]).intValue());
-            row.put("month", ((Number) r[1]).intValue());
-            row.put("dealCount", ((Number) r[2]).intValue());
+            row.put("year", month.getYear());
+            row.put("month", month.getMonthValue());
+            row.put("dealCount", (int) rollup.getItemCount());
             result.add(row);
         }
         return result;
@@ -179,23 +229,25 @@ public class DealService {
 
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getStageDistribution(Long orgId) {
-        Organization organization = organizationRepository.findById(orgId)
-                .orElseThrow(() -> new RuntimeException("Organization not found"));
-
-        List<Object[]> rows = dealRepository.findDealStageDistributionByOrganization(organization);
+        List<DashboardRollup> rollups = dashboardRollupService.getRollups(orgId, DashboardRollup.Metric.DEAL_STAGE);
         List<Map<String, Object>> result = new ArrayList<>();
-        for (Object[] r : rows) {
+        for (DashboardRollup rollup : rollups) {
             Map<String, Object> row = new HashMap<>();
-            row.put("stage", r[0]);
-            row.put("count", ((Number) r[1]).intValue());
+            row.put("stage", rollup.getBucket());
+            row.put("count", (int) rollup.getItemCount());
+            row.put("pipelineValue", rollup.getTotalValue());
             result.add(row);
         }
         return result;
     }
     
+    @Transactional
     public DealDto updateDeal(Long dealId, DealDto dealDto) {
         Deal deal = dealRepository.findById(dealId)
                 .orElseThrow(() -> new RuntimeException("Deal not found"));
+        PartialUpdateService.checkVersion(Deal.class, dealId, dealDto.getVersion(), deal.getVersion());
+        String previousStage = deal.getDealStage();
+        BigDecimal previousValue = deal.getDealValue();
         
         deal.setDealName(dealDto.getDealName());
         deal.setDescription(dealDto.getDescription());
@@ -205,30 +257,110 @@ public class DealService {
         deal.setActualCloseDate(dealDto.getActualCloseDate());
         deal.setProbability(dealDto.getProbability());
         
+        Long orgId = deal.getOrganization().getOrgId();
         if (dealDto.getAccountId() != null) {
-            Account account = accountRepository.findById(dealDto.getAccountId())
-                    .orElseThrow(() -> new RuntimeException("Account not found"));
+            Account account = accountRepository.getReferenceInOrganization(dealDto.getAccountId(), orgId);
             deal.setAccount(account);
         }
         
         if (dealDto.getContactId() != null) {
-            Contact contact = contactRepository.findById(dealDto.getContactId())
-                    .orElseThrow(() -> new RuntimeException("Contact not found"));
+            Contact contact = contactRepository.getReferenceInOrganization(dealDto.getContactId(), orgId);
             deal.setContact(contact);
         }
         
-        Deal savedDeal = dealRepository.save(deal);
-        return convertToDto(savedDeal);
+        Deal savedDeal = dealRepository.saveAndFlush(deal);
+        dashboardRollupService.dealChanged(savedDeal, previousStage, previousValue);
+        changeVersionService.bump(deal.getOrganization().getOrgId(), EntityType.DEAL);
+        DealDto updated = convertToDto(savedDeal);
+        if (!Objects.equals(previousStage, updated.getDealStage())) {
+            recordEvent(updated, DealEvent.EventType.STAGE_CHANGED, previousStage);
+        }
+        searchIndexService.index(updated.getOrgId(), updated);
+        liveEventService.publish(updated.getOrgId(), EntityType.DEAL, Action.UPDATED, dealId);
+        return updated;
     }
     
-    public void deleteDeal(Long dealId) {
-        if (!dealRepository.existsById(dealId)) {
-            throw new RuntimeException("Deal not found");
+    /**
+     * Changes only the non-null fields of the patch, provided the deal is still
+     * at patch.version. Patching the stage or value also reads the current ones
+     * first, for the rollup deltas; they belong to patch.version, and the
+     * UPDATE only succeeds if the deal is still at that version.
+     */
+    @Transactional
+    public DealDto patchDeal(Long orgId, Long dealId, DealDto patch) {
+        partialUpdateService.validate(patch);
+        Map<String, Object> changes = new LinkedHashMap<>();
+        if (patch.getDealName() != null) {
+            changes.put("dealName", patch.getDealName());
+        }
+        if (patch.getDescription() != null) {
+            changes.put("description", patch.getDescription());
+        }
+        if (patch.getDealValue() != null) {
+            changes.put("dealValue", patch.getDealValue());
+        }
+        if (patch.getDealStage() != null) {
+            changes.put("dealStage", patch.getDealStage());
+        }
+        if (patch.getExpectedCloseDate() != null) {
+            changes.put("expectedCloseDate", patch.getExpectedCloseDate());
+        }
+        if (patch.getActualCloseDate() != null) {
+            changes.put("actualCloseDate", patch.getActualCloseDate());
         }
-        dealRepository.deleteById(dealId);
+        if (patch.getProbability() != null) {
+            changes.put("probability", patch.getProbability());
+        }
+        if (patch.getAccountId() != null) {
+            changes.put("account", accountRepository.getReferenceInOrganization(patch.getAccountId(), orgId));
+        }
+        if (patch.getContactId() != null) {
+            changes.put("contact", contactRepository.getReferenceInOrganization(patch.getContactId(), orgId));
+        }
+        
+        String previousStage = null;
+        List<Object[]> previous = patch.getDealStage() != null || patch.getDealValue() != null
+                ? dealRepository.findStageAndValue(orgId, dealId)
+                : List.of();
+        if (!previous.isEmpty()) {
+            PartialUpdateService.checkVersion(Deal.class, dealId, patch.getVersion(), (Long) previous.get(0)[2]);
+        }
+        partialUpdateService.update(Deal.class, "dealId", orgId, dealId, patch.getVersion(), changes);
+        if (!previous.isEmpty()) {
+            previousStage = (String) previous.get(0)[0];
+            BigDecimal previousValue = (BigDecimal) previous.get(0)[1];
+            dashboardRollupService.dealChanged(orgId, previousStage, previousValue,
+                    patch.getDealStage() != null ? patch.getDealStage() : previousStage,
+                    patch.getDealValue() != null ? patch.getDealValue() : previousValue);
+        }
+        changeVersionService.bump(orgId, EntityType.DEAL);
+        DealDto patched = dealRepository.findDtoById(dealId);
+        if (patch.getDealStage() != null && !patch.getDealStage().equals(previousStage)) {
+            recordEvent(patched, DealEvent.EventType.STAGE_CHANGED, previousStage);
+        }
+        searchIndexService.index(orgId, patched);
+        liveEventService.publish(orgId, EntityType.DEAL, Action.UPDATED, dealId);
+        return patched;
+    }
+    
+    @Transactional
+    public void deleteDeal(Long dealId) {
+        Deal deal = dealRepository.findById(dealId)
+                .orElseThrow(() -> new RuntimeException("Deal not found"));
+        dashboardRollupService.dealDeleted(deal);
+        dealRepository.delete(deal);
+        changeVersionService.bump(deal.getOrganization().getOrgId(), EntityType.DEAL);
+        searchIndexService.remove(deal.getOrganization().getOrgId(), EntityType.DEAL, dealId);
+        liveEventService.publish(deal.getOrganization().getOrgId(), EntityType.DEAL, Action.DELETED, dealId);
+    }
+    
+    // Timeline entry, filed under the account and contact the deal has now
+    private void recordEvent(DealDto deal, DealEvent.EventType eventType, String fromStage) {
+        dealEventRepository.save(new DealEvent(deal.getOrgId(), deal.getDealId(), deal.getAccountId(),
+                deal.getContactId(), eventType, fromStage, deal.getDealStage(), deal.getDealValue()));
     }
     
-    private DealDto convertToDto(Deal deal) {
+    DealDto convertToDto(Deal deal) {
         DealDto dto = new DealDto();
         dto.setDealId(deal.getDealId());
         dto.setDealName(deal.getDealName());
@@ -244,6 +376,7 @@ public class DealService {
         dto.setContactId(deal.getContact() != null ? deal.getContact().getContactId() : null);
         dto.setCreatedAt(deal.getCreatedAt());
         dto.setUpdatedAt(deal.getUpdatedAt());
+        dto.setVersion(deal.getVersion());
         return dto;
     }
 }
@@ -0,0 +1,270 @@
+package com.crm.service;
+
+import com.crm.dto.AccountDto;
+import com.crm.dto.ContactDto;
+import com.crm.dto.DuplicateCluster;
+import com.crm.dto.DuplicateMatch;
+import com.crm.dto.DuplicateScanReport;
+import com.crm.dto.LeadDto;
+import com.crm.dto.SearchHit;
+import com.crm.entity.ChangeVersion.EntityType;
+import com.crm.repository.AccountRepository;
+import com.crm.repository.ContactRepository;
+import com.crm.repository.LeadRepository;
+import com.crm.service.SearchIndexService.DuplicateBlocks;
+import com.crm.util.DuplicateFingerprint;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Finds leads, contacts and accounts that are likely the same person or
+ * company, from the blocking keys kept in the search index (see
+ * DuplicateFingerprint). Looking up one record scores only the records that
+ * share a key with it; a scan scores every pair within each shared key,
+ * blocks in parallel on a fork-join pool.
+ */
+@Service
+public class DuplicateDetectionService {
+
+    private static final Logger log = LoggerFactory.getLogger(DuplicateDetectionService.class);
+
+    public static final Set<EntityType> TYPES = EnumSet.of(EntityType.ACCOUNT, EntityType.CONTACT, EntityType.LEAD);
+
+    public static final int MAX_LIMIT = 50;
+    public static final int MAX_CLUSTERS = 1000;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private LeadRepository leadRepository;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Value("${app.duplicates.min-score:0.6}")
+    private double minScore;
+
+    @Value("${app.duplicates.candidates:100}")
+    private int maxCandidates;
+
+    @Value("${app.duplicates.max-block-size:500}")
+    private int maxBlockSize;
+
+    @Value("${app.duplicates.scan-parallelism:0}")
+    private int scanParallelism;
+
+    private ForkJoinPool scanPool;
+
+    @PostConstruct
+    void startScanPool() {
+        scanPool = new ForkJoinPool(scanParallelism > 0 ? scanParallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    void stopScanPool() {
+        scanPool.shutdownNow();
+    }
+
+    /**
+     * Likely duplicates of an existing record, strongest first.
+     */
+    @Transactional(readOnly = true)
+    public List<DuplicateMatch> findDuplicatesOf(Long orgId, EntityType type, Long id, int limit) {
+        return findMatches(orgId, type, fingerprintOf(orgId, type, id), id, limit);
+    }
+
+    /**
+     * Likely duplicates of a record about to be created from these values.
+     */
+    public List<DuplicateMatch> findDuplicates(Long orgId, EntityType type, String name, String email, String phone,
+                                               int limit) {
+        return findMatches(orgId, type, DuplicateFingerprint.of(name, email, phone), null, limit);
+    }
+
+    /**
+     * The best match for an import row, or null. Imports go ahead without
+     * checks while the organization's search index is still being built.
+     */
+    public DuplicateMatch bestMatch(Long orgId, EntityType type, DuplicateFingerprint fingerprint) {
+        if (!searchIndexService.isSearchable(orgId)) {
+            return null;
+        }
+        List<DuplicateMatch> matches = findMatches(orgId, type, fingerprint, null, 1);
+        return matches.isEmpty() ? null : matches.get(0);
+    }
+
+    public DuplicateScanReport scan(Long orgId, EntityType type, int limit) {
+        checkType(type);
+        long started = System.nanoTime();
+        DuplicateBlocks blocks = searchIndexService.duplicateBlocks(orgId, type, maxBlockSize);
+        List<DuplicateFingerprint> fingerprints = blocks.fingerprints;
+
+        // Pair (lower position << 32 | higher position) -> score; a pair in several blocks is scored once per block
+        Map<Long, Double> pairs = new ConcurrentHashMap<>();
+        LongAdder comparisons = new LongAdder();
+        try {
+            scanPool.submit(() -> blocks.blocks.parallelStream().forEach(block -> {
+                for (int i = 0; i < block.length; i++) {
+                    DuplicateFingerprint left = fingerprints.get(block[i]);
+                    for (int j = i + 1; j < block.length; j++) {
+                        double score = left.score(fingerprints.get(block[j]));
+                        if (score >= minScore) {
+                            long pair = ((long) Math.min(block[i], block[j]) << 32) | Math.max(block[i], block[j]);
+                            pairs.merge(pair, score, Math::max);
+                        }
+                    }
+                    comparisons.add(block.length - 1 - i);
+                }
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Duplicate scan interrupted");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Duplicate scan failed: " + e.getCause().getMessage(), e.getCause());
+        }
+
+        List<Cluster> clusters = cluster(blocks.ids, pairs);
+        int shown = Math.max(1, Math.min(limit, MAX_CLUSTERS));
+        List<Cluster> listed = clusters.subList(0, Math.min(shown, clusters.size()));
+        // Titles only for the clusters listed; records deleted since the scan read the index drop out
+        Map<Long, SearchHit> hits = searchIndexService.hits(orgId, type,
+                listed.stream().flatMap(cluster -> cluster.ids.stream()).collect(Collectors.toSet()));
+        DuplicateScanReport report = new DuplicateScanReport();
+        report.setType(type.name());
+        report.setRecords(blocks.ids.length);
+        report.setBlocks(blocks.blocks.size());
+        report.setComparisons(comparisons.sum());
+        report.setClusterCount(clusters.size());
+        for (Cluster cluster : listed) {
+            List<SearchHit> records = cluster.ids.stream()
+                    .map(hits::get)
+                    .filter(Objects::nonNull)
+                    .sorted(Comparator.comparing(SearchHit::getId))
+                    .collect(Collectors.toList());
+            if (records.size() >= 2) {
+                report.getClusters().add(new DuplicateCluster(cluster.score, records));
+            }
+        }
+        report.setClustersTruncated(clusters.size() > shown);
+        report.setTookMs((System.nanoTime() - started) / 1_000_000);
+        log.info("Duplicate scan of {} in organization {}: {} clusters from {} comparisons in {} ms",
+                type, orgId, clusters.size(), report.getComparisons(), report.getTookMs());
+        return report;
+    }
+
+    private List<DuplicateMatch> findMatches(Long orgId, EntityType type, DuplicateFingerprint fingerprint,
+                                             Long excludeId, int limit) {
+        checkType(type);
+        if (fingerprint.isEmpty()) {
+            return List.of();
+        }
+        return searchIndexService.duplicateCandidates(orgId, type, fingerprint, maxCandidates).stream()
+                .filter(candidate -> !Objects.equals(candidate.hit.getId(), excludeId))
+                .map(candidate -> new DuplicateMatch(candidate.hit, fingerprint.score(candidate.fingerprint)))
+                .filter(match -> match.getScore() >= minScore)
+                .sorted(Comparator.comparingDouble(DuplicateMatch::getScore).reversed())
+                .limit(Math.max(1, Math.min(limit, MAX_LIMIT)))
+                .collect(Collectors.toList());
+    }
+
+    private DuplicateFingerprint fingerprintOf(Long orgId, EntityType type, Long id) {
+        switch (type) {
+            case LEAD: {
+                LeadDto lead = leadRepository.findDtoById(id);
+                if (lead == null || !orgId.equals(lead.getOrgId())) {
+                    throw new RuntimeException("Lead not found");
+                }
+                return DuplicateFingerprint.of(lead.getLeadName(), lead.getLeadEmail(), lead.getPhone());
+            }
+            case CONTACT: {
+                ContactDto contact = contactRepository.findDtoById(id);
+                if (contact == null || !orgId.equals(contact.getOrgId())) {
+                    throw new RuntimeException("Contact not found");
+                }
+                return DuplicateFingerprint.of(contact.getContactName(), contact.getContactEmail(), contact.getPhone());
+            }
+            case ACCOUNT: {
+                AccountDto account = accountRepository.findDtoById(id);
+                if (account == null || !orgId.equals(account.getOrgId())) {
+                    throw new RuntimeException("Account not found");
+                }
+                return DuplicateFingerprint.of(account.getAccountName(), account.getEmail(), account.getPhone());
+            }
+            default:
+                throw new IllegalArgumentException("Duplicate detection covers " + TYPES);
+        }
+    }
+
+    // Connected components of the matched pairs (union-find), strongest first
+    private static List<Cluster> cluster(long[] ids, Map<Long, Double> pairs) {
+        int[] parent = new int[ids.length];
+        for (int i = 0; i < parent.length; i++) {
+            parent[i] = i;
+        }
+        for (long pair : pairs.keySet()) {
+            int a = root(parent, (int) (pair >>> 32));
+            int b = root(parent, (int) pair);
+            if (a != b) {
+                parent[Math.max(a, b)] = Math.min(a, b);
+            }
+        }
+        Map<Integer, Cluster> clusters = new HashMap<>();
+        pairs.forEach((pair, score) -> {
+            Cluster cluster = clusters.computeIfAbsent(root(parent, (int) (pair >>> 32)), root -> new Cluster());
+            cluster.score = Math.max(cluster.score, score);
+        });
+        for (int i = 0; i < parent.length; i++) {
+            Cluster cluster = clusters.get(root(parent, i));
+            if (cluster != null) {
+                cluster.ids.add(ids[i]);
+            }
+        }
+        return clusters.values().stream()
+                .sorted(Comparator.comparingDouble((Cluster cluster) -> cluster.score).reversed()
+                        .thenComparing(cluster -> -cluster.ids.size()))
+                .collect(Collectors.toList());
+    }
+
+    private static int root(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static final class Cluster {
+        private final List<Long> ids = new ArrayList<>();
+        private double score;
+    }
+
+    private static void checkType(EntityType type) {
+        if (!TYPES.contains(type)) {
+            throw new IllegalArgumentException("Duplicate detection covers " + TYPES);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.crm.service;
+
+import com.crm.entity.OutboundEmail;
+import com.crm.repository.OutboundEmailRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the email outbox. Each pass claims a batch of due rows, sends them
+ * over one SMTP connection outside any transaction, then records the outcome:
+ * SENT, or a retry with exponential backoff until max-attempts marks it FAILED.
+ * The pending count is published as crm.mail.outbox.pending after each pass.
+ */
+@Service
+public class EmailOutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    // A claimed row becomes due again after this long if the instance dies mid-send
+    private static final Duration CLAIM_LEASE = Duration.ofMinutes(5);
+
+    @Autowired
+    private OutboundEmailRepository outboundEmailRepository;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private JavaMailSender mailSender;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.mail.outbox.initial-backoff:30s}")
+    private Duration initialBackoff;
+
+    @Value("${app.mail.outbox.max-backoff:1h}")
+    private Duration maxBackoff;
+
+    private final AtomicLong pending = new AtomicLong();
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("crm.mail.outbox.pending", pending, AtomicLong::get)
+                .description("Emails waiting for delivery or retry, as of the last dispatcher pass")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval-ms:5000}")
+    public void dispatch() {
+        List<OutboundEmail> batch;
+        do {
+            batch = claimBatch();
+            if (!batch.isEmpty()) {
+                List<Long> ids = batch.stream().map(OutboundEmail::getEmailId).collect(Collectors.toList());
+                recordOutcomes(ids, send(batch));
+            }
+        } while (batch.size() == batchSize);
+        pending.set(outboundEmailRepository.countByStatus(OutboundEmail.Status.PENDING));
+    }
+
+    /**
+     * Queue depth by status plus the age of the oldest pending email.
+     */
+    public Map<String, Object> getQueueStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (OutboundEmail.Status status : OutboundEmail.Status.values()) {
+            stats.put(status.name().toLowerCase(), outboundEmailRepository.countByStatus(status));
+        }
+        OffsetDateTime oldestPending = outboundEmailRepository.findOldestCreatedAtByStatus(OutboundEmail.Status.PENDING);
+        stats.put("oldestPendingAgeSeconds", oldestPending != null
+                ? Duration.between(oldestPending, OffsetDateTime.now(ZoneOffset.UTC)).getSeconds()
+                : 0);
+        return stats;
+    }
+
+    private List<OutboundEmail> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+            List<OutboundEmail> due = outboundEmailRepository.findDueForUpdate(OutboundEmail.Status.PENDING, now, PageRequest.of(0, batchSize));
+            for (OutboundEmail email : due) {
+                email.setAttempts(email.getAttempts() + 1);
+                email.setNextAttemptAt(now.plus(CLAIM_LEASE));
+            }
+            return due;
+        });
+    }
+
+    // Returns the failure per email id; absent ids were delivered
+    private Map<Long, Exception> send(List<OutboundEmail> batch) {
+        Map<Long, Exception> failures = new HashMap<>();
+        Map<MimeMessage, Long> ids = new LinkedHashMap<>();
+        for (OutboundEmail email : batch) {
+            try {
+                ids.put(emailService.toMimeMessage(email), email.getEmailId());
+            } catch (Exception e) {
+                failures.put(email.getEmailId(), e);
+            }
+        }
+        if (ids.isEmpty()) {
+            return failures;
+        }
+        try {
+            // JavaMailSenderImpl opens one connection for the whole array
+            mailSender.send(ids.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                ids.values().forEach(id -> failures.put(id, e));
+            }
+            e.getFailedMessages().forEach((message, cause) -> failures.put(ids.get(message), cause));
+        } catch (MailException e) {
+            ids.values().forEach(id -> failures.put(id, e));
+        }
+        return failures;
+    }
+
+    private void recordOutcomes(List<Long> ids, Map<Long, Exception> failures) {
+        transactionTemplate.executeWithoutResult(status -> {
+            OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+            for (OutboundEmail email : outboundEmailRepository.findAllById(ids)) {
+                Exception failure = failures.get(email.getEmailId());
+                if (failure == null) {
+                    email.setStatus(OutboundEmail.Status.SENT);
+                    email.setSentAt(now);
+                    email.setLastError(null);
+                } else if (email.getAttempts() >= maxAttempts) {
+                    email.setStatus(OutboundEmail.Status.FAILED);
+                    email.setLastError(truncate(failure.getMessage()));
+                    log.error("Email {} failed permanently after {} attempts: {}",
+                            email.getEmailId(), email.getAttempts(), failure.getMessage());
+                } else {
+                    email.setNextAttemptAt(now.plus(backoff(email.getAttempts())));
+                    email.setLastError(truncate(failure.getMessage()));
+                    log.warn("Email {} attempt {} failed, retrying: {}",
+                            email.getEmailId(), email.getAttempts(), failure.getMessage());
+                }
+            }
+        });
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
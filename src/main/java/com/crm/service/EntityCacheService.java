@@ -0,0 +1,73 @@
+package com.crm.service;
+
+import com.crm.entity.Member;
+import com.crm.entity.Organization;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Eviction and statistics for the Hibernate second-level cache regions
+ * (organizations, roles, members).
+ */
+@Service
+public class EntityCacheService {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public EntityCacheService(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public void evictMember(Long memberId) {
+        evictAfterCommit(Member.class, memberId);
+    }
+
+    public void evictOrganization(Long orgId) {
+        evictAfterCommit(Organization.class, orgId);
+    }
+
+    /**
+     * Hit/miss counters per cache region since startup.
+     */
+    public Map<String, Map<String, Object>> getRegionStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region == null) {
+                continue;
+            }
+            long hits = region.getHitCount();
+            long misses = region.getMissCount();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("hits", hits);
+            row.put("misses", misses);
+            row.put("puts", region.getPutCount());
+            row.put("hitRatio", hits + misses > 0 ? (double) hits / (hits + misses) : 0.0);
+            result.put(regionName, row);
+        }
+        return result;
+    }
+
+    // Evicting after commit keeps a concurrent reader from re-caching the pre-update row
+    private void evictAfterCommit(Class<?> entityClass, Object id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entityManagerFactory.getCache().evict(entityClass, id);
+                }
+            });
+        } else {
+            entityManagerFactory.getCache().evict(entityClass, id);
+        }
+    }
+}
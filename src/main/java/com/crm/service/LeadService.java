@@ -1,20 +1,33 @@
 package com.crm.service;
 
+import com.crm.dto.CursorPage;
 import com.crm.dto.LeadDto;
+import com.crm.dto.LeadFilter;
+import com.crm.dto.LiveEvent.Action;
+import com.crm.dto.SearchPage;
+import com.crm.entity.ChangeVersion.EntityType;
+import com.crm.entity.DashboardRollup;
 import com.crm.entity.Lead;
 import com.crm.entity.Member;
 import com.crm.entity.Organization;
 import com.crm.repository.LeadRepository;
 import com.crm.repository.MemberRepository;
 import com.crm.repository.OrganizationRepository;
+import com.crm.repository.SearchSpecifications;
+import com.crm.util.PageCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,6 +42,21 @@ public class LeadService {
     @Autowired
     private MemberRepository memberRepository;
     
+    @Autowired
+    private DashboardRollupService dashboardRollupService;
+    
+    @Autowired
+    private ChangeVersionService changeVersionService;
+    
+    @Autowired
+    private PartialUpdateService partialUpdateService;
+    
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private LiveEventService liveEventService;
+    
     @Transactional
     public LeadDto createLead(LeadDto leadDto) {
         // Validate that orgId and memberId are provided (auto-populated by controller)
@@ -39,11 +67,9 @@ public class LeadService {
             throw new RuntimeException("Member ID is required");
         }
         
-        Organization organization = organizationRepository.findById(leadDto.getOrgId())
-                .orElseThrow(() -> new RuntimeException("Organization not found"));
+        Organization organization = organizationRepository.getReferenceById(leadDto.getOrgId());
         
-        Member member = memberRepository.findById(leadDto.getMemberId())
-                .orElseThrow(() -> new RuntimeException("Member not found"));
+        Member member = memberRepository.getReferenceById(leadDto.getMemberId());
         
         Lead lead = new Lead();
         lead.setLeadName(leadDto.getLeadName());
@@ -54,7 +80,12 @@ public class LeadService {
         lead.setMember(member);
         
         Lead savedLead = leadRepository.save(lead);
-        return convertToDto(savedLead);
+        dashboardRollupService.leadsCreated(leadDto.getOrgId(), List.of(savedLead));
+        changeVersionService.bump(leadDto.getOrgId(), EntityType.LEAD);
+        LeadDto created = convertToDto(savedLead);
+        searchIndexService.index(leadDto.getOrgId(), created);
+        liveEventService.publish(leadDto.getOrgId(), EntityType.LEAD, Action.CREATED, created.getLeadId());
+        return created;
     }
     
     @Transactional(readOnly = true)
@@ -62,10 +93,31 @@ public class LeadService {
         Organization organization = organizationRepository.findById(orgId)
                 .orElseThrow(() -> new RuntimeException("Organization not found"));
         
-        return leadRepository.findByOrganizationWithRelations(organization)
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return leadRepository.findDtosByOrganization(organization);
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<LeadDto> getLeadsPageByOrganization(Long orgId, String cursor, Integer limit) {
+        Organization organization = organizationRepository.findById(orgId)
+                .orElseThrow(() -> new RuntimeException("Organization not found"));
+        
+        int pageSize = PageCursor.clampLimit(limit);
+        PageCursor after = PageCursor.decode(cursor);
+        List<LeadDto> rows = after == null
+                ? leadRepository.findFirstPageByOrganization(organization, PageCursor.pageRequest(pageSize))
+                : leadRepository.findPageByOrganizationAfter(organization, after.getCreatedAt(), after.getId(),
+                        PageCursor.pageRequest(pageSize));
+        return PageCursor.toPage(rows, pageSize, LeadDto::getCreatedAt, LeadDto::getLeadId, Function.identity());
+    }
+    
+    /**
+     * Filtered, sorted page of leads; only the requested page is read from the database.
+     */
+    @Transactional(readOnly = true)
+    public SearchPage<LeadDto> searchLeads(Long orgId, LeadFilter filter, Pageable pageable) {
+        Pageable page = SearchSpecifications.restrictSort(pageable, Sort.by(Sort.Direction.DESC, "createdAt", "leadId"),
+                "createdAt", "leadName", "isVerified");
+        return SearchPage.of(leadRepository.findAll(SearchSpecifications.leads(orgId, filter), page), this::convertToDto);
     }
     
     @Transactional(readOnly = true)
@@ -73,25 +125,23 @@ public class LeadService {
         Member member = memberRepository.findById(memberId)
                 .orElseThrow(() -> new RuntimeException("Member not found"));
         
-        return leadRepository.findByMemberWithRelations(member)
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return leadRepository.findDtosByMember(member);
     }
     
     @Transactional(readOnly = true)
     public LeadDto getLeadById(Long leadId) {
-        Lead lead = leadRepository.findByIdWithRelations(leadId);
+        LeadDto lead = leadRepository.findDtoById(leadId);
         if (lead == null) {
             throw new RuntimeException("Lead not found");
         }
-        return convertToDto(lead);
+        return lead;
     }
     
     @Transactional
     public LeadDto updateLead(Long leadId, LeadDto leadDto) {
         Lead lead = leadRepository.findById(leadId)
                 .orElseThrow(() -> new RuntimeException("Lead not found"));
+        PartialUpdateService.checkVersion(Lead.class, leadId, leadDto.getVersion(), lead.getVersion());
         
         lead.setLeadName(leadDto.getLeadName());
         lead.setLeadEmail(leadDto.getLeadEmail());
@@ -101,16 +151,53 @@ public class LeadService {
             lead.setIsVerified(leadDto.getIsVerified());
         }
         
-        Lead savedLead = leadRepository.save(lead);
-        return convertToDto(savedLead);
+        // Flushed so the response carries the incremented version
+        Lead savedLead = leadRepository.saveAndFlush(lead);
+        changeVersionService.bump(lead.getOrganization().getOrgId(), EntityType.LEAD);
+        LeadDto updated = convertToDto(savedLead);
+        searchIndexService.index(updated.getOrgId(), updated);
+        liveEventService.publish(updated.getOrgId(), EntityType.LEAD, Action.UPDATED, leadId);
+        return updated;
     }
     
+    /**
+     * Changes only the non-null fields of the patch, provided the lead is still
+     * at patch.version.
+     */
     @Transactional
-    public void deleteLead(Long leadId) {
-        if (!leadRepository.existsById(leadId)) {
-            throw new RuntimeException("Lead not found");
+    public LeadDto patchLead(Long orgId, Long leadId, LeadDto patch) {
+        partialUpdateService.validate(patch);
+        Map<String, Object> changes = new LinkedHashMap<>();
+        if (patch.getLeadName() != null) {
+            changes.put("leadName", patch.getLeadName());
         }
-        leadRepository.deleteById(leadId);
+        if (patch.getLeadEmail() != null) {
+            changes.put("leadEmail", patch.getLeadEmail());
+        }
+        if (patch.getPhone() != null) {
+            changes.put("phone", patch.getPhone());
+        }
+        if (patch.getIsVerified() != null) {
+            changes.put("isVerified", patch.getIsVerified());
+        }
+        partialUpdateService.update(Lead.class, "leadId", orgId, leadId, patch.getVersion(), changes);
+        changeVersionService.bump(orgId, EntityType.LEAD);
+        LeadDto patched = leadRepository.findDtoById(leadId);
+        searchIndexService.index(orgId, patched);
+        liveEventService.publish(orgId, EntityType.LEAD, Action.UPDATED, leadId);
+        return patched;
+    }
+    
+    @Transactional
+    public void deleteLead(Long leadId) {
+        Lead lead = leadRepository.findById(leadId)
+                .orElseThrow(() -> new RuntimeException("Lead not found"));
+        dashboardRollupService.leadDeleted(lead);
+        leadRepository.delete(lead);
+        // The lead's activities go with it
+        changeVersionService.bump(lead.getOrganization().getOrgId(), EntityType.LEAD, EntityType.ACTIVITY);
+        searchIndexService.remove(lead.getOrganization().getOrgId(), EntityType.LEAD, leadId);
+        liveEventService.publish(lead.getOrganization().getOrgId(), EntityType.LEAD, Action.DELETED, leadId);
     }
     
     @Transactional
@@ -119,22 +206,25 @@ public class LeadService {
                 .orElseThrow(() -> new RuntimeException("Lead not found"));
         
         lead.setIsVerified(isVerified);
-        Lead savedLead = leadRepository.save(lead);
-        return convertToDto(savedLead);
+        Lead savedLead = leadRepository.saveAndFlush(lead);
+        changeVersionService.bump(lead.getOrganization().getOrgId(), EntityType.LEAD);
+        LeadDto updated = convertToDto(savedLead);
+        searchIndexService.index(updated.getOrgId(), updated);
+        liveEventService.publish(updated.getOrgId(), EntityType.LEAD, Action.UPDATED, leadId);
+        return updated;
     }
 
       @Transactional(readOnly = true)
     public List<Map<String, Object>> getMonthlySummary(Long orgId) {
-        Organization organization = organizationRepository.findById(orgId)
-                .orElseThrow(() -> new RuntimeException("Organization not found"));
-
-        List<Object[]> rows = leadRepository.findMonthlyLeadSummaryByOrganization(organization);
+        // Served from the pre-aggregated rollups, not a GROUP BY over the leads table
+        List<DashboardRollup> rollups = dashboardRollupService.getRollups(orgId, DashboardRollup.Metric.LEADS_CREATED);
         List<Map<String, Object>> result = new ArrayList<>();
-        for (Object[] r : rows) {
+        for (DashboardRollup rollup : rollups) {
+            YearMonth month = YearMonth.parse(rollup.getBucket());
             Map<String, Object> row = new HashMap<>();
-            row.put("year", ((Number) r[0]).intValue());
-            row.put("month", ((Number) r[1]).intValue());
-            row.put("leadCount", ((Number) r[2]).intValue());
+            row.put("year", month.getYear());
+            row.put("month", month.getMonthValue());
+            row.put("leadCount", (int) rollup.getItemCount());
             result.add(row);
         }
         return result;
@@ -151,7 +241,8 @@ public class LeadService {
             lead.getMember().getMemberId(),
             lead.getMember().getName(),
             lead.getCreatedAt(),
-            lead.getUpdatedAt()
+            lead.getUpdatedAt(),
+            lead.getVersion()
         );
     }
 }
@@ -0,0 +1,301 @@
+package com.crm.service;
+
+import com.crm.dto.LiveEvent;
+import com.crm.dto.LiveEvent.Action;
+import com.crm.entity.ChangeVersion.EntityType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server-sent events for /api/events: every committed create, update and
+ * delete made through the service layer, pushed to the subscribers of the
+ * organization it happened in.
+ *
+ * Write paths call {@link #publish} inside their transaction; the events are
+ * collected per transaction and fanned out in afterCommit, so a rolled-back
+ * write is never announced. Fan-out only serializes the event once and
+ * offers the frame to each subscriber's bounded queue; it never writes to a
+ * socket. A small sender pool drains the queues, at most one task per
+ * subscriber at a time. A subscriber whose queue is full is too slow to keep
+ * up and is disconnected; the client reconnects and refetches.
+ *
+ * Idle subscribers hold an async servlet request and a queue, not a thread.
+ * Events are delivered by the instance that made the write only.
+ */
+@Service
+public class LiveEventService {
+
+    private static final Logger log = LoggerFactory.getLogger(LiveEventService.class);
+
+    private static final MediaType FRAME_TYPE = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
+    // SSE comment line; keeps proxies from closing idle streams and surfaces dead clients
+    private static final Set<DataWithMediaType> HEARTBEAT = Set.of(new DataWithMediaType(":\n\n", FRAME_TYPE));
+
+    private final Map<Long, Set<Subscriber>> subscribersByOrg = new ConcurrentHashMap<>();
+
+    private final AtomicLong eventIds = new AtomicLong();
+
+    private final ObjectMapper objectMapper;
+
+    private final ExecutorService sender;
+
+    private final Counter published;
+
+    private final Counter evicted;
+
+    private final long timeoutMillis;
+
+    private final int bufferSize;
+
+    public LiveEventService(ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.events.send-threads:4}") int sendThreads,
+                            @Value("${app.events.buffer-size:64}") int bufferSize,
+                            @Value("${app.events.timeout-ms:1800000}") long timeoutMillis) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeoutMillis;
+        // Unbounded queue, but each subscriber has at most one drain task queued or running. Platform
+        // threads even in virtual-thread mode: SseEmitter.send writes to the socket inside a synchronized method
+        this.sender = ExecutorServiceMetrics.monitor(meterRegistry,
+                Executors.newFixedThreadPool(Math.max(1, sendThreads), new CustomizableThreadFactory("live-events-")),
+                "live.events");
+        this.published = Counter.builder("crm.events.published")
+                .description("Events fanned out to /api/events subscribers")
+                .register(meterRegistry);
+        this.evicted = Counter.builder("crm.events.evicted")
+                .description("Subscribers disconnected because their buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("crm.events.subscribers", subscribersByOrg,
+                        map -> map.values().stream().mapToInt(Set::size).sum())
+                .description("Open /api/events connections on this instance")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream for the organization. It ends after app.events.timeout-ms
+     * so that clients reconnect, and present their token again, regularly.
+     */
+    public SseEmitter subscribe(Long orgId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(orgId, emitter, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(subscriber::discard);
+        emitter.onError(error -> subscriber.discard());
+        // Completing here ends the stream normally instead of with an AsyncRequestTimeoutException
+        emitter.onTimeout(() -> {
+            subscriber.discard();
+            emitter.complete();
+        });
+        subscribersByOrg.computeIfAbsent(orgId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        // Commits the response headers straight away
+        subscriber.offer(HEARTBEAT);
+        return emitter;
+    }
+
+    public void publish(Long orgId, EntityType type, Action action, Long... ids) {
+        publish(orgId, type, action, Arrays.asList(ids));
+    }
+
+    public void publish(Long orgId, EntityType type, Action action, Collection<Long> ids) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dispatch(orgId, new LiveEvent(type, action, ids.stream().filter(Objects::nonNull).toList(), now()));
+            return;
+        }
+        PendingEvents pending = null;
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingEvents existing) {
+                pending = existing;
+            }
+        }
+        if (pending == null) {
+            pending = new PendingEvents();
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.add(orgId, type, action, ids);
+    }
+
+    // Ends the organization's streams, e.g. once it has been deleted
+    public void disconnect(Long orgId) {
+        Set<Subscriber> subscribers = subscribersByOrg.remove(orgId);
+        if (subscribers != null) {
+            subscribers.forEach(Subscriber::close);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.events.heartbeat-interval-ms:30000}")
+    public void heartbeat() {
+        subscribersByOrg.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.offer(HEARTBEAT)));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribersByOrg.values().forEach(subscribers -> subscribers.forEach(Subscriber::close));
+        sender.shutdown();
+    }
+
+    private void dispatch(Long orgId, LiveEvent event) {
+        Set<Subscriber> subscribers = subscribersByOrg.get(orgId);
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize {} {} event for organization {}", event.getType(), event.getAction(), orgId, e);
+            return;
+        }
+        // One frame shared by every subscriber
+        String frame = "id:" + eventIds.incrementAndGet() + "\nevent:" + event.getType().name().toLowerCase()
+                + "\ndata:" + json + "\n\n";
+        Set<DataWithMediaType> data = Set.of(new DataWithMediaType(frame, FRAME_TYPE));
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(data);
+        }
+        published.increment();
+    }
+
+    private static OffsetDateTime now() {
+        return OffsetDateTime.now(ZoneOffset.UTC);
+    }
+
+    private final class Subscriber {
+        private final Long orgId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscriber(Long orgId, SseEmitter emitter, BlockingQueue<Set<DataWithMediaType>> queue) {
+            this.orgId = orgId;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+
+        // Never blocks: the frame is queued or the subscriber is dropped
+        private void offer(Set<DataWithMediaType> frame) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(frame)) {
+                evicted.increment();
+                log.debug("Dropping slow /api/events subscriber in organization {}", orgId);
+                close();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        // Completes on a sender thread, after any write in progress, so callers never wait on the socket
+        private void close() {
+            closed = true;
+            remove();
+            scheduleDrain();
+        }
+
+        // The stream has ended on the container side
+        private void discard() {
+            closed = true;
+            remove();
+        }
+
+        private void remove() {
+            subscribersByOrg.computeIfPresent(orgId, (id, subscribers) -> {
+                subscribers.remove(this);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RuntimeException e) {
+                    // Sender already shut down
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Set<DataWithMediaType> frame;
+                while (!closed && (frame = queue.poll()) != null) {
+                    emitter.send(frame);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away or the stream already completed
+                discard();
+            } finally {
+                draining.set(false);
+            }
+            if (closed) {
+                queue.clear();
+                try {
+                    emitter.complete();
+                } catch (IllegalStateException e) {
+                    // Already completed by the container
+                }
+            } else if (!queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+
+    private final class PendingEvents implements TransactionSynchronization {
+
+        private record Key(Long orgId, EntityType type, Action action) {}
+
+        // Insertion order, so subscribers see changes in the order they were made
+        private final Map<Key, Set<Long>> ids = new LinkedHashMap<>();
+
+        private void add(Long orgId, EntityType type, Action action, Collection<Long> changed) {
+            Set<Long> set = ids.computeIfAbsent(new Key(orgId, type, action), key -> new LinkedHashSet<>());
+            changed.stream().filter(Objects::nonNull).forEach(set::add);
+        }
+
+        @Override
+        public void afterCommit() {
+            OffsetDateTime at = now();
+            ids.forEach((key, changed) ->
+                    dispatch(key.orgId(), new LiveEvent(key.type(), key.action(), List.copyOf(changed), at)));
+        }
+    }
+}
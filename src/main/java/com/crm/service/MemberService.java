@@ -1,10 +1,13 @@
 package com.crm.service;
 
 import com.crm.config.JwtConfig;
+import com.crm.dto.DeletionJobDto;
 import com.crm.dto.JwtResponse;
+import com.crm.dto.LiveEvent.Action;
 import com.crm.dto.LoginRequest;
 import com.crm.dto.MemberDto;
 import com.crm.dto.UserResponseDto;
+import com.crm.entity.ChangeVersion.EntityType;
 import com.crm.entity.Member;
 import com.crm.entity.Organization;
 import com.crm.entity.Role;
@@ -41,6 +44,18 @@ public class MemberService implements UserDetailsService {
     @Autowired
     private JwtConfig jwtConfig;
     
+    @Autowired
+    private EntityCacheService entityCacheService;
+    
+    @Autowired
+    private TenantDeletionService tenantDeletionService;
+    
+    @Autowired
+    private ChangeVersionService changeVersionService;
+
+    @Autowired
+    private LiveEventService liveEventService;
+    
     @Override
     @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
@@ -140,6 +155,8 @@ public class MemberService implements UserDetailsService {
         member.setRole(role);
         
         Member savedMember = memberRepository.save(member);
+        changeVersionService.bump(organization.getOrgId(), EntityType.MEMBER);
+        liveEventService.publish(organization.getOrgId(), EntityType.MEMBER, Action.CREATED, savedMember.getMemberId());
         return convertToDto(savedMember);
     }
     
@@ -149,12 +166,13 @@ public class MemberService implements UserDetailsService {
         
         return memberRepository.findByOrganization(organization)
                 .stream()
+                .filter(member -> !tenantDeletionService.isHidden(null, member.getMemberId()))
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
     
     public MemberDto getMemberById(Long memberId) {
-        Member member = memberRepository.findById(memberId)
+        Member member = memberRepository.findWithRoleAndOrganizationByMemberId(memberId)
                 .orElseThrow(() -> new RuntimeException("Member not found"));
         return convertToDto(member);
     }
@@ -166,8 +184,9 @@ public class MemberService implements UserDetailsService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional
     public MemberDto updateMember(Long memberId, MemberDto memberDto) {
-        Member member = memberRepository.findById(memberId)
+        Member member = memberRepository.findWithRoleAndOrganizationByMemberId(memberId)
                 .orElseThrow(() -> new RuntimeException("Member not found"));
         
         member.setName(memberDto.getName());
@@ -188,26 +207,43 @@ public class MemberService implements UserDetailsService {
         }
         
         Member savedMember = memberRepository.save(member);
+        entityCacheService.evictMember(memberId);
+        // Leads and contacts show the member's name
+        changeVersionService.bump(member.getOrganization().getOrgId(), EntityType.MEMBER);
+        liveEventService.publish(member.getOrganization().getOrgId(), EntityType.MEMBER, Action.UPDATED, memberId);
         return convertToDto(savedMember);
     }
     
-    public void deleteMember(Long memberId) {
-        if (!memberRepository.existsById(memberId)) {
-            throw new RuntimeException("Member not found");
+    /**
+     * Hides the member at once and queues the removal of the records they own;
+     * poll the returned job through getDeletionJob.
+     */
+    public DeletionJobDto deleteMember(Long orgId, Long memberId, Long requestedBy) {
+        return tenantDeletionService.deleteMember(orgId, memberId, requestedBy);
+    }
+    
+    public DeletionJobDto getDeletionJob(Long orgId, Long jobId) {
+        DeletionJobDto job = tenantDeletionService.getJob(jobId);
+        if (!orgId.equals(job.getOrgId()) || job.getMemberId() == null) {
+            throw new RuntimeException("Deletion job not found");
         }
-        memberRepository.deleteById(memberId);
+        return job;
     }
     
+    @Transactional
     public MemberDto updateMemberStatus(Long memberId, Member.MemberStatus status) {
-        Member member = memberRepository.findById(memberId)
+        Member member = memberRepository.findWithRoleAndOrganizationByMemberId(memberId)
                 .orElseThrow(() -> new RuntimeException("Member not found"));
         
         member.setStatus(status);
         Member savedMember = memberRepository.save(member);
+        entityCacheService.evictMember(memberId);
+        changeVersionService.bump(member.getOrganization().getOrgId(), EntityType.MEMBER);
+        liveEventService.publish(member.getOrganization().getOrgId(), EntityType.MEMBER, Action.UPDATED, memberId);
         return convertToDto(savedMember);
     }
     
-    private MemberDto convertToDto(Member member) {
+    MemberDto convertToDto(Member member) {
         return new MemberDto(
             member.getMemberId(),
             member.getName(),
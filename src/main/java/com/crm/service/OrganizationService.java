@@ -1,5 +1,6 @@
 package com.crm.service;
 
+import com.crm.dto.DeletionJobDto;
 import com.crm.dto.OrganizationDto;
 import com.crm.entity.Organization;
 import com.crm.repository.OrganizationRepository;
@@ -15,6 +16,12 @@ public class OrganizationService {
     @Autowired
     private OrganizationRepository organizationRepository;
     
+    @Autowired
+    private EntityCacheService entityCacheService;
+    
+    @Autowired
+    private TenantDeletionService tenantDeletionService;
+    
     public OrganizationDto createOrganization(OrganizationDto organizationDto) {
         if (organizationRepository.existsByOrgEmail(organizationDto.getOrgEmail())) {
             throw new RuntimeException("Organization email already exists");
@@ -31,32 +38,45 @@ public class OrganizationService {
     public List<OrganizationDto> getAllOrganizations() {
         return organizationRepository.findAll()
                 .stream()
+                .filter(organization -> !tenantDeletionService.isOrganizationHidden(organization.getOrgId()))
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
     
     public OrganizationDto getOrganizationById(Long orgId) {
         Organization organization = organizationRepository.findById(orgId)
+                .filter(o -> !tenantDeletionService.isOrganizationHidden(o.getOrgId()))
                 .orElseThrow(() -> new RuntimeException("Organization not found"));
         return convertToDto(organization);
     }
     
     public OrganizationDto updateOrganization(Long orgId, OrganizationDto organizationDto) {
         Organization organization = organizationRepository.findById(orgId)
+                .filter(o -> !tenantDeletionService.isOrganizationHidden(o.getOrgId()))
                 .orElseThrow(() -> new RuntimeException("Organization not found"));
         
         organization.setOrgName(organizationDto.getOrgName());
         organization.setOrgEmail(organizationDto.getOrgEmail());
         
         Organization savedOrganization = organizationRepository.save(organization);
+        entityCacheService.evictOrganization(orgId);
         return convertToDto(savedOrganization);
     }
     
-    public void deleteOrganization(Long orgId) {
-        if (!organizationRepository.existsById(orgId)) {
-            throw new RuntimeException("Organization not found");
+    /**
+     * Hides the organization at once and queues the removal of its data;
+     * poll the returned job through getDeletionJob.
+     */
+    public DeletionJobDto deleteOrganization(Long orgId, Long requestedBy) {
+        return tenantDeletionService.deleteOrganization(orgId, requestedBy);
+    }
+    
+    public DeletionJobDto getDeletionJob(Long orgId, Long jobId) {
+        DeletionJobDto job = tenantDeletionService.getJob(jobId);
+        if (!orgId.equals(job.getOrgId())) {
+            throw new RuntimeException("Deletion job not found");
         }
-        organizationRepository.deleteById(orgId);
+        return job;
     }
     
     private OrganizationDto convertToDto(Organization organization) {
@@ -0,0 +1,108 @@
+package com.crm.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Applies PATCH requests as one conditional statement,
+ * UPDATE ... SET <supplied fields>, version = version + 1
+ * WHERE id = ? AND org_id = ? AND version = ?, without loading the row first.
+ * Only when nothing matched is the row counted, to tell a missing record
+ * (RuntimeException, as elsewhere) from a stale version (409 in the controllers).
+ */
+@Service
+public class PartialUpdateService {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private Validator validator;
+
+    /**
+     * Runs the DTO's bean validation constraints, ignoring those on fields the
+     * patch leaves null: absent fields are not being changed, so "required"
+     * does not apply to them.
+     */
+    public void validate(Object patch) {
+        String errors = validator.validate(patch).stream()
+                .filter(violation -> violation.getInvalidValue() != null)
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException(errors);
+        }
+    }
+
+    /**
+     * @param changes entity attribute name to new value; associations take a reference
+     *                from getReferenceById
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <T> void update(Class<T> entityType, String idAttribute, Long orgId, Long id,
+                           Long expectedVersion, Map<String, Object> changes) {
+        if (expectedVersion == null) {
+            throw new IllegalArgumentException("version is required");
+        }
+        if (changes.isEmpty()) {
+            throw new IllegalArgumentException("No fields to update");
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<T> update = cb.createCriteriaUpdate(entityType);
+        Root<T> root = update.from(entityType);
+        changes.forEach(update::set);
+        // Bulk statements skip @PreUpdate and @Version, so both are maintained here
+        update.set(root.<Long>get("version"), cb.sum(root.<Long>get("version"), 1L));
+        update.set(root.<OffsetDateTime>get("updatedAt"), OffsetDateTime.now(ZoneOffset.UTC));
+        update.where(
+                cb.equal(root.get(idAttribute), id),
+                cb.equal(root.get("organization").get("orgId"), orgId),
+                cb.equal(root.get("version"), expectedVersion));
+        if (entityManager.createQuery(update).executeUpdate() == 1) {
+            return;
+        }
+
+        String entityName = entityType.getSimpleName();
+        Long existing = entityManager.createQuery(
+                        "SELECT COUNT(e) FROM " + entityName + " e WHERE e." + idAttribute + " = :id"
+                                + " AND e.organization.orgId = :orgId", Long.class)
+                .setParameter("id", id)
+                .setParameter("orgId", orgId)
+                .getSingleResult();
+        if (existing == 0) {
+            throw new RuntimeException(entityName + " not found");
+        }
+        throw conflict(entityType, id);
+    }
+
+    /**
+     * For full updates of a loaded entity: a version sent by the client must
+     * still be current. Without one the update is unconditional, as before.
+     */
+    public static void checkVersion(Class<?> entityType, Object id, Long suppliedVersion, Long currentVersion) {
+        if (suppliedVersion != null && !suppliedVersion.equals(currentVersion)) {
+            throw conflict(entityType, id);
+        }
+    }
+
+    private static ObjectOptimisticLockingFailureException conflict(Class<?> entityType, Object id) {
+        return new ObjectOptimisticLockingFailureException(entityType, id,
+                entityType.getSimpleName() + " " + id + " was changed by another request; reload it and retry", null);
+    }
+}
@@ -0,0 +1,793 @@
+package com.crm.service;
+
+import com.crm.dto.AccountDto;
+import com.crm.dto.ActivityDto;
+import com.crm.dto.ContactDto;
+import com.crm.dto.DealDto;
+import com.crm.dto.LeadDto;
+import com.crm.dto.SearchHit;
+import com.crm.entity.ChangeVersion.EntityType;
+import com.crm.util.DuplicateFingerprint;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.CharArraySet;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.BinaryDocValuesField;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.BinaryDocValues;
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.MultiBits;
+import org.apache.lucene.index.MultiTerms;
+import org.apache.lucene.index.PostingsEnum;
+import org.apache.lucene.index.SortedNumericDocValues;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.index.Terms;
+import org.apache.lucene.index.TermsEnum;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.Bits;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.FixedBitSet;
+import org.apache.lucene.util.StringHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Full-text index behind /api/search: one Lucene index per organization,
+ * memory-mapped from app.search.index-dir. The directory is scratch space,
+ * wiped and rebuilt from the database at startup by SearchIndexSync.
+ *
+ * Service write paths call {@link #index} and {@link #remove} inside their
+ * transaction; the changes reach the index after commit, so a rolled-back
+ * write is never searchable. Writes made by other instances are picked up by
+ * SearchIndexSync from the change_versions counters.
+ *
+ * Lead, contact and account documents also carry the blocking keys and
+ * normalised values that DuplicateDetectionService compares.
+ */
+@Service
+public class SearchIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndexService.class);
+
+    public static final Set<EntityType> INDEXED_TYPES = EnumSet.of(
+            EntityType.ACCOUNT, EntityType.ACTIVITY, EntityType.CONTACT, EntityType.DEAL, EntityType.LEAD);
+
+    public static final int MAX_LIMIT = 50;
+
+    // Stored or indexed field names
+    private static final String KEY = "key";
+    private static final String TYPE = "type";
+    private static final String ID = "id";
+    private static final String VERSION = "version";
+    private static final String MEMBER = "member";
+    // Key of the record whose deletion cascades to this one (a contact's account, an activity's lead)
+    private static final String PARENT = "parent";
+    private static final String TITLE = "title";
+    private static final String DETAIL = "detail";
+    private static final String TEXT = "text";
+    private static final String DIGITS = "digits";
+    // Duplicate detection: "TYPE|key" blocking keys, and the normalised values pairs are scored on
+    private static final String BLOCK = "block";
+    private static final String DUP_NAME = "dupName";
+    private static final String DUP_EMAIL = "dupEmail";
+    private static final String DUP_PHONE = "dupPhone";
+
+    // Phone numbers are also matched by their digits alone, from this many typed digits
+    private static final int MIN_PHONE_DIGITS = 3;
+
+    private final Analyzer analyzer = new StandardAnalyzer(CharArraySet.EMPTY_SET);
+
+    private final Map<Long, TenantIndex> indexes = new ConcurrentHashMap<>();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.search.index-dir:${java.io.tmpdir}/crm-search-index}")
+    private Path indexDir;
+
+    @Value("${app.search.ram-buffer-mb:16}")
+    private double ramBufferMb;
+
+    /**
+     * Prefix search over the organization's records; every query word must
+     * match the start of a word in the record, so "acm ind" finds "Acme Industries".
+     */
+    public List<SearchHit> search(Long orgId, String text, Set<EntityType> types, int limit) {
+        if (!INDEXED_TYPES.containsAll(types)) {
+            throw new IllegalArgumentException("Searchable types are " + INDEXED_TYPES);
+        }
+        Query query = buildQuery(text, types.isEmpty() ? INDEXED_TYPES : types);
+        if (query == null) {
+            return List.of();
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return withSearcher(orgId, searcher -> {
+                TopDocs top = searcher.search(query, Math.max(1, Math.min(limit, MAX_LIMIT)));
+                List<SearchHit> hits = new ArrayList<>(top.scoreDocs.length);
+                StoredFields storedFields = searcher.storedFields();
+                for (ScoreDoc scoreDoc : top.scoreDocs) {
+                    hits.add(hit(storedFields.document(scoreDoc.doc)));
+                }
+                return hits;
+            });
+        } finally {
+            sample.stop(meterRegistry.timer("crm.search.query"));
+        }
+    }
+
+    public void index(Long orgId, DealDto deal) {
+        enqueue(orgId, document(deal));
+    }
+
+    public void index(Long orgId, LeadDto lead) {
+        enqueue(orgId, document(lead));
+    }
+
+    public void index(Long orgId, ContactDto contact) {
+        enqueue(orgId, document(contact));
+    }
+
+    public void index(Long orgId, AccountDto account) {
+        enqueue(orgId, document(account));
+    }
+
+    public void index(Long orgId, ActivityDto activity) {
+        enqueue(orgId, document(activity));
+    }
+
+    /**
+     * Drops the record, and the records deleted with it by JPA cascade
+     * (a lead's activities, an account's contacts).
+     */
+    public void remove(Long orgId, EntityType type, Long id) {
+        String key = key(type, id);
+        afterCommit(orgId, index -> index.writer.deleteDocuments(new Term(KEY, key), new Term(PARENT, key)));
+    }
+
+    public void removeMember(Long orgId, Long memberId) {
+        afterCommit(orgId, index -> index.writer.deleteDocuments(new Term(MEMBER, memberId.toString())));
+    }
+
+    public void removeOrganization(Long orgId) {
+        TenantIndex index = indexes.remove(orgId);
+        if (index != null) {
+            index.close();
+            deleteRecursively(index.path);
+        }
+    }
+
+    // Used by SearchIndexSync
+
+    Set<Long> indexedOrganizations() {
+        return indexes.keySet();
+    }
+
+    boolean isReady(Long orgId) {
+        TenantIndex index = indexes.get(orgId);
+        return index != null && index.ready;
+    }
+
+    /**
+     * Discards every index on disk. Organizations passed here are then
+     * refused by search until {@link #markReady} is called for them.
+     */
+    void reset(Set<Long> pendingOrgIds) {
+        for (Long orgId : Set.copyOf(indexes.keySet())) {
+            removeOrganization(orgId);
+        }
+        deleteRecursively(indexDir);
+        for (Long orgId : pendingOrgIds) {
+            indexes.computeIfAbsent(orgId, id -> open(id, false));
+        }
+    }
+
+    void markReady(Long orgId) {
+        indexFor(orgId).ready = true;
+    }
+
+    /**
+     * Writes documents read from the database. With onlyIfNewer, a document
+     * does not replace one indexed from a later version of the row, which a
+     * local write may have put there while the rows were being read.
+     */
+    void upsert(Long orgId, List<Document> documents, boolean onlyIfNewer) {
+        TenantIndex index = indexFor(orgId);
+        index.lock.lock();
+        try {
+            IndexSearcher searcher = null;
+            if (onlyIfNewer) {
+                index.searchers.maybeRefreshBlocking();
+                searcher = index.searchers.acquire();
+            }
+            try {
+                for (Document document : documents) {
+                    if (searcher != null && indexedVersion(searcher, document.get(KEY)) > versionOf(document)) {
+                        continue;
+                    }
+                    index.writer.updateDocument(new Term(KEY, document.get(KEY)), document);
+                }
+            } finally {
+                if (searcher != null) {
+                    index.searchers.release(searcher);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            index.lock.unlock();
+        }
+        refresh(index);
+    }
+
+    long count(Long orgId, EntityType type) {
+        TenantIndex index = indexFor(orgId);
+        try {
+            index.searchers.maybeRefreshBlocking();
+            IndexSearcher searcher = index.searchers.acquire();
+            try {
+                return searcher.count(new TermQuery(new Term(TYPE, type.name())));
+            } finally {
+                index.searchers.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Removes documents of the type whose id is not among the rows the database still has
+    void retainOnly(Long orgId, EntityType type, long[] ids) {
+        TenantIndex index = indexFor(orgId);
+        Query stale = new BooleanQuery.Builder()
+                .add(new TermQuery(new Term(TYPE, type.name())), Occur.FILTER)
+                .add(LongField.newSetQuery(ID, ids), Occur.MUST_NOT)
+                .build();
+        index.lock.lock();
+        try {
+            index.writer.deleteDocuments(stale);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            index.lock.unlock();
+        }
+        refresh(index);
+    }
+
+    // Used by DuplicateDetectionService
+
+    boolean isSearchable(Long orgId) {
+        return indexFor(orgId).ready;
+    }
+
+    /**
+     * Records of the type that share at least one blocking key with the
+     * fingerprint, those sharing the most (and rarest) keys first.
+     */
+    List<DuplicateCandidate> duplicateCandidates(Long orgId, EntityType type, DuplicateFingerprint fingerprint,
+                                                 int max) {
+        List<String> keys = fingerprint.blockKeys();
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        BooleanQuery.Builder anyKey = new BooleanQuery.Builder();
+        for (String key : keys) {
+            anyKey.add(new TermQuery(new Term(BLOCK, type.name() + "|" + key)), Occur.SHOULD);
+        }
+        Query query = anyKey.build();
+        return withSearcher(orgId, searcher -> {
+            TopDocs top = searcher.search(query, max);
+            List<DuplicateCandidate> candidates = new ArrayList<>(top.scoreDocs.length);
+            StoredFields storedFields = searcher.storedFields();
+            for (ScoreDoc scoreDoc : top.scoreDocs) {
+                candidates.add(candidate(storedFields.document(scoreDoc.doc)));
+            }
+            return candidates;
+        });
+    }
+
+    /**
+     * Every blocking key of the type shared by two to maxBlockSize records,
+     * as positions in {@link DuplicateBlocks#ids}. Larger blocks are skipped:
+     * a key that common says nothing about duplicates.
+     */
+    DuplicateBlocks duplicateBlocks(Long orgId, EntityType type, int maxBlockSize) {
+        return withSearcher(orgId, searcher -> {
+            IndexReader reader = searcher.getIndexReader();
+            DuplicateBlocks result = new DuplicateBlocks();
+            Terms terms = MultiTerms.getTerms(reader, BLOCK);
+            if (terms == null) {
+                return result;
+            }
+            Bits liveDocs = MultiBits.getLiveDocs(reader);
+            FixedBitSet blocked = new FixedBitSet(reader.maxDoc());
+            List<int[]> docBlocks = new ArrayList<>();
+            BytesRef prefix = new BytesRef(type.name() + "|");
+            TermsEnum keys = terms.iterator();
+            PostingsEnum postings = null;
+            if (keys.seekCeil(prefix) == TermsEnum.SeekStatus.END) {
+                return result;
+            }
+            do {
+                if (!StringHelper.startsWith(keys.term(), prefix)) {
+                    break;
+                }
+                if (keys.docFreq() < 2 || keys.docFreq() > maxBlockSize) {
+                    continue;
+                }
+                postings = keys.postings(postings, PostingsEnum.NONE);
+                int[] block = new int[keys.docFreq()];
+                int size = 0;
+                for (int doc = postings.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = postings.nextDoc()) {
+                    if (liveDocs == null || liveDocs.get(doc)) {
+                        block[size++] = doc;
+                        blocked.set(doc);
+                    }
+                }
+                if (size >= 2) {
+                    docBlocks.add(Arrays.copyOf(block, size));
+                }
+            } while (keys.next() != null);
+
+            // Read from doc values, segment by segment in doc order; stored fields are far slower to walk
+            int[] positions = new int[reader.maxDoc()];
+            result.ids = new long[blocked.cardinality()];
+            for (LeafReaderContext leaf : reader.leaves()) {
+                SortedNumericDocValues ids = DocValues.getSortedNumeric(leaf.reader(), ID);
+                BinaryDocValues names = DocValues.getBinary(leaf.reader(), DUP_NAME);
+                BinaryDocValues emails = DocValues.getBinary(leaf.reader(), DUP_EMAIL);
+                BinaryDocValues phones = DocValues.getBinary(leaf.reader(), DUP_PHONE);
+                int end = leaf.docBase + leaf.reader().maxDoc();
+                for (int doc = leaf.docBase; doc < end; doc++) {
+                    if (!blocked.get(doc)) {
+                        continue;
+                    }
+                    int leafDoc = doc - leaf.docBase;
+                    int position = result.fingerprints.size();
+                    positions[doc] = position;
+                    result.ids[position] = ids.advanceExact(leafDoc) ? ids.nextValue() : -1;
+                    result.fingerprints.add(DuplicateFingerprint.normalized(
+                            valueOf(names, leafDoc), valueOf(emails, leafDoc), valueOf(phones, leafDoc)));
+                }
+            }
+            for (int[] block : docBlocks) {
+                for (int i = 0; i < block.length; i++) {
+                    block[i] = positions[block[i]];
+                }
+                result.blocks.add(block);
+            }
+            return result;
+        });
+    }
+
+    // Search rows for the records of the type still in the index, by id
+    Map<Long, SearchHit> hits(Long orgId, EntityType type, Collection<Long> ids) {
+        Query query = new BooleanQuery.Builder()
+                .add(new TermQuery(new Term(TYPE, type.name())), Occur.FILTER)
+                .add(LongField.newSetQuery(ID, ids.stream().mapToLong(Long::longValue).toArray()), Occur.FILTER)
+                .build();
+        return withSearcher(orgId, searcher -> {
+            Map<Long, SearchHit> hits = new HashMap<>();
+            TopDocs top = searcher.search(query, Math.max(1, ids.size()));
+            StoredFields storedFields = searcher.storedFields();
+            for (ScoreDoc scoreDoc : top.scoreDocs) {
+                SearchHit hit = hit(storedFields.document(scoreDoc.doc));
+                hits.put(hit.getId(), hit);
+            }
+            return hits;
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        indexes.values().forEach(TenantIndex::close);
+        indexes.clear();
+    }
+
+    private Query buildQuery(String text, Set<EntityType> types) {
+        List<String> words = analyze(text);
+        if (words.isEmpty()) {
+            return null;
+        }
+        BooleanQuery.Builder matchAllWords = new BooleanQuery.Builder();
+        for (String word : words) {
+            // An exact word outranks a word that merely starts with it
+            matchAllWords.add(new BooleanQuery.Builder()
+                    .add(new BoostQuery(new TermQuery(new Term(TEXT, word)), 2f), Occur.SHOULD)
+                    .add(new PrefixQuery(new Term(TEXT, word)), Occur.SHOULD)
+                    .build(), Occur.MUST);
+        }
+        BooleanQuery.Builder match = new BooleanQuery.Builder().add(matchAllWords.build(), Occur.SHOULD);
+        String digits = digitsOf(text);
+        if (digits != null && digits.length() >= MIN_PHONE_DIGITS) {
+            match.add(new PrefixQuery(new Term(DIGITS, digits)), Occur.SHOULD);
+        }
+        BooleanQuery.Builder typeFilter = new BooleanQuery.Builder();
+        for (EntityType type : types) {
+            typeFilter.add(new TermQuery(new Term(TYPE, type.name())), Occur.SHOULD);
+        }
+        return new BooleanQuery.Builder()
+                .add(match.build(), Occur.MUST)
+                .add(typeFilter.build(), Occur.FILTER)
+                .build();
+    }
+
+    private List<String> analyze(String text) {
+        Set<String> words = new LinkedHashSet<>();
+        if (text == null) {
+            return List.of();
+        }
+        try (TokenStream tokens = analyzer.tokenStream(TEXT, text)) {
+            CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken()) {
+                words.add(term.toString());
+            }
+            tokens.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new ArrayList<>(words);
+    }
+
+    static Document document(DealDto deal) {
+        return document(EntityType.DEAL, deal.getDealId(), deal.getMemberId(), deal.getVersion(), null,
+                deal.getDealName(), deal.getDealStage(), null, deal.getDealName(), deal.getDescription());
+    }
+
+    static Document document(LeadDto lead) {
+        Document doc = document(EntityType.LEAD, lead.getLeadId(), lead.getMemberId(), lead.getVersion(), null,
+                lead.getLeadName(), lead.getLeadEmail(), lead.getPhone(),
+                lead.getLeadName(), lead.getLeadEmail(), lead.getPhone());
+        return withFingerprint(doc, EntityType.LEAD,
+                DuplicateFingerprint.of(lead.getLeadName(), lead.getLeadEmail(), lead.getPhone()));
+    }
+
+    static Document document(ContactDto contact) {
+        Document doc = document(EntityType.CONTACT, contact.getContactId(), contact.getMemberId(), contact.getVersion(),
+                key(EntityType.ACCOUNT, contact.getAccountId()), contact.getContactName(), contact.getContactEmail(),
+                contact.getPhone(), contact.getContactName(), contact.getContactEmail(), contact.getPhone());
+        return withFingerprint(doc, EntityType.CONTACT,
+                DuplicateFingerprint.of(contact.getContactName(), contact.getContactEmail(), contact.getPhone()));
+    }
+
+    static Document document(AccountDto account) {
+        Document doc = document(EntityType.ACCOUNT, account.getAccountId(), account.getMemberId(), account.getVersion(), null,
+                account.getAccountName(), joinNonNull(account.getIndustry(), account.getCity()), null,
+                account.getAccountName(), account.getIndustry(), account.getCity());
+        return withFingerprint(doc, EntityType.ACCOUNT,
+                DuplicateFingerprint.of(account.getAccountName(), account.getEmail(), account.getPhone()));
+    }
+
+    static Document document(ActivityDto activity) {
+        return document(EntityType.ACTIVITY, activity.getActivityId(), activity.getMemberId(), activity.getVersion(),
+                key(EntityType.LEAD, activity.getLeadId()), activity.getSubject(), activity.getActivityType(), null,
+                activity.getSubject());
+    }
+
+    private static Document document(EntityType type, Long id, Long memberId, Long version, String parentKey,
+                                     String title, String detail, String phone, String... searchable) {
+        Document doc = new Document();
+        doc.add(new StringField(KEY, key(type, id), Field.Store.YES));
+        doc.add(new StringField(TYPE, type.name(), Field.Store.YES));
+        doc.add(new LongField(ID, id, Field.Store.YES));
+        doc.add(new LongField(VERSION, version != null ? version : 0L, Field.Store.YES));
+        if (memberId != null) {
+            doc.add(new StringField(MEMBER, memberId.toString(), Field.Store.NO));
+        }
+        if (parentKey != null) {
+            doc.add(new StringField(PARENT, parentKey, Field.Store.NO));
+        }
+        if (title != null) {
+            doc.add(new StoredField(TITLE, title));
+        }
+        if (detail != null) {
+            doc.add(new StoredField(DETAIL, detail));
+        }
+        doc.add(new TextField(TEXT, joinNonNull(searchable), Field.Store.NO));
+        for (String digits : phoneSuffixes(phone)) {
+            doc.add(new StringField(DIGITS, digits, Field.Store.NO));
+        }
+        return doc;
+    }
+
+    private static Document withFingerprint(Document doc, EntityType type, DuplicateFingerprint fingerprint) {
+        for (String key : fingerprint.blockKeys()) {
+            doc.add(new StringField(BLOCK, type.name() + "|" + key, Field.Store.NO));
+        }
+        // Stored for looking up one record's candidates, doc values for scans
+        addDuplicateValue(doc, DUP_NAME, fingerprint.getName());
+        addDuplicateValue(doc, DUP_EMAIL, fingerprint.getEmail());
+        addDuplicateValue(doc, DUP_PHONE, fingerprint.getPhone());
+        return doc;
+    }
+
+    private static void addDuplicateValue(Document doc, String field, String value) {
+        if (value != null) {
+            doc.add(new StoredField(field, value));
+            doc.add(new BinaryDocValuesField(field, new BytesRef(value)));
+        }
+    }
+
+    private static String valueOf(BinaryDocValues values, int doc) throws IOException {
+        return values.advanceExact(doc) ? values.binaryValue().utf8ToString() : null;
+    }
+
+    private static SearchHit hit(Document doc) {
+        return new SearchHit(doc.get(TYPE), doc.getField(ID).numericValue().longValue(), doc.get(TITLE), doc.get(DETAIL));
+    }
+
+    private static DuplicateCandidate candidate(Document doc) {
+        return new DuplicateCandidate(hit(doc),
+                DuplicateFingerprint.normalized(doc.get(DUP_NAME), doc.get(DUP_EMAIL), doc.get(DUP_PHONE)));
+    }
+
+    private static String key(EntityType type, Long id) {
+        return id != null ? type.name() + ":" + id : null;
+    }
+
+    private static long versionOf(Document document) {
+        return document.getField(VERSION).numericValue().longValue();
+    }
+
+    private static long indexedVersion(IndexSearcher searcher, String key) throws IOException {
+        TopDocs top = searcher.search(new TermQuery(new Term(KEY, key)), 1);
+        if (top.scoreDocs.length == 0) {
+            return -1;
+        }
+        return versionOf(searcher.storedFields().document(top.scoreDocs[0].doc));
+    }
+
+    private static String digitsOf(String text) {
+        if (text == null) {
+            return null;
+        }
+        String digits = text.replaceAll("\\D", "");
+        return digits.isEmpty() ? null : digits;
+    }
+
+    // "+1 (555) 987-1234" -> 15559871234, 5559871234, 9871234, 1234: typing the number
+    // from any group on, without country or area code, still matches by prefix
+    private static List<String> phoneSuffixes(String phone) {
+        String digits = digitsOf(phone);
+        if (digits == null) {
+            return List.of();
+        }
+        List<String> suffixes = new ArrayList<>();
+        int remaining = digits.length();
+        boolean previousDigit = false;
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            boolean digit = c >= '0' && c <= '9';
+            if (digit && !previousDigit) {
+                suffixes.add(digits.substring(digits.length() - remaining));
+            }
+            if (digit) {
+                remaining--;
+            }
+            previousDigit = digit;
+        }
+        return suffixes;
+    }
+
+    private static String joinNonNull(String... values) {
+        StringBuilder joined = new StringBuilder();
+        for (String value : values) {
+            if (value != null && !value.isBlank()) {
+                if (joined.length() > 0) {
+                    joined.append(" · ");
+                }
+                joined.append(value);
+            }
+        }
+        return joined.toString();
+    }
+
+    private void enqueue(Long orgId, Document document) {
+        afterCommit(orgId, index -> index.writer.updateDocument(new Term(KEY, document.get(KEY)), document));
+    }
+
+    private void afterCommit(Long orgId, IndexOperation operation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(orgId, List.of(operation));
+            return;
+        }
+        PendingOperations pending = null;
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingOperations existing) {
+                pending = existing;
+            }
+        }
+        if (pending == null) {
+            pending = new PendingOperations();
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.operations.computeIfAbsent(orgId, id -> new ArrayList<>()).add(operation);
+    }
+
+    private void apply(Long orgId, List<IndexOperation> operations) {
+        TenantIndex index = indexFor(orgId);
+        index.lock.lock();
+        try {
+            for (IndexOperation operation : operations) {
+                operation.apply(index);
+            }
+        } catch (IOException | RuntimeException e) {
+            // The next sync from change_versions repairs what was missed
+            log.warn("Search index update failed for organization {}: {}", orgId, e.getMessage());
+        } finally {
+            index.lock.unlock();
+        }
+        refresh(index);
+    }
+
+    private <R> R withSearcher(Long orgId, SearcherAction<R> action) {
+        TenantIndex index = indexFor(orgId);
+        if (!index.ready) {
+            throw new RuntimeException("Search index is still being built, try again shortly");
+        }
+        try {
+            IndexSearcher searcher = index.searchers.acquire();
+            try {
+                return action.apply(searcher);
+            } finally {
+                index.searchers.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void refresh(TenantIndex index) {
+        try {
+            index.searchers.maybeRefresh();
+        } catch (IOException e) {
+            log.warn("Search index refresh failed: {}", e.getMessage());
+        }
+    }
+
+    private TenantIndex indexFor(Long orgId) {
+        // Organizations created after startup start out empty, so ready
+        return indexes.computeIfAbsent(orgId, id -> open(id, true));
+    }
+
+    private TenantIndex open(Long orgId, boolean ready) {
+        Path path = indexDir.resolve(orgId.toString());
+        try {
+            Files.createDirectories(path);
+            Directory directory = FSDirectory.open(path);
+            IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE)
+                    .setRAMBufferSizeMB(ramBufferMb)
+                    .setCommitOnClose(false);
+            IndexWriter writer = new IndexWriter(directory, config);
+            return new TenantIndex(path, directory, writer, new SearcherManager(writer, null), ready);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void deleteRecursively(Path path) {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(path)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        } catch (IOException e) {
+            log.warn("Could not delete search index files under {}: {}", path, e.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexOperation {
+        void apply(TenantIndex index) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface SearcherAction<R> {
+        R apply(IndexSearcher searcher) throws IOException;
+    }
+
+    static final class DuplicateCandidate {
+        final SearchHit hit;
+        final DuplicateFingerprint fingerprint;
+
+        private DuplicateCandidate(SearchHit hit, DuplicateFingerprint fingerprint) {
+            this.hit = hit;
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    static final class DuplicateBlocks {
+        // Record id and fingerprint by position
+        long[] ids = new long[0];
+        final List<DuplicateFingerprint> fingerprints = new ArrayList<>();
+        final List<int[]> blocks = new ArrayList<>();
+    }
+
+    // Index changes of one transaction, applied once it has committed
+    private final class PendingOperations implements TransactionSynchronization {
+        private final Map<Long, List<IndexOperation>> operations = new ConcurrentHashMap<>();
+
+        @Override
+        public void afterCommit() {
+            operations.forEach(SearchIndexService.this::apply);
+        }
+    }
+
+    private static final class TenantIndex {
+        private final Path path;
+        private final Directory directory;
+        private final IndexWriter writer;
+        private final SearcherManager searchers;
+        // Serializes writers, so a version check and the write it guards cannot interleave with another write
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile boolean ready;
+
+        private TenantIndex(Path path, Directory directory, IndexWriter writer, SearcherManager searchers, boolean ready) {
+            this.path = path;
+            this.directory = directory;
+            this.writer = writer;
+            this.searchers = searchers;
+            this.ready = ready;
+        }
+
+        private void close() {
+            try {
+                searchers.close();
+                writer.close();
+                directory.close();
+            } catch (IOException e) {
+                log.warn("Could not close search index {}: {}", path, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.crm.service;
+
+import com.crm.dto.AccountDto;
+import com.crm.dto.ActivityDto;
+import com.crm.dto.ContactDto;
+import com.crm.dto.DealDto;
+import com.crm.dto.LeadDto;
+import com.crm.entity.ChangeVersion;
+import com.crm.entity.ChangeVersion.EntityType;
+import com.crm.entity.Organization;
+import com.crm.repository.AccountRepository;
+import com.crm.repository.ActivityRepository;
+import com.crm.repository.ChangeVersionRepository;
+import com.crm.repository.ContactRepository;
+import com.crm.repository.DealRepository;
+import com.crm.repository.LeadRepository;
+import com.crm.repository.OrganizationRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.apache.lucene.document.Document;
+import org.hibernate.jpa.HibernateHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Fills SearchIndexService from the database.
+ *
+ * At startup every organization's index is rebuilt, app.search.rebuild-threads
+ * organizations at a time; each one is searchable once its own rebuild is done.
+ * After that, change_versions is polled for counters that moved, which covers
+ * writes made by other instances and writes that raced a rebuild: the rows of
+ * that type updated since the last poll are re-read, and if the row count no
+ * longer matches the index (a delete elsewhere) the type is reindexed. That
+ * also undoes a catch-up that read rows just before a local delete committed
+ * and put them back: the delete moved the counter, so the next poll recounts.
+ * All reads are read-only transactions, so they use a replica when one is configured.
+ */
+@Service
+public class SearchIndexSync {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndexSync.class);
+
+    private static final Map<EntityType, Source<?>> SOURCES = Map.of(
+        EntityType.DEAL, new Source<>("Deal", "d", DealRepository.DTO_SELECT, DealDto.class,
+                DealDto::getDealId, SearchIndexService::document),
+        EntityType.LEAD, new Source<>("Lead", "l", LeadRepository.DTO_SELECT, LeadDto.class,
+                LeadDto::getLeadId, SearchIndexService::document),
+        EntityType.CONTACT, new Source<>("Contact", "c", ContactRepository.DTO_SELECT, ContactDto.class,
+                ContactDto::getContactId, SearchIndexService::document),
+        EntityType.ACCOUNT, new Source<>("Account", "a", AccountRepository.DTO_SELECT, AccountDto.class,
+                AccountDto::getAccountId, SearchIndexService::document),
+        EntityType.ACTIVITY, new Source<>("Activity", "a", ActivityRepository.DTO_SELECT, ActivityDto.class,
+                ActivityDto::getActivityId, SearchIndexService::document)
+    );
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private ChangeVersionRepository changeVersionRepository;
+
+    @Autowired
+    private TenantDeletionService tenantDeletionService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.search.rebuild-threads:4}")
+    private int rebuildThreads;
+
+    @Value("${app.search.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.search.clock-skew:1m}")
+    private Duration clockSkew;
+
+    // "orgId:TYPE" -> the change_versions counter as of the last sync of that type
+    private final Map<String, Seen> seen = new ConcurrentHashMap<>();
+
+    private volatile OffsetDateTime polledUntil;
+
+    private TransactionTemplate readOnly;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildAll() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        polledUntil = now();
+
+        List<Long> orgIds = readOnly.execute(status -> organizationRepository.findAll().stream()
+                .map(Organization::getOrgId)
+                .filter(orgId -> !tenantDeletionService.isOrganizationHidden(orgId))
+                .collect(Collectors.toList()));
+        searchIndexService.reset(Set.copyOf(orgIds));
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, rebuildThreads),
+                new CustomizableThreadFactory("search-rebuild-"));
+        for (Long orgId : orgIds) {
+            pool.execute(() -> rebuild(orgId));
+        }
+        // Lets the queued rebuilds finish, then the threads exit
+        pool.shutdown();
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.refresh-interval-ms:5000}")
+    public void pollChanges() {
+        if (polledUntil == null) {
+            return;
+        }
+        List<ChangeVersion> changed = readOnly.execute(status -> changeVersionRepository.findChangedSince(
+                polledUntil.minus(clockSkew), SearchIndexService.INDEXED_TYPES));
+        for (ChangeVersion change : changed) {
+            Long orgId = change.getOrgId();
+            if (tenantDeletionService.isOrganizationHidden(orgId)) {
+                searchIndexService.removeOrganization(orgId);
+                continue;
+            }
+            String key = key(orgId, change.getEntityType());
+            Seen previous = seen.get(key);
+            if ((previous != null && previous.version == change.getVersion()) || !searchIndexService.isReady(orgId)) {
+                continue;
+            }
+            try {
+                catchUp(orgId, change.getEntityType(), previous != null ? previous.updatedAt : polledUntil);
+                seen.put(key, new Seen(change.getVersion(), change.getUpdatedAt()));
+                if (change.getUpdatedAt().isAfter(polledUntil)) {
+                    polledUntil = change.getUpdatedAt();
+                }
+            } catch (RuntimeException e) {
+                log.warn("Search index sync of {} failed for organization {}: {}",
+                        change.getEntityType(), orgId, e.getMessage());
+            }
+        }
+        seen.keySet().removeIf(key -> !searchIndexService.indexedOrganizations().contains(orgIdOf(key)));
+    }
+
+    private void rebuild(Long orgId) {
+        long started = System.nanoTime();
+        try {
+            OffsetDateTime since = now();
+            for (ChangeVersion version : currentVersions(orgId)) {
+                seen.put(key(orgId, version.getEntityType()), new Seen(version.getVersion(), since));
+            }
+            long documents = 0;
+            for (EntityType type : SearchIndexService.INDEXED_TYPES) {
+                documents += sync(orgId, SOURCES.get(type), null, false, null);
+            }
+            searchIndexService.markReady(orgId);
+            // Writes committed while the rows were being read; the poll skips organizations still rebuilding
+            for (ChangeVersion version : currentVersions(orgId)) {
+                String key = key(orgId, version.getEntityType());
+                Seen previous = seen.get(key);
+                if (previous == null || previous.version != version.getVersion()) {
+                    catchUp(orgId, version.getEntityType(), since);
+                    seen.put(key, new Seen(version.getVersion(), version.getUpdatedAt()));
+                }
+            }
+            log.info("Search index for organization {} built: {} documents in {} ms",
+                    orgId, documents, (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Search index rebuild failed for organization {}: {}", orgId, e.getMessage(), e);
+        }
+    }
+
+    private void catchUp(Long orgId, EntityType type, OffsetDateTime lastSynced) {
+        Source<?> source = SOURCES.get(type);
+        sync(orgId, source, lastSynced.minus(clockSkew), true, null);
+        long rows = readOnly.execute(status -> entityManager.createQuery(
+                "SELECT COUNT(" + source.alias + ") FROM " + source.entity + " " + source.alias
+                        + " WHERE " + source.alias + ".organization.orgId = :orgId", Long.class)
+                .setParameter("orgId", orgId)
+                .getSingleResult());
+        if (rows != searchIndexService.count(orgId, type)) {
+            LongStream.Builder ids = LongStream.builder();
+            sync(orgId, source, null, true, ids);
+            searchIndexService.retainOnly(orgId, type, ids.build().toArray());
+            log.info("Search index for organization {} reindexed {} ({} rows)", orgId, type, rows);
+        }
+    }
+
+    /**
+     * Streams the organization's rows of one type (only those updated since
+     * changedSince, when given) into the index in batches.
+     */
+    private <D> long sync(Long orgId, Source<D> source, OffsetDateTime changedSince, boolean onlyIfNewer,
+                          LongStream.Builder ids) {
+        String jpql = source.select + "WHERE " + source.alias + ".organization.orgId = :orgId"
+                + (changedSince != null ? " AND " + source.alias + ".updatedAt >= :since" : "");
+        return readOnly.execute(status -> {
+            TypedQuery<D> query = entityManager.createQuery(jpql, source.dtoType)
+                    .setParameter("orgId", orgId)
+                    .setHint(HibernateHints.HINT_FETCH_SIZE, batchSize);
+            if (changedSince != null) {
+                query.setParameter("since", changedSince);
+            }
+            long rows = 0;
+            List<Document> batch = new ArrayList<>(batchSize);
+            try (Stream<D> results = query.getResultStream()) {
+                for (D dto : (Iterable<D>) results::iterator) {
+                    batch.add(source.toDocument.apply(dto));
+                    if (ids != null) {
+                        ids.add(source.id.apply(dto));
+                    }
+                    rows++;
+                    if (batch.size() >= batchSize) {
+                        searchIndexService.upsert(orgId, batch, onlyIfNewer);
+                        batch.clear();
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                searchIndexService.upsert(orgId, batch, onlyIfNewer);
+            }
+            return rows;
+        });
+    }
+
+    private List<ChangeVersion> currentVersions(Long orgId) {
+        return readOnly.execute(status -> changeVersionRepository.findByOrgIdAndEntityTypes(
+                orgId, SearchIndexService.INDEXED_TYPES));
+    }
+
+    private static String key(Long orgId, EntityType type) {
+        return orgId + ":" + type.name();
+    }
+
+    private static Long orgIdOf(String key) {
+        return Long.valueOf(key.substring(0, key.indexOf(':')));
+    }
+
+    private static OffsetDateTime now() {
+        return OffsetDateTime.now(ZoneOffset.UTC);
+    }
+
+    private static final class Seen {
+        private final long version;
+        private final OffsetDateTime updatedAt;
+
+        private Seen(long version, OffsetDateTime updatedAt) {
+            this.version = version;
+            this.updatedAt = updatedAt;
+        }
+    }
+
+    private static final class Source<D> {
+        private final String entity;
+        private final String alias;
+        private final String select;
+        private final Class<D> dtoType;
+        private final Function<D, Long> id;
+        private final Function<D, Document> toDocument;
+
+        private Source(String entity, String alias, String select, Class<D> dtoType,
+                       Function<D, Long> id, Function<D, Document> toDocument) {
+            this.entity = entity;
+            this.alias = alias;
+            this.select = select;
+            this.dtoType = dtoType;
+            this.id = id;
+            this.toDocument = toDocument;
+        }
+    }
+}
@@ -3,112 +3,90 @@ package com.crm.service;
 import com.crm.config.JwtConfig;
 import com.crm.dto.JwtResponse;
 import com.crm.dto.LoginRequest;
+import com.crm.dto.LoginCredentials;
 import com.crm.entity.Member;
 import com.crm.repository.MemberRepository;
+import com.crm.security.LoginThrottle;
+import com.crm.security.PasswordVerifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-
-import java.util.Optional;
 
 @Service
 public class SimpleAuthService {
     
     private static final Logger logger = LoggerFactory.getLogger(SimpleAuthService.class);
+
+    private static final String INVALID_CREDENTIALS = "Invalid email or password";
     
     @Autowired
     private MemberRepository memberRepository;
     
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordVerifier passwordVerifier;
+    
+    @Autowired
+    private LoginThrottle loginThrottle;
     
     @Autowired
     private JwtConfig jwtConfig;
+
+    @Autowired
+    private TenantDeletionService tenantDeletionService;
     
-    @Transactional(readOnly = true)
-    public JwtResponse authenticateUser(LoginRequest loginRequest) {
-        logger.info("SimpleAuthService: Starting authentication for email: {}", loginRequest.getEmail());
-        
-        try {
-            // Use the existing JPQL query that works with Hibernate entities
-            Optional<Member> memberOpt = memberRepository.findByEmailWithRoleAndOrganization(loginRequest.getEmail());
-            
-            if (!memberOpt.isPresent()) {
-                logger.warn("SimpleAuthService: No user found with email: {}", loginRequest.getEmail());
-                throw new RuntimeException("User not found with email: " + loginRequest.getEmail());
-            }
-            
-            Member member = memberOpt.get();
-            logger.info("SimpleAuthService: Member found - ID: {}, Email: {}, Name: {}, Status: {}", 
-                       member.getMemberId(), member.getEmail(), member.getName(), member.getStatus());
-            
-            // Extract data from the Member entity with null checks
-            Long memberId = member.getMemberId();
-            String email = member.getEmail();
-            String name = member.getName();
-            String password = member.getPassword();
-            String status = member.getStatus() != null ? member.getStatus().toString() : null;
-            
-            // Safely extract organization data
-            Long orgId = null;
-            String orgName = null;
-            if (member.getOrganization() != null) {
-                orgId = member.getOrganization().getOrgId();
-                orgName = member.getOrganization().getOrgName();
-            }
-            
-            // Safely extract role data
-            String roleName = null;
-            if (member.getRole() != null) {
-                roleName = member.getRole().getRoleName();
-            }
-            
-            logger.info("SimpleAuthService: Extracted data - memberId: {}, email: {}, name: {}, status: {}, orgId: {}, orgName: {}, roleName: {}", 
-                       memberId, email, name, status, orgId, orgName, roleName);
-            
-            // Validate required fields
-            if (memberId == null || email == null || password == null || status == null || orgId == null || roleName == null) {
-                logger.error("SimpleAuthService: Missing required user data - memberId: {}, email: {}, password: {}, status: {}, orgId: {}, roleName: {}", 
-                           memberId, email, password != null ? "[PROVIDED]" : "[NULL]", status, orgId, roleName);
-                throw new RuntimeException("Incomplete user data in database");
-            }
-            
-            // Validate password
-            if (!passwordEncoder.matches(loginRequest.getPassword(), password)) {
-                logger.warn("SimpleAuthService: Invalid password for email: {}", loginRequest.getEmail());
-                throw new RuntimeException("Invalid password");
-            }
-            
-            // Validate status
-            if (!"ACTIVE".equals(status)) {
-                logger.warn("SimpleAuthService: Account not active for email: {}, status: {}", loginRequest.getEmail(), status);
-                throw new RuntimeException("Account is not active");
-            }
-            
-            // Generate JWT token
-            String token = jwtConfig.generateToken(email, orgId, roleName, memberId);
-            logger.info("SimpleAuthService: JWT token generated successfully, length: {}", token.length());
-            
-            // Return JwtResponse with primitive types only - no entities involved
-            JwtResponse response = new JwtResponse(
-                token,
-                memberId,
-                email,
-                name,
-                orgId,
-                orgName,
-                roleName
-            );
-            
-            logger.info("SimpleAuthService: JwtResponse created successfully");
-            return response;
-            
-        } catch (Exception e) {
-            logger.error("SimpleAuthService: Error during authentication for email: {} - {}", loginRequest.getEmail(), e.getMessage(), e);
-            throw e;
+    /**
+     * Checks the throttle, reads the login columns and verifies the password on
+     * the bounded verification pool. Deliberately not @Transactional: no
+     * connection is held while BCrypt runs.
+     */
+    public JwtResponse authenticateUser(LoginRequest loginRequest, String clientIp) {
+        String email = loginRequest.getEmail().trim();
+        loginThrottle.acquire(clientIp, email);
+
+        LoginCredentials credentials = memberRepository.findLoginCredentials(email).orElse(null);
+
+        // Unknown emails still pay for one BCrypt check so timing does not reveal them
+        boolean passwordMatches = passwordVerifier.matches(loginRequest.getPassword(),
+                credentials != null ? credentials.getPasswordHash() : null);
+        // Same message for both, so the response does not reveal which emails have accounts
+        if (credentials == null) {
+            logger.warn("Login failed for {} from {}: unknown email", email, clientIp);
+            throw new RuntimeException(INVALID_CREDENTIALS);
+        }
+
+        if (!passwordMatches) {
+            logger.warn("Login failed for {} from {}: invalid password", email, clientIp);
+            throw new RuntimeException(INVALID_CREDENTIALS);
+        }
+
+        if (credentials.getOrgId() == null || credentials.getRoleName() == null || credentials.getStatus() == null) {
+            logger.error("Login failed for member {}: incomplete user data", credentials.getMemberId());
+            throw new RuntimeException("Incomplete user data in database");
+        }
+
+        if (credentials.getStatus() != Member.MemberStatus.ACTIVE) {
+            logger.warn("Login failed for {}: account status {}", email, credentials.getStatus());
+            throw new RuntimeException("Account is not active");
         }
+
+        if (tenantDeletionService.isHidden(credentials.getOrgId(), credentials.getMemberId())) {
+            logger.warn("Login failed for {}: scheduled for deletion", email);
+            throw new RuntimeException("Account is not active");
+        }
+
+        String token = jwtConfig.generateToken(credentials.getEmail(), credentials.getOrgId(),
+                credentials.getRoleName(), credentials.getMemberId());
+        logger.info("Login succeeded for member {} (org {})", credentials.getMemberId(), credentials.getOrgId());
+
+        return new JwtResponse(
+            token,
+            credentials.getMemberId(),
+            credentials.getEmail(),
+            credentials.getName(),
+            credentials.getOrgId(),
+            credentials.getOrgName(),
+            credentials.getRoleName()
+        );
     }
 }
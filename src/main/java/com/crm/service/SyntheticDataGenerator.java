@@ -0,0 +1,615 @@
+package com.crm.service;
+
+import com.crm.entity.Role;
+import com.crm.repository.RoleRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Loads synthetic organizations for scale testing. With the "generate" profile
+ * active the application loads them, rebuilds their dashboard rollups and
+ * exits instead of serving requests.
+ *
+ * Sizes are skewed the way tenants are: ranked by size, organization k has
+ * app.generator.max-deals / k^skew deals (at least min-deals), and its
+ * accounts, contacts, leads, activities and members scale with that. Inside an
+ * organization a few members own most records and a few accounts hold most
+ * deals. Each organization draws from its own random stream, seeded from
+ * app.generator.seed and its rank, so a seed produces the same records
+ * whichever thread loads them; only the ids depend on the sequences.
+ *
+ * Rows are streamed with COPY FROM STDIN, app.generator.threads organizations
+ * at a time, one transaction each, so an interrupted run leaves whole
+ * organizations. Ids are taken from the tables' sequences before the rows are
+ * written, which is how foreign keys are filled in without reading rows back.
+ * Search indexes are built by the application the next time it starts.
+ */
+@Service
+@Profile("generate")
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    // Every generated member can log in with it
+    static final String PASSWORD = "password123";
+
+    private static final int DEALS_PER_MEMBER = 2000;
+    private static final int MAX_MEMBERS = 500;
+    private static final double ACCOUNTS_PER_DEAL = 0.3;
+    private static final double LEADS_PER_DEAL = 3;
+    private static final double ACTIVITIES_PER_DEAL = 4;
+    private static final int HISTORY_DAYS = 730;
+
+    private static final String[] FIRST_NAMES = {
+        "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+        "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Carlos", "Karen",
+        "Daniel", "Lisa", "Matthew", "Nancy", "Anthony", "Priya", "Mark", "Sandra", "Wei", "Ashley",
+        "Ahmed", "Emily", "Kenji", "Olga", "Luis", "Fatima", "Ivan", "Sofia", "Raj", "Chloe"
+    };
+
+    private static final String[] LAST_NAMES = {
+        "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+        "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+        "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson",
+        "Patel", "Nguyen", "Kim", "Chen", "Singh", "Mueller", "Rossi", "Tanaka", "Ivanov", "Okafor"
+    };
+
+    private static final String[] COMPANY_WORDS = {
+        "Acme", "Apex", "Blue", "Bright", "Cedar", "Core", "Delta", "Eagle", "Echo", "Falcon",
+        "First", "Global", "Granite", "Green", "Harbor", "Horizon", "Iron", "Keystone", "Lake", "Liberty",
+        "Maple", "Meridian", "North", "Nova", "Oak", "Pacific", "Peak", "Pine", "Prime", "Quantum",
+        "River", "Silver", "Summit", "Sun", "Union", "Vertex", "Vista", "West", "Wind", "Zenith"
+    };
+
+    private static final String[] COMPANY_SUFFIXES = {
+        "Labs", "Systems", "Holdings", "Partners", "Logistics", "Health", "Foods", "Energy", "Software", "Group"
+    };
+
+    private static final String[] INDUSTRIES = {
+        "Technology", "Healthcare", "Finance", "Manufacturing", "Retail", "Education", "Energy", "Logistics",
+        "Real Estate", "Media"
+    };
+
+    // city, state, country
+    private static final String[][] PLACES = {
+        {"New York", "NY", "USA"}, {"Austin", "TX", "USA"}, {"Chicago", "IL", "USA"}, {"Seattle", "WA", "USA"},
+        {"Toronto", "ON", "Canada"}, {"London", null, "United Kingdom"}, {"Berlin", null, "Germany"},
+        {"Bangalore", "KA", "India"}, {"Sydney", "NSW", "Australia"}, {"Sao Paulo", "SP", "Brazil"}
+    };
+
+    private static final String[] STREETS = {"Main St", "Market St", "Oak Ave", "Park Rd", "High St", "Lake Dr"};
+
+    private static final String[] DEAL_KINDS = {
+        "New Business", "Renewal", "Expansion", "Pilot", "Enterprise License", "Support Contract", "Upgrade"
+    };
+
+    private static final String[] OPEN_STAGES = {"Prospecting", "Qualification", "Proposal", "Negotiation"};
+
+    private static final String[] ACTIVITY_TYPES = {"Call", "Email", "Meeting", "Task", "Note", "Follow-up"};
+
+    private static final String[] PRIORITIES = {"Low", "Medium", "High", "Urgent"};
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private DashboardRollupService dashboardRollupService;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Value("${app.generator.organizations:10}")
+    private int organizations;
+
+    @Value("${app.generator.max-deals:100000}")
+    private int maxDeals;
+
+    @Value("${app.generator.min-deals:5}")
+    private int minDeals;
+
+    @Value("${app.generator.skew:1.5}")
+    private double skew;
+
+    @Value("${app.generator.seed:42}")
+    private long seed;
+
+    @Value("${app.generator.threads:4}")
+    private int threads;
+
+    @Value("${app.generator.as-of:}")
+    private String asOf;
+
+    @Override
+    public void run(String... args) throws Exception {
+        long started = System.nanoTime();
+        OffsetDateTime end = (asOf.isBlank() ? LocalDate.now(ZoneOffset.UTC) : LocalDate.parse(asOf))
+                .atStartOfDay().atOffset(ZoneOffset.UTC);
+        long[] roleIds = {roleId("Admin"), roleId("Manager"), roleId("Sales Rep")};
+        // One hash for every member: BCrypt per row would dominate the run
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+
+        log.info("Generating {} organizations (largest {} deals, skew {}, seed {})", organizations, maxDeals, skew, seed);
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, organizations)),
+                new CustomizableThreadFactory("data-generator-"));
+        long rows = 0;
+        try {
+            // Largest first, so the long loads start right away and the small ones fill in
+            List<Future<Long>> loads = new ArrayList<>();
+            for (int rank = 1; rank <= organizations; rank++) {
+                Tenant tenant = new Tenant(rank, end, roleIds, passwordHash);
+                loads.add(pool.submit(tenant::load));
+            }
+            for (Future<Long> load : loads) {
+                rows += load.get();
+            }
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Data generation failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        log.info("Generated {} organizations, {} rows in {} s", organizations, rows,
+                (System.nanoTime() - started) / 1_000_000_000);
+
+        System.exit(SpringApplication.exit(applicationContext));
+    }
+
+    int dealsFor(int rank) {
+        return (int) Math.max(minDeals, Math.round(maxDeals / Math.pow(rank, skew)));
+    }
+
+    private long roleId(String roleName) {
+        return roleRepository.findByRoleName(roleName).map(Role::getRoleId)
+                .orElseThrow(() -> new RuntimeException("Role not found: " + roleName));
+    }
+
+    /**
+     * One organization: its record counts, random stream and the ids and
+     * attributes later tables refer back to.
+     */
+    private final class Tenant {
+        private final int rank;
+        private final OffsetDateTime end;
+        private final long[] roleIds;
+        private final String passwordHash;
+        private final SplittableRandom random;
+        private final String domain;
+
+        private final int dealCount;
+        private final int memberCount;
+        private final int accountCount;
+        private final int leadCount;
+        private final int activityCount;
+
+        private long orgId;
+        private long[] memberIds;
+        private long[] accountIds;
+        private String[] accountNames;
+        private String[] accountDomains;
+        private long[] contactIds;
+        private int[] contactAccount;
+        private short[] contactFirst;
+        private short[] contactLast;
+        // Contacts are written account by account: account a owns [contactStart[a], contactStart[a + 1])
+        private int[] contactStart;
+        private long[] dealIds;
+        private long[] leadIds;
+
+        private Tenant(int rank, OffsetDateTime end, long[] roleIds, String passwordHash) {
+            this.rank = rank;
+            this.end = end;
+            this.roleIds = roleIds;
+            this.passwordHash = passwordHash;
+            this.random = new SplittableRandom(seed * 1_000_003 + rank);
+            this.domain = "org" + rank + "-" + seed + ".example.com";
+            this.dealCount = dealsFor(rank);
+            this.memberCount = Math.min(MAX_MEMBERS, 2 + dealCount / DEALS_PER_MEMBER);
+            this.accountCount = Math.max(1, (int) (dealCount * ACCOUNTS_PER_DEAL));
+            this.leadCount = (int) (dealCount * LEADS_PER_DEAL);
+            this.activityCount = (int) (dealCount * ACTIVITIES_PER_DEAL);
+        }
+
+        private long load() throws Exception {
+            long started = System.nanoTime();
+            long rows;
+            try (Connection connection = primaryDataSource.getConnection()) {
+                connection.setAutoCommit(false);
+                try {
+                    CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+                    orgId = insertOrganization(connection);
+                    rows = 1 + copyMembers(connection, copy) + copyAccounts(connection, copy)
+                            + copyContacts(connection, copy) + copyDeals(connection, copy)
+                            + copyLeads(connection, copy) + copyActivities(copy);
+                    connection.commit();
+                } catch (Exception e) {
+                    connection.rollback();
+                    throw e;
+                }
+            }
+            dashboardRollupService.rebuild(orgId);
+            log.info("Organization {} (rank {}): {} deals, {} rows in {} ms", orgId, rank, dealCount, rows,
+                    (System.nanoTime() - started) / 1_000_000);
+            return rows;
+        }
+
+        private long insertOrganization(Connection connection) throws SQLException {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO organizations (org_name, org_email, created_at) VALUES (?, ?, ?) RETURNING org_id")) {
+                statement.setString(1, companyName() + " (synthetic " + rank + ")");
+                statement.setString(2, "admin@" + domain);
+                statement.setObject(3, end.minusDays(HISTORY_DAYS));
+                try (ResultSet result = statement.executeQuery()) {
+                    result.next();
+                    return result.getLong(1);
+                }
+            }
+        }
+
+        private long copyMembers(Connection connection, CopyManager copy) throws SQLException {
+            memberIds = reserveIds(connection, "members_member_id_seq", memberCount);
+            try (CopyWriter rows = new CopyWriter(copy, "members",
+                    "member_id, org_id, role_id, name, email, password, status, created_at, updated_at")) {
+                for (int i = 0; i < memberCount; i++) {
+                    // The first member is the admin, roughly one in ten is a manager
+                    long roleId = i == 0 ? roleIds[0] : i % 10 == 1 ? roleIds[1] : roleIds[2];
+                    String first = pick(FIRST_NAMES);
+                    String last = pick(LAST_NAMES);
+                    String email = i == 0 ? "admin@" + domain
+                            : (first + "." + last + "." + i).toLowerCase(Locale.ROOT) + "@" + domain;
+                    LocalDateTime createdAt = end.minusDays(HISTORY_DAYS).toLocalDateTime();
+                    rows.add(memberIds[i]).add(orgId).add(roleId).add(first + " " + last).add(email)
+                            .add(passwordHash).add(i > 0 && random.nextInt(20) == 0 ? "INACTIVE" : "ACTIVE")
+                            .add(createdAt).add(createdAt).endRow();
+                }
+                return rows.finish();
+            }
+        }
+
+        private long copyAccounts(Connection connection, CopyManager copy) throws SQLException {
+            accountIds = reserveIds(connection, "accounts_account_id_seq", accountCount);
+            accountNames = new String[accountCount];
+            accountDomains = new String[accountCount];
+            try (CopyWriter rows = new CopyWriter(copy, "accounts",
+                    "account_id, org_id, member_id, account_name, email, phone, website, description, industry, "
+                            + "address, city, state, country, postal_code, created_at, updated_at")) {
+                for (int i = 0; i < accountCount; i++) {
+                    String name = companyName();
+                    String accountDomain = name.toLowerCase(Locale.ROOT).replace(' ', '-') + ".example.com";
+                    accountNames[i] = name;
+                    accountDomains[i] = accountDomain;
+                    String[] place = pick(PLACES);
+                    OffsetDateTime createdAt = createdAt();
+                    rows.add(accountIds[i]).add(orgId).add(owner()).add(name).add("info@" + accountDomain)
+                            .add(phone()).add("https://www." + accountDomain).add(null).add(pick(INDUSTRIES))
+                            .add((1 + random.nextInt(9999)) + " " + pick(STREETS)).add(place[0]).add(place[1])
+                            .add(place[2]).add(String.format("%05d", random.nextInt(100000)))
+                            .add(createdAt).add(createdAt).endRow();
+                }
+                return rows.finish();
+            }
+        }
+
+        private long copyContacts(Connection connection, CopyManager copy) throws SQLException {
+            // 1 to ~10 contacts per account, most accounts at the low end
+            contactStart = new int[accountCount + 1];
+            for (int a = 0; a < accountCount; a++) {
+                contactStart[a + 1] = contactStart[a] + 1 + (int) (-Math.log(1 - random.nextDouble()) * 2);
+            }
+            int contactCount = contactStart[accountCount];
+            contactIds = reserveIds(connection, "contacts_contact_id_seq", contactCount);
+            contactAccount = new int[contactCount];
+            contactFirst = new short[contactCount];
+            contactLast = new short[contactCount];
+            try (CopyWriter rows = new CopyWriter(copy, "contacts",
+                    "contact_id, org_id, member_id, account_id, contact_name, contact_email, phone, created_at, updated_at")) {
+                for (int a = 0; a < accountCount; a++) {
+                    for (int i = contactStart[a]; i < contactStart[a + 1]; i++) {
+                        contactAccount[i] = a;
+                        contactFirst[i] = (short) random.nextInt(FIRST_NAMES.length);
+                        contactLast[i] = (short) random.nextInt(LAST_NAMES.length);
+                        OffsetDateTime createdAt = createdAt();
+                        rows.add(contactIds[i]).add(orgId).add(owner()).add(accountIds[a])
+                                .add(FIRST_NAMES[contactFirst[i]] + " " + LAST_NAMES[contactLast[i]])
+                                .add(contactEmail(i)).add(phone()).add(createdAt).add(createdAt).endRow();
+                    }
+                }
+                return rows.finish();
+            }
+        }
+
+        private long copyDeals(Connection connection, CopyManager copy) throws SQLException {
+            dealIds = reserveIds(connection, "deals_deal_id_seq", dealCount);
+            // deal_contacts pairs, written once the deals are in: one COPY at a time per connection
+            long[] links = new long[dealCount * 4];
+            int linkCount = 0;
+            long rows;
+            try (CopyWriter deals = new CopyWriter(copy, "deals",
+                    "deal_id, org_id, member_id, account_id, contact_id, deal_name, deal_value, deal_stage, "
+                            + "probability, description, expected_close_date, actual_close_date, created_at, updated_at")) {
+                for (int i = 0; i < dealCount; i++) {
+                    int account = skewed(accountCount);
+                    int first = contactStart[account];
+                    int contacts = contactStart[account + 1] - first;
+                    int contact = first + random.nextInt(contacts);
+                    OffsetDateTime createdAt = createdAt();
+                    String stage = stage(ChronoUnit.DAYS.between(createdAt, end));
+                    // Deals that moved on did so some time after they were created
+                    OffsetDateTime updatedAt = stage.equals(OPEN_STAGES[0]) ? createdAt
+                            : createdAt.plusSeconds(random.nextLong(end.toEpochSecond() - createdAt.toEpochSecond()));
+                    deals.add(dealIds[i]).add(orgId).add(owner()).add(accountIds[account]).add(contactIds[contact])
+                            .add(accountNames[account] + " - " + pick(DEAL_KINDS)).add(dealValue()).add(stage)
+                            .add(probability(stage)).add(null).add(createdAt.plusDays(30 + random.nextInt(120)))
+                            .add(stage.startsWith("Closed") ? updatedAt : null).add(createdAt).add(updatedAt).endRow();
+
+                    links[linkCount++] = dealIds[i];
+                    links[linkCount++] = contactIds[contact];
+                    if (contacts > 1 && random.nextInt(3) == 0) {
+                        links[linkCount++] = dealIds[i];
+                        links[linkCount++] = contactIds[first + (contact - first + 1 + random.nextInt(contacts - 1)) % contacts];
+                    }
+                }
+                rows = deals.finish();
+            }
+            try (CopyWriter dealContacts = new CopyWriter(copy, "deal_contacts", "deal_id, contact_id")) {
+                for (int i = 0; i < linkCount; i += 2) {
+                    dealContacts.add(links[i]).add(links[i + 1]).endRow();
+                }
+                rows += dealContacts.finish();
+            }
+            // History as the deal service would have recorded it: the creation, then the move to the current stage
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO deal_events (org_id, deal_id, account_id, contact_id, event_type, from_stage, to_stage, deal_value, occurred_at) "
+                            + "SELECT org_id, deal_id, account_id, contact_id, 'CREATED', NULL, ?, deal_value, created_at "
+                            + "FROM deals WHERE org_id = ? "
+                            + "UNION ALL "
+                            + "SELECT org_id, deal_id, account_id, contact_id, 'STAGE_CHANGED', ?, deal_stage, deal_value, updated_at "
+                            + "FROM deals WHERE org_id = ? AND deal_stage <> ?")) {
+                statement.setString(1, OPEN_STAGES[0]);
+                statement.setLong(2, orgId);
+                statement.setString(3, OPEN_STAGES[0]);
+                statement.setLong(4, orgId);
+                statement.setString(5, OPEN_STAGES[0]);
+                rows += statement.executeUpdate();
+            }
+            return rows;
+        }
+
+        private long copyLeads(Connection connection, CopyManager copy) throws SQLException {
+            leadIds = reserveIds(connection, "leads_lead_id_seq", leadCount);
+            try (CopyWriter rows = new CopyWriter(copy, "leads",
+                    "lead_id, org_id, member_id, lead_name, lead_email, phone, is_verified, created_at, updated_at")) {
+                for (int i = 0; i < leadCount; i++) {
+                    String name;
+                    String email;
+                    if (contactIds.length > 0 && random.nextInt(10) == 0) {
+                        // Same person as a contact: shows up on its timeline and as a duplicate candidate
+                        int contact = random.nextInt(contactIds.length);
+                        name = FIRST_NAMES[contactFirst[contact]] + " " + LAST_NAMES[contactLast[contact]];
+                        email = contactEmail(contact);
+                    } else {
+                        String first = pick(FIRST_NAMES);
+                        String last = pick(LAST_NAMES);
+                        name = first + " " + last;
+                        email = (first + "." + last + random.nextInt(1000)).toLowerCase(Locale.ROOT) + "@mail.example.com";
+                    }
+                    OffsetDateTime createdAt = createdAt();
+                    rows.add(leadIds[i]).add(orgId).add(owner()).add(name).add(email).add(phone())
+                            .add(random.nextInt(3) == 0 ? "t" : "f").add(createdAt).add(createdAt).endRow();
+                }
+                return rows.finish();
+            }
+        }
+
+        private long copyActivities(CopyManager copy) throws SQLException {
+            try (CopyWriter rows = new CopyWriter(copy, "activities",
+                    "org_id, member_id, lead_id, contact_id, account_id, deal_id, type, subject, description, "
+                            + "status, priority, activity_date, created_at, updated_at")) {
+                for (int i = 0; i < activityCount; i++) {
+                    // Each activity is about one record, mostly deals
+                    Long lead = null;
+                    Long contact = null;
+                    Long account = null;
+                    Long deal = null;
+                    int about = random.nextInt(20);
+                    if (about < 8) {
+                        deal = dealIds[skewed(dealIds.length)];
+                    } else if (about < 13) {
+                        contact = contactIds[random.nextInt(contactIds.length)];
+                    } else if (about < 16) {
+                        account = accountIds[skewed(accountIds.length)];
+                    } else if (leadIds.length > 0) {
+                        lead = leadIds[random.nextInt(leadIds.length)];
+                    }
+                    String type = pick(ACTIVITY_TYPES);
+                    OffsetDateTime createdAt = createdAt();
+                    OffsetDateTime due = createdAt.plusHours(random.nextInt(24 * 14));
+                    String status = due.isAfter(end) ? (random.nextBoolean() ? "Not Started" : "In Progress")
+                            : random.nextInt(10) == 0 ? "Cancelled" : "Completed";
+                    rows.add(orgId).add(owner()).add(lead).add(contact).add(account).add(deal).add(type)
+                            .add(type + " with " + pick(FIRST_NAMES) + " " + pick(LAST_NAMES)).add(null)
+                            .add(status).add(pick(PRIORITIES)).add(due.toLocalDateTime()).add(createdAt).add(createdAt)
+                            .endRow();
+                }
+                return rows.finish();
+            }
+        }
+
+        private String stage(long ageDays) {
+            // Older deals have mostly been decided
+            if (ageDays > 120 && random.nextInt(5) > 0) {
+                return random.nextBoolean() ? "Closed Won" : "Closed Lost";
+            }
+            return OPEN_STAGES[skewed(OPEN_STAGES.length)];
+        }
+
+        private BigDecimal probability(String stage) {
+            switch (stage) {
+                case "Prospecting": return BigDecimal.valueOf(10);
+                case "Qualification": return BigDecimal.valueOf(25);
+                case "Proposal": return BigDecimal.valueOf(50);
+                case "Negotiation": return BigDecimal.valueOf(75);
+                case "Closed Won": return BigDecimal.valueOf(100);
+                default: return BigDecimal.ZERO;
+            }
+        }
+
+        // Log-normal around 8k: many small deals, a few very large ones
+        private BigDecimal dealValue() {
+            double gaussian = Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+            return BigDecimal.valueOf(Math.min(Math.exp(9 + gaussian), 1e9)).setScale(2, RoundingMode.HALF_UP);
+        }
+
+        private String companyName() {
+            return pick(COMPANY_WORDS) + " " + pick(COMPANY_WORDS) + " " + pick(COMPANY_SUFFIXES);
+        }
+
+        private String contactEmail(int contact) {
+            return (FIRST_NAMES[contactFirst[contact]] + "." + LAST_NAMES[contactLast[contact]]).toLowerCase(Locale.ROOT)
+                    + "@" + accountDomains[contactAccount[contact]];
+        }
+
+        private String phone() {
+            return String.format("+1-%03d-%03d-%04d", 200 + random.nextInt(800), random.nextInt(1000), random.nextInt(10000));
+        }
+
+        private OffsetDateTime createdAt() {
+            return end.minusSeconds(1 + random.nextLong(HISTORY_DAYS * 86_400L));
+        }
+
+        private long owner() {
+            return memberIds[skewed(memberIds.length)];
+        }
+
+        // Index in [0, n), low indexes far more likely
+        private int skewed(int n) {
+            return (int) (n * Math.pow(random.nextDouble(), 2));
+        }
+
+        private <T> T pick(T[] values) {
+            return values[random.nextInt(values.length)];
+        }
+    }
+
+    private static long[] reserveIds(Connection connection, String sequence, int count) throws SQLException {
+        long[] ids = new long[count];
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT nextval(?::regclass) FROM generate_series(1, ?)")) {
+            statement.setString(1, sequence);
+            statement.setInt(2, count);
+            statement.setFetchSize(10_000);
+            try (ResultSet result = statement.executeQuery()) {
+                for (int i = 0; result.next(); i++) {
+                    ids[i] = result.getLong(1);
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Rows for one COPY ... FROM STDIN in text format, sent to the server in
+     * blocks as they are written.
+     */
+    private static final class CopyWriter implements AutoCloseable {
+        private static final int BLOCK = 1 << 16;
+
+        private final CopyIn copyIn;
+        private final StringBuilder buffer = new StringBuilder(BLOCK + 4096);
+        private boolean rowStarted;
+        private long rows;
+
+        private CopyWriter(CopyManager copy, String table, String columns) throws SQLException {
+            this.copyIn = copy.copyIn("COPY " + table + " (" + columns + ") FROM STDIN");
+        }
+
+        private CopyWriter add(Object value) {
+            if (rowStarted) {
+                buffer.append('\t');
+            }
+            rowStarted = true;
+            if (value == null) {
+                buffer.append("\\N");
+                return this;
+            }
+            String text = value.toString();
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '\\': buffer.append("\\\\"); break;
+                    case '\t': buffer.append("\\t"); break;
+                    case '\n': buffer.append("\\n"); break;
+                    case '\r': buffer.append("\\r"); break;
+                    default: buffer.append(c);
+                }
+            }
+            return this;
+        }
+
+        private void endRow() throws SQLException {
+            buffer.append('\n');
+            rowStarted = false;
+            rows++;
+            if (buffer.length() >= BLOCK) {
+                flush();
+            }
+        }
+
+        private long finish() throws SQLException {
+            flush();
+            copyIn.endCopy();
+            return rows;
+        }
+
+        private void flush() throws SQLException {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+}
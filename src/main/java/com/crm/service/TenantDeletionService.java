@@ -0,0 +1,112 @@
+package com.crm.service;
+
+import com.crm.dto.DeletionJobDto;
+import com.crm.entity.DeletionJob;
+import com.crm.entity.Member;
+import com.crm.repository.DeletionJobRepository;
+import com.crm.repository.MemberRepository;
+import com.crm.repository.OrganizationRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Accepts organization and member deletions and hides them straight away;
+ * the rows themselves are removed later by TenantDeletionWorker.
+ *
+ * Every organization and member with a deletion job is kept in memory so the
+ * JWT filter and login can refuse them without a query. The sets are
+ * reloaded periodically to pick up deletions accepted by other instances.
+ */
+@Service
+public class TenantDeletionService {
+
+    @Autowired
+    private DeletionJobRepository deletionJobRepository;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    private final Set<Long> hiddenOrgIds = ConcurrentHashMap.newKeySet();
+
+    private final Set<Long> hiddenMemberIds = ConcurrentHashMap.newKeySet();
+
+    @Transactional
+    public DeletionJobDto deleteOrganization(Long orgId, Long requestedBy) {
+        if (hiddenOrgIds.contains(orgId) || !organizationRepository.existsById(orgId)) {
+            throw new RuntimeException("Organization not found");
+        }
+        DeletionJob job = deletionJobRepository.save(new DeletionJob(orgId, null, requestedBy));
+        hiddenOrgIds.add(orgId);
+        entityCacheService.evictOrganization(orgId);
+        return convertToDto(job);
+    }
+
+    @Transactional
+    public DeletionJobDto deleteMember(Long orgId, Long memberId, Long requestedBy) {
+        Member member = memberRepository.findById(memberId)
+                .filter(m -> !hiddenMemberIds.contains(m.getMemberId()))
+                .orElseThrow(() -> new RuntimeException("Member not found"));
+        if (!orgId.equals(member.getOrganization().getOrgId())) {
+            throw new RuntimeException("Member not found");
+        }
+        DeletionJob job = deletionJobRepository.save(new DeletionJob(orgId, memberId, requestedBy));
+        hiddenMemberIds.add(memberId);
+        entityCacheService.evictMember(memberId);
+        return convertToDto(job);
+    }
+
+    @Transactional(readOnly = true)
+    public DeletionJobDto getJob(Long jobId) {
+        DeletionJob job = deletionJobRepository.findById(jobId)
+                .orElseThrow(() -> new RuntimeException("Deletion job not found"));
+        return convertToDto(job);
+    }
+
+    /**
+     * True when the organization, or the member, has been scheduled for deletion.
+     */
+    public boolean isHidden(Long orgId, Long memberId) {
+        return (orgId != null && hiddenOrgIds.contains(orgId))
+                || (memberId != null && hiddenMemberIds.contains(memberId));
+    }
+
+    public boolean isOrganizationHidden(Long orgId) {
+        return hiddenOrgIds.contains(orgId);
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${app.deletion.refresh-interval-ms:10000}")
+    public void refreshHidden() {
+        // Add-only: job rows are never removed, and a load that started before
+        // a local deletion committed must not un-hide it
+        hiddenOrgIds.addAll(deletionJobRepository.findDeletedOrgIds());
+        hiddenMemberIds.addAll(deletionJobRepository.findDeletedMemberIds());
+    }
+
+    DeletionJobDto convertToDto(DeletionJob job) {
+        return new DeletionJobDto(
+            job.getJobId(),
+            job.getOrgId(),
+            job.getMemberId(),
+            job.getStatus().name(),
+            job.getCurrentStep(),
+            job.getRowsDeleted(),
+            job.getAttempts(),
+            job.getLastError(),
+            job.getCreatedAt(),
+            job.getFinishedAt()
+        );
+    }
+}
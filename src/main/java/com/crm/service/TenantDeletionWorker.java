@@ -0,0 +1,250 @@
+package com.crm.service;
+
+import com.crm.dto.LiveEvent.Action;
+import com.crm.entity.ChangeVersion.EntityType;
+import com.crm.entity.DeletionJob;
+import com.crm.repository.DeletionJobRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Runs deletion jobs. Each step is one set-based statement repeated in
+ * chunks of app.deletion.chunk-size rows, one short transaction per chunk,
+ * in an order that satisfies the foreign keys. Every step is idempotent, so
+ * a job that fails or whose instance dies is simply run again from the top.
+ */
+@Service
+public class TenantDeletionWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(TenantDeletionWorker.class);
+
+    // A running job becomes claimable again after this long without progress
+    private static final Duration LEASE = Duration.ofMinutes(5);
+
+    private static final List<Step> ORGANIZATION_STEPS = List.of(
+        new Step("deal_contacts", "deal_contacts",
+            "DELETE FROM deal_contacts WHERE (deal_id, contact_id) IN (" +
+            "SELECT dc.deal_id, dc.contact_id FROM deal_contacts dc JOIN deals d ON d.deal_id = dc.deal_id " +
+            "WHERE d.org_id = :id LIMIT :limit)"),
+        deleteOwned("activities", "activity_id", "org_id"),
+        deleteOwned("deals", "deal_id", "org_id"),
+        deleteOwned("contacts", "contact_id", "org_id"),
+        deleteOwned("accounts", "account_id", "org_id"),
+        deleteOwned("leads", "lead_id", "org_id"),
+        deleteOwned("dashboard_rollups", "rollup_id", "org_id"),
+        deleteOwned("change_versions", "version_id", "org_id"),
+        deleteOwned("members", "member_id", "org_id")
+    );
+
+    // Announced without ids once a member's records are gone
+    private static final List<EntityType> OWNED_TYPES = List.of(
+        EntityType.ACTIVITY, EntityType.DEAL, EntityType.CONTACT, EntityType.ACCOUNT, EntityType.LEAD);
+
+    // Records of other members that point at the deleted member's records are detached, not deleted
+    private static final List<Step> MEMBER_STEPS = List.of(
+        new Step("deal_contacts", "deal_contacts",
+            "DELETE FROM deal_contacts WHERE (deal_id, contact_id) IN (" +
+            "SELECT dc.deal_id, dc.contact_id FROM deal_contacts dc JOIN deals d ON d.deal_id = dc.deal_id " +
+            "WHERE d.member_id = :id LIMIT :limit)"),
+        new Step("deal_contacts", "deal_contacts",
+            "DELETE FROM deal_contacts WHERE (deal_id, contact_id) IN (" +
+            "SELECT dc.deal_id, dc.contact_id FROM deal_contacts dc JOIN contacts c ON c.contact_id = dc.contact_id " +
+            "WHERE c.member_id = :id LIMIT :limit)"),
+        deleteOwned("activities", "activity_id", "member_id"),
+        detach("activities", "activity_id", "deal_id", "deals"),
+        detach("activities", "activity_id", "contact_id", "contacts"),
+        detach("activities", "activity_id", "account_id", "accounts"),
+        detach("activities", "activity_id", "lead_id", "leads"),
+        deleteOwned("deals", "deal_id", "member_id"),
+        detach("deals", "deal_id", "contact_id", "contacts"),
+        detach("deals", "deal_id", "account_id", "accounts"),
+        deleteOwned("contacts", "contact_id", "member_id"),
+        detach("contacts", "contact_id", "account_id", "accounts"),
+        deleteOwned("accounts", "account_id", "member_id"),
+        deleteOwned("leads", "lead_id", "member_id")
+    );
+
+    @Autowired
+    private DeletionJobRepository deletionJobRepository;
+
+    @Autowired
+    private DashboardRollupService dashboardRollupService;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    private ChangeVersionService changeVersionService;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private LiveEventService liveEventService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.deletion.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.deletion.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.deletion.retry-delay:1m}")
+    private Duration retryDelay;
+
+    @Scheduled(fixedDelayString = "${app.deletion.poll-interval-ms:5000}")
+    public void runPending() {
+        DeletionJob job;
+        while ((job = claimNext()) != null) {
+            run(job);
+        }
+    }
+
+    private DeletionJob claimNext() {
+        return transactionTemplate.execute(status -> {
+            OffsetDateTime now = now();
+            List<DeletionJob> claimable = deletionJobRepository.findClaimableForUpdate(
+                    List.of(DeletionJob.Status.PENDING, DeletionJob.Status.RUNNING), now, PageRequest.of(0, 1));
+            if (claimable.isEmpty()) {
+                return null;
+            }
+            DeletionJob job = claimable.get(0);
+            job.setStatus(DeletionJob.Status.RUNNING);
+            job.setAttempts(job.getAttempts() + 1);
+            job.setLeaseUntil(now.plus(LEASE));
+            return job;
+        });
+    }
+
+    private void run(DeletionJob job) {
+        Long jobId = job.getJobId();
+        boolean memberOnly = job.getMemberId() != null;
+        Long scopeId = memberOnly ? job.getMemberId() : job.getOrgId();
+        log.info("Deletion job {} started for {} {} (attempt {})",
+                jobId, memberOnly ? "member" : "organization", scopeId, job.getAttempts());
+        try {
+            for (Step step : memberOnly ? MEMBER_STEPS : ORGANIZATION_STEPS) {
+                int affected;
+                do {
+                    affected = transactionTemplate.execute(status -> {
+                        int rows = execute(step, scopeId, chunkSize);
+                        deletionJobRepository.recordProgress(jobId, step.name, rows, now().plus(LEASE));
+                        return rows;
+                    });
+                } while (affected >= chunkSize);
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                if (memberOnly) {
+                    // The member's deals and leads are gone; recount rather than apply per-row deltas
+                    dashboardRollupService.rebuild(job.getOrgId());
+                    execute(new Step("members", "members", "DELETE FROM members WHERE member_id = :id"), scopeId, 0);
+                    entityCacheService.evictMember(scopeId);
+                    changeVersionService.bump(job.getOrgId(), EntityType.values());
+                    searchIndexService.removeMember(job.getOrgId(), scopeId);
+                    liveEventService.publish(job.getOrgId(), EntityType.MEMBER, Action.DELETED, scopeId);
+                    for (EntityType owned : OWNED_TYPES) {
+                        liveEventService.publish(job.getOrgId(), owned, Action.DELETED, List.of());
+                    }
+                } else {
+                    execute(new Step("organizations", "organizations", "DELETE FROM organizations WHERE org_id = :id"), scopeId, 0);
+                    entityCacheService.evictOrganization(scopeId);
+                    searchIndexService.removeOrganization(scopeId);
+                    liveEventService.disconnect(scopeId);
+                }
+                DeletionJob finished = deletionJobRepository.findById(jobId).orElseThrow();
+                finished.setStatus(DeletionJob.Status.COMPLETED);
+                finished.setCurrentStep(null);
+                finished.setLastError(null);
+                finished.setFinishedAt(now());
+            });
+            log.info("Deletion job {} completed", jobId);
+        } catch (RuntimeException e) {
+            recordFailure(jobId, e);
+        }
+    }
+
+    private int execute(Step step, Long scopeId, int limit) {
+        NativeQuery<?> query = entityManager.createNativeQuery(step.sql).unwrap(NativeQuery.class);
+        // Without a query space Hibernate would invalidate every second-level cache region
+        query.addSynchronizedQuerySpace(step.table);
+        query.setParameter("id", scopeId);
+        if (limit > 0) {
+            query.setParameter("limit", limit);
+        }
+        return query.executeUpdate();
+    }
+
+    private void recordFailure(Long jobId, RuntimeException failure) {
+        transactionTemplate.executeWithoutResult(status -> {
+            DeletionJob job = deletionJobRepository.findById(jobId).orElseThrow();
+            job.setLastError(truncate(failure.getMessage()));
+            if (job.getAttempts() >= maxAttempts) {
+                job.setStatus(DeletionJob.Status.FAILED);
+                job.setFinishedAt(now());
+                log.error("Deletion job {} failed permanently after {} attempts: {}",
+                        jobId, job.getAttempts(), failure.getMessage());
+            } else {
+                job.setLeaseUntil(now().plus(retryDelay));
+                log.warn("Deletion job {} attempt {} failed at step {}, retrying: {}",
+                        jobId, job.getAttempts(), job.getCurrentStep(), failure.getMessage());
+            }
+        });
+    }
+
+    private static Step deleteOwned(String table, String idColumn, String scopeColumn) {
+        return new Step(table, table,
+            "DELETE FROM " + table + " WHERE " + idColumn + " IN (" +
+            "SELECT " + idColumn + " FROM " + table + " WHERE " + scopeColumn + " = :id LIMIT :limit)");
+    }
+
+    // Clears table.fkColumn where it points at a row of parentTable owned by the member;
+    // bumping the row version makes a PATCH based on the old row get a 409
+    private static Step detach(String table, String idColumn, String fkColumn, String parentTable) {
+        return new Step(table + "." + fkColumn, table,
+            "UPDATE " + table + " SET " + fkColumn + " = NULL, version = version + 1 WHERE " + idColumn + " IN (" +
+            "SELECT t." + idColumn + " FROM " + table + " t JOIN " + parentTable + " p ON p." + fkColumn + " = t." + fkColumn +
+            " WHERE p.member_id = :id LIMIT :limit)");
+    }
+
+    private static OffsetDateTime now() {
+        return OffsetDateTime.now(ZoneOffset.UTC);
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+
+    private static final class Step {
+        private final String name;
+        private final String table;
+        private final String sql;
+
+        private Step(String name, String table, String sql) {
+            this.name = name;
+            this.table = table;
+            this.sql = sql;
+        }
+    }
+}
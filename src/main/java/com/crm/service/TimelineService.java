@@ -0,0 +1,212 @@
+package com.crm.service;
+
+import com.crm.dto.AccountDto;
+import com.crm.dto.ContactDto;
+import com.crm.dto.CursorPage;
+import com.crm.dto.DealDto;
+import com.crm.dto.TimelineItem;
+import com.crm.dto.TimelineItem.Source;
+import com.crm.entity.ChangeVersion.EntityType;
+import com.crm.entity.DealEvent;
+import com.crm.repository.AccountRepository;
+import com.crm.repository.ContactRepository;
+import com.crm.repository.DealRepository;
+import com.crm.util.PageCursor;
+import com.crm.util.TimelineCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+
+/**
+ * History of an account, contact or deal: its activities, the events of its
+ * deals and the leads sharing its email, newest first.
+ *
+ * Each source is read with its own keyset query on an index that starts with
+ * the record (see V10__record_timeline.sql), limited to one page plus one,
+ * and the sources are merged here. A page therefore costs three index range
+ * scans of at most limit + 1 rows, however long the history is.
+ */
+@Service
+public class TimelineService {
+
+    private static final Comparator<TimelineItem> ORDER = Comparator
+            .comparing(TimelineItem::getAt, Comparator.reverseOrder())
+            .thenComparing(TimelineItem::getSource)
+            .thenComparing(TimelineItem::getSortId, Comparator.reverseOrder());
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private DealRepository dealRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public CursorPage<TimelineItem> getTimeline(Long orgId, EntityType type, Long id, String cursor, Integer limit) {
+        int pageSize = PageCursor.clampLimit(limit);
+        TimelineCursor after = TimelineCursor.decode(cursor);
+        String activityOwner;
+        String dealEventOwner;
+        String email;
+        switch (type) {
+            case ACCOUNT: {
+                AccountDto account = accountRepository.findDtoById(id);
+                if (account == null || !orgId.equals(account.getOrgId())) {
+                    throw new RuntimeException("Account not found");
+                }
+                activityOwner = "account.accountId";
+                dealEventOwner = "accountId";
+                email = account.getEmail();
+                break;
+            }
+            case CONTACT: {
+                ContactDto contact = contactRepository.findDtoById(id);
+                if (contact == null || !orgId.equals(contact.getOrgId())) {
+                    throw new RuntimeException("Contact not found");
+                }
+                activityOwner = "contact.contactId";
+                dealEventOwner = "contactId";
+                email = contact.getContactEmail();
+                break;
+            }
+            case DEAL: {
+                DealDto deal = dealRepository.findDtoById(id);
+                if (deal == null || !orgId.equals(deal.getOrgId())) {
+                    throw new RuntimeException("Deal not found");
+                }
+                activityOwner = "deal.dealId";
+                dealEventOwner = "dealId";
+                ContactDto contact = deal.getContactId() != null ? contactRepository.findDtoById(deal.getContactId()) : null;
+                email = contact != null ? contact.getContactEmail() : null;
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("Timelines cover ACCOUNT, CONTACT and DEAL");
+        }
+
+        List<List<TimelineItem>> sources = new ArrayList<>();
+        sources.add(activities(activityOwner, id, after, pageSize + 1));
+        sources.add(dealEvents(dealEventOwner, id, after, pageSize + 1));
+        if (email != null && !email.isBlank()) {
+            sources.add(leads(orgId, email.toLowerCase(Locale.ROOT), after, pageSize + 1));
+        }
+        return merge(sources, pageSize);
+    }
+
+    // k-way merge of the sources' pages; each is already in ORDER
+    private static CursorPage<TimelineItem> merge(List<List<TimelineItem>> sources, int pageSize) {
+        PriorityQueue<Head> heads = new PriorityQueue<>(Comparator.comparing(Head::peek, ORDER));
+        for (List<TimelineItem> items : sources) {
+            if (!items.isEmpty()) {
+                heads.add(new Head(items));
+            }
+        }
+        List<TimelineItem> page = new ArrayList<>(pageSize);
+        while (page.size() < pageSize && !heads.isEmpty()) {
+            Head head = heads.poll();
+            page.add(head.items.get(head.next++));
+            if (head.next < head.items.size()) {
+                heads.add(head);
+            }
+        }
+        boolean hasMore = !heads.isEmpty();
+        String nextCursor = null;
+        if (hasMore) {
+            TimelineItem last = page.get(page.size() - 1);
+            nextCursor = new TimelineCursor(last.getAt(), last.getSource(), last.getSortId()).encode();
+        }
+        return new CursorPage<>(page, nextCursor, hasMore, pageSize);
+    }
+
+    private List<TimelineItem> activities(String owner, Long ownerId, TimelineCursor after, int max) {
+        TypedQuery<Object[]> query = entityManager.createQuery(
+                "SELECT a.activityId, a.activityType, a.subject, a.status, a.createdAt FROM Activity a " +
+                "WHERE a." + owner + " = :ownerId" + keyset(after, "a.createdAt", "a.activityId") +
+                " ORDER BY a.createdAt DESC, a.activityId DESC", Object[].class)
+                .setParameter("ownerId", ownerId);
+        List<TimelineItem> items = new ArrayList<>();
+        for (Object[] row : page(query, after, Source.ACTIVITY, max)) {
+            Long activityId = (Long) row[0];
+            items.add(new TimelineItem(Source.ACTIVITY, (String) row[1], activityId, (String) row[2], (String) row[3],
+                    (OffsetDateTime) row[4], activityId));
+        }
+        return items;
+    }
+
+    private List<TimelineItem> dealEvents(String owner, Long ownerId, TimelineCursor after, int max) {
+        TypedQuery<Object[]> query = entityManager.createQuery(
+                "SELECT e.eventId, e.dealId, d.dealName, e.eventType, e.fromStage, e.toStage, e.occurredAt " +
+                "FROM DealEvent e JOIN Deal d ON d.dealId = e.dealId " +
+                "WHERE e." + owner + " = :ownerId" + keyset(after, "e.occurredAt", "e.eventId") +
+                " ORDER BY e.occurredAt DESC, e.eventId DESC", Object[].class)
+                .setParameter("ownerId", ownerId);
+        List<TimelineItem> items = new ArrayList<>();
+        for (Object[] row : page(query, after, Source.DEAL, max)) {
+            DealEvent.EventType eventType = (DealEvent.EventType) row[3];
+            String fromStage = (String) row[4];
+            String toStage = (String) row[5];
+            String detail = eventType == DealEvent.EventType.STAGE_CHANGED ? fromStage + " → " + toStage : toStage;
+            items.add(new TimelineItem(Source.DEAL, eventType.name(), (Long) row[1], (String) row[2], detail,
+                    (OffsetDateTime) row[6], (Long) row[0]));
+        }
+        return items;
+    }
+
+    // Matches idx_leads_org_email_created on (org_id, lower(lead_email), created_at, lead_id)
+    private List<TimelineItem> leads(Long orgId, String email, TimelineCursor after, int max) {
+        TypedQuery<Object[]> query = entityManager.createQuery(
+                "SELECT l.leadId, l.leadName, l.leadEmail, l.createdAt FROM Lead l " +
+                "WHERE l.organization.orgId = :orgId AND LOWER(l.leadEmail) = :email" +
+                keyset(after, "l.createdAt", "l.leadId") +
+                " ORDER BY l.createdAt DESC, l.leadId DESC", Object[].class)
+                .setParameter("orgId", orgId)
+                .setParameter("email", email);
+        List<TimelineItem> items = new ArrayList<>();
+        for (Object[] row : page(query, after, Source.LEAD, max)) {
+            Long leadId = (Long) row[0];
+            items.add(new TimelineItem(Source.LEAD, "CREATED", leadId, (String) row[1], (String) row[2],
+                    (OffsetDateTime) row[3], leadId));
+        }
+        return items;
+    }
+
+    // The "at <= :at" bound lets the index scan start at the cursor; only rows sharing its timestamp are filtered
+    private static String keyset(TimelineCursor after, String at, String id) {
+        return after != null ? " AND " + at + " <= :at AND (" + at + " < :at OR " + id + " < :id)" : "";
+    }
+
+    private static List<Object[]> page(TypedQuery<Object[]> query, TimelineCursor after, Source source, int max) {
+        if (after != null) {
+            query.setParameter("at", after.getAt()).setParameter("id", after.idBoundFor(source));
+        }
+        return query.setMaxResults(max).getResultList();
+    }
+
+    private static final class Head {
+        private final List<TimelineItem> items;
+        private int next;
+
+        private Head(List<TimelineItem> items) {
+            this.items = items;
+        }
+
+        private TimelineItem peek() {
+            return items.get(next);
+        }
+    }
+}
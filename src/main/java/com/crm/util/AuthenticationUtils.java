@@ -1,6 +1,7 @@
 package com.crm.util;
 
-import com.crm.config.JwtConfig;
+import com.crm.security.JwtClaimsCache;
+import com.crm.security.JwtPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
@@ -9,37 +10,55 @@ import jakarta.servlet.http.HttpServletRequest;
 
 @Component
 public class AuthenticationUtils {
-    
+
     @Autowired
-    private JwtConfig jwtConfig;
-    
+    private JwtClaimsCache jwtClaimsCache;
+
     public Long getOrgIdFromAuthentication(Authentication authentication, HttpServletRequest request) {
-        String token = extractTokenFromRequest(request);
-        if (token != null) {
-            try {
-                return jwtConfig.extractOrgId(token);
-            } catch (Exception e) {
-                // Fallback to default if token extraction fails
-                return 1L;
-            }
+        JwtPrincipal principal = resolvePrincipal(authentication, request);
+        if (principal != null) {
+            return principal.getOrgId();
         }
         return 1L; // Default fallback
     }
-    
+
     public Long getMemberIdFromAuthentication(Authentication authentication, HttpServletRequest request) {
+        JwtPrincipal principal = resolvePrincipal(authentication, request);
+        if (principal != null) {
+            return principal.getMemberId();
+        }
+        return 1L; // Default fallback
+    }
+
+    public String getRoleFromAuthentication(Authentication authentication, HttpServletRequest request) {
+        JwtPrincipal principal = resolvePrincipal(authentication, request);
+        return principal != null ? principal.getRole() : null;
+    }
+
+    /**
+     * The JWT filter stores the verified claims as the principal, so the token
+     * is only re-read here when a request was authenticated some other way.
+     */
+    private JwtPrincipal resolvePrincipal(Authentication authentication, HttpServletRequest request) {
+        if (authentication != null && authentication.getPrincipal() instanceof JwtPrincipal principal) {
+            return principal;
+        }
         String token = extractTokenFromRequest(request);
         if (token != null) {
             try {
-                return jwtConfig.extractMemberId(token);
+                return jwtClaimsCache.resolve(token);
             } catch (Exception e) {
                 // Fallback to default if token extraction fails
-                return 1L;
+                return null;
             }
         }
-        return 1L; // Default fallback
+        return null;
     }
-    
+
     private String extractTokenFromRequest(HttpServletRequest request) {
+        if (request == null) {
+            return null;
+        }
         final String requestTokenHeader = request.getHeader("Authorization");
         if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
             return requestTokenHeader.substring(7);
@@ -47,4 +66,3 @@ public class AuthenticationUtils {
         return null;
     }
 }
-
@@ -0,0 +1,240 @@
+package com.crm.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Normalised name, email and phone of a lead, contact or account, as compared
+ * by duplicate detection.
+ *
+ * Records are only compared when they share a blocking key: the same email,
+ * the same last seven phone digits, or one of the MinHash LSH bands of the
+ * name's character trigrams. With {@value #BANDS} bands of {@value #ROWS}
+ * hashes, names about 50% alike land in a common band about two times in
+ * three, and names 70% alike almost always do.
+ */
+public final class DuplicateFingerprint {
+
+    private static final int BANDS = 8;
+    private static final int ROWS = 3;
+    private static final int MIN_PHONE_DIGITS = 7;
+    private static final int MAX_PHONE_DIGITS = 10;
+
+    // Fixed seeds, so a record's band keys are the same on every instance and after every restart
+    private static final long[] SEEDS = new SplittableRandom(0x5EED_D0_0DL).longs(BANDS * ROWS).toArray();
+
+    // Words that say nothing about which person or company a name refers to
+    private static final Set<String> NOISE_WORDS = Set.of(
+            "inc", "ltd", "llc", "llp", "plc", "corp", "corporation", "co", "company", "gmbh", "sa", "ag", "the",
+            "mr", "mrs", "ms", "dr");
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern DIGITS = Pattern.compile("\\p{Nd}+");
+
+    private final String name;
+    private final String email;
+    private final String phone;
+    // Sorted distinct trigram hashes of the name
+    private final int[] trigrams;
+    // Sorted distinct digit runs of the name, e.g. "12" in "Store 12"; empty when there are none
+    private final String numbers;
+
+    private DuplicateFingerprint(String name, String email, String phone) {
+        this.name = name;
+        this.email = email;
+        this.phone = phone;
+        this.trigrams = trigrams(name);
+        this.numbers = numbers(name);
+    }
+
+    public static DuplicateFingerprint of(String name, String email, String phone) {
+        return new DuplicateFingerprint(normalizeName(name), normalizeEmail(email), normalizePhone(phone));
+    }
+
+    // For values that were normalised already, e.g. read back from the search index
+    public static DuplicateFingerprint normalized(String name, String email, String phone) {
+        return new DuplicateFingerprint(name, email, phone);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public boolean isEmpty() {
+        return name == null && email == null && phone == null;
+    }
+
+    public List<String> blockKeys() {
+        List<String> keys = new ArrayList<>(BANDS + 2);
+        if (email != null) {
+            keys.add("e:" + email);
+        }
+        if (phone != null) {
+            keys.add("p:" + phone.substring(phone.length() - MIN_PHONE_DIGITS));
+        }
+        if (trigrams.length > 0) {
+            for (int band = 0; band < BANDS; band++) {
+                long bandHash = band;
+                for (int row = 0; row < ROWS; row++) {
+                    bandHash = bandHash * 31 + minHash(SEEDS[band * ROWS + row]);
+                }
+                keys.add("n" + band + ":" + Long.toHexString(bandHash));
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * 0..1, how likely the two are the same person or company. A shared email
+     * or phone number weighs more than a similar name; any of the three can
+     * carry a match on its own.
+     */
+    public double score(DuplicateFingerprint other) {
+        double nameMismatch = 1 - nameSimilarity(other);
+        double emailMismatch = email != null && email.equals(other.email) ? 0.05 : 1;
+        double phoneMismatch = phone != null && other.phone != null
+                && (phone.endsWith(other.phone) || other.phone.endsWith(phone)) ? 0.25 : 1;
+        return 1 - nameMismatch * emailMismatch * phoneMismatch;
+    }
+
+    private double nameSimilarity(DuplicateFingerprint other) {
+        if (trigrams.length == 0 || other.trigrams.length == 0) {
+            return 0;
+        }
+        // "Store 12" and "Store 14" are different stores however alike the rest is
+        if (!numbers.isEmpty() && !other.numbers.isEmpty() && !numbers.equals(other.numbers)) {
+            return 0;
+        }
+        int shared = 0;
+        int i = 0;
+        int j = 0;
+        while (i < trigrams.length && j < other.trigrams.length) {
+            if (trigrams[i] == other.trigrams[j]) {
+                shared++;
+                i++;
+                j++;
+            } else if (trigrams[i] < other.trigrams[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (double) shared / (trigrams.length + other.trigrams.length - shared);
+    }
+
+    private long minHash(long seed) {
+        long min = Long.MAX_VALUE;
+        for (int trigram : trigrams) {
+            min = Math.min(min, mix(trigram ^ seed));
+        }
+        return min;
+    }
+
+    // MurmurHash3 finalizer
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static int[] trigrams(String name) {
+        if (name == null) {
+            return new int[0];
+        }
+        String padded = " " + name + " ";
+        int[] hashes = new int[Math.max(0, padded.length() - 2)];
+        Map<String, Integer> seen = new HashMap<>();
+        for (int i = 0; i < hashes.length; i++) {
+            String trigram = padded.substring(i, i + 3);
+            // A repeated trigram counts again, so "c222" and "c2222" differ
+            int occurrence = seen.merge(trigram, 1, Integer::sum);
+            hashes[i] = occurrence == 1 ? trigram.hashCode() : (trigram + occurrence).hashCode();
+        }
+        return Arrays.stream(hashes).sorted().distinct().toArray();
+    }
+
+    private static String numbers(String name) {
+        if (name == null) {
+            return "";
+        }
+        Set<String> numbers = new TreeSet<>();
+        Matcher digits = DIGITS.matcher(name);
+        while (digits.find()) {
+            numbers.add(digits.group());
+        }
+        return String.join(" ", numbers);
+    }
+
+    // "Dr. Müller,  Jürgen" -> "jurgen muller": lower case, no accents or punctuation, words sorted
+    private static String normalizeName(String name) {
+        if (name == null) {
+            return null;
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(name, Normalizer.Form.NFKD)).replaceAll("");
+        TreeSet<String> words = new TreeSet<>();
+        for (String word : SEPARATORS.split(folded.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty() && !NOISE_WORDS.contains(word)) {
+                words.add(word);
+            }
+        }
+        return words.isEmpty() ? null : String.join(" ", words);
+    }
+
+    // "John.Doe+crm@Example.com " -> "john.doe@example.com"
+    private static String normalizeEmail(String email) {
+        if (email == null) {
+            return null;
+        }
+        String trimmed = email.trim().toLowerCase(Locale.ROOT);
+        int at = trimmed.lastIndexOf('@');
+        if (at <= 0 || at == trimmed.length() - 1) {
+            return null;
+        }
+        String local = trimmed.substring(0, at);
+        int tag = local.indexOf('+');
+        if (tag > 0) {
+            local = local.substring(0, tag);
+        }
+        return local + trimmed.substring(at);
+    }
+
+    // "+1 (555) 987-1234" -> "5559871234": the last ten digits, so country codes do not matter
+    private static String normalizePhone(String phone) {
+        if (phone == null) {
+            return null;
+        }
+        StringBuilder digits = new StringBuilder();
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        if (digits.length() < MIN_PHONE_DIGITS) {
+            return null;
+        }
+        return digits.substring(Math.max(0, digits.length() - MAX_PHONE_DIGITS));
+    }
+}
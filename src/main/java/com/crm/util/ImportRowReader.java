@@ -0,0 +1,196 @@
+package com.crm.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads a bulk import body one record at a time, so an upload is never held in
+ * memory as a whole. CSV needs a header row naming the DTO fields; NDJSON is one
+ * JSON object per line. Row numbers count data records from 1.
+ */
+public abstract class ImportRowReader implements Closeable {
+
+    public static final String TEXT_CSV = "text/csv";
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    protected final BufferedReader reader;
+    protected int rowNumber;
+
+    protected ImportRowReader(InputStream in) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    public static ImportRowReader of(String contentType, InputStream in, ObjectMapper objectMapper) {
+        if (contentType == null) {
+            throw new IllegalArgumentException("Content-Type must be " + TEXT_CSV + " or " + APPLICATION_NDJSON);
+        }
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        if (mediaType.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV))) {
+            return new Csv(in);
+        }
+        if (mediaType.isCompatibleWith(MediaType.parseMediaType(APPLICATION_NDJSON))) {
+            return new Ndjson(in, objectMapper);
+        }
+        throw new IllegalArgumentException("Unsupported import content type: " + contentType);
+    }
+
+    /**
+     * Next record, or null at end of input. A record that cannot be parsed is
+     * returned with its error set rather than aborting the import.
+     */
+    public abstract Row next() throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    public static class Row {
+        private final int number;
+        private final Map<String, Object> values;
+        private final String error;
+
+        Row(int number, Map<String, Object> values, String error) {
+            this.number = number;
+            this.values = values;
+            this.error = error;
+        }
+
+        public int getNumber() {
+            return number;
+        }
+
+        public Map<String, Object> getValues() {
+            return values;
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+
+    private static class Csv extends ImportRowReader {
+
+        private List<String> header;
+
+        Csv(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public Row next() throws IOException {
+            if (header == null) {
+                header = readRecord();
+                if (header == null) {
+                    return null;
+                }
+                for (int i = 0; i < header.size(); i++) {
+                    header.set(i, header.get(i).replace("\uFEFF", "").trim());
+                }
+            }
+            List<String> fields;
+            try {
+                do {
+                    fields = readRecord();
+                } while (fields != null && fields.size() == 1 && fields.get(0).isEmpty());
+            } catch (IllegalArgumentException e) {
+                return new Row(++rowNumber, null, e.getMessage());
+            }
+            if (fields == null) {
+                return null;
+            }
+            rowNumber++;
+            if (fields.size() != header.size()) {
+                return new Row(rowNumber, null, "Expected " + header.size() + " columns but found " + fields.size());
+            }
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (int i = 0; i < fields.size(); i++) {
+                // Empty cells stay unset so @NotBlank fires and optional fields stay null
+                if (!fields.get(i).isEmpty()) {
+                    values.put(header.get(i), fields.get(i));
+                }
+            }
+            return new Row(rowNumber, values, null);
+        }
+
+        // RFC 4180: quoted fields may contain commas, doubled quotes and line breaks
+        private List<String> readRecord() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        throw new IllegalArgumentException("Unterminated quoted field");
+                    }
+                    if (c == '"') {
+                        int next = reader.read();
+                        if (next != '"') {
+                            quoted = false;
+                            c = next;
+                            continue;
+                        }
+                    }
+                    field.append((char) c);
+                } else if (c == -1 || c == '\n') {
+                    fields.add(field.toString());
+                    return fields;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                c = reader.read();
+            }
+        }
+    }
+
+    private static class Ndjson extends ImportRowReader {
+
+        private static final TypeReference<Map<String, Object>> ROW_TYPE = new TypeReference<>() {};
+
+        private final ObjectMapper objectMapper;
+
+        Ndjson(InputStream in, ObjectMapper objectMapper) {
+            super(in);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public Row next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                rowNumber++;
+                try {
+                    return new Row(rowNumber, objectMapper.readValue(line, ROW_TYPE), null);
+                } catch (JsonProcessingException e) {
+                    return new Row(rowNumber, null, "Malformed JSON: " + e.getOriginalMessage());
+                }
+            }
+            return null;
+        }
+    }
+}
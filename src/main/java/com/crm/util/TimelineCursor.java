@@ -0,0 +1,77 @@
+package com.crm.util;
+
+import com.crm.dto.TimelineItem.Source;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor into a merged timeline: the position of the last item
+ * returned, as (at, source, id). Timelines are ordered by at descending, then
+ * source in declaration order, then id descending, so one position tells
+ * every source where to resume.
+ */
+public final class TimelineCursor {
+
+    private final OffsetDateTime at;
+    private final Source source;
+    private final long id;
+
+    public TimelineCursor(OffsetDateTime at, Source source, long id) {
+        this.at = at;
+        this.source = source;
+        this.id = id;
+    }
+
+    public OffsetDateTime getAt() {
+        return at;
+    }
+
+    public Source getSource() {
+        return source;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * The id a source should resume below at this cursor's timestamp: sources
+     * ordered before the cursor's have nothing left there, sources after it
+     * have everything left.
+     */
+    public long idBoundFor(Source other) {
+        int order = other.compareTo(source);
+        if (order < 0) {
+            return Long.MIN_VALUE;
+        }
+        return order > 0 ? Long.MAX_VALUE : id;
+    }
+
+    public String encode() {
+        String raw = at.withOffsetSameInstant(ZoneOffset.UTC) + "|" + source.name() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor returned as nextCursor; null for a blank cursor (first page).
+     */
+    public static TimelineCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new TimelineCursor(OffsetDateTime.parse(parts[0]), Source.valueOf(parts[1]),
+                    Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
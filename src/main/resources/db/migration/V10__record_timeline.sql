@@ -0,0 +1,39 @@
+-- Record timelines (TimelineService): deal history plus keyset indexes for
+-- each stream merged into an account, contact or deal timeline.
+
+-- Deal creations and stage moves. account_id and contact_id are the deal's at
+-- the time of the event, so each timeline reads one index range. Events go
+-- with their deal, including in the chunked tenant deletions.
+CREATE TABLE deal_events (
+    event_id    BIGSERIAL PRIMARY KEY,
+    org_id      BIGINT NOT NULL,
+    deal_id     BIGINT NOT NULL REFERENCES deals ON DELETE CASCADE,
+    account_id  BIGINT,
+    contact_id  BIGINT,
+    event_type  VARCHAR(20) NOT NULL CHECK (event_type IN ('CREATED', 'STAGE_CHANGED')),
+    from_stage  VARCHAR(50),
+    to_stage    VARCHAR(50),
+    deal_value  NUMERIC(15, 2),
+    occurred_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_deal_events_deal ON deal_events (deal_id, occurred_at, event_id);
+CREATE INDEX idx_deal_events_account ON deal_events (account_id, occurred_at, event_id);
+CREATE INDEX idx_deal_events_contact ON deal_events (contact_id, occurred_at, event_id);
+
+-- Existing deals get their creation; the stage and value they started with are unknown
+INSERT INTO deal_events (org_id, deal_id, account_id, contact_id, event_type, occurred_at)
+SELECT org_id, deal_id, account_id, contact_id, 'CREATED', created_at
+FROM deals;
+
+-- Activities of one account, contact or deal, newest first. These replace the
+-- single-column FK indexes and still serve the FK checks on delete.
+CREATE INDEX IF NOT EXISTS idx_activities_account_created ON activities (account_id, created_at, activity_id);
+CREATE INDEX IF NOT EXISTS idx_activities_contact_created ON activities (contact_id, created_at, activity_id);
+CREATE INDEX IF NOT EXISTS idx_activities_deal_created ON activities (deal_id, created_at, activity_id);
+DROP INDEX IF EXISTS idx_activities_account;
+DROP INDEX IF EXISTS idx_activities_contact;
+DROP INDEX IF EXISTS idx_activities_deal;
+
+-- Leads with the email of a contact or account, newest first
+CREATE INDEX IF NOT EXISTS idx_leads_org_email_created ON leads (org_id, lower(lead_email), created_at, lead_id);
@@ -0,0 +1,141 @@
+-- Schema as created by Hibernate (ddl-auto: update) before migrations were introduced.
+-- Databases that already have these tables are baselined at version 1 and skip this script.
+
+CREATE TABLE roles (
+    role_id      BIGSERIAL PRIMARY KEY,
+    role_name    VARCHAR(255) NOT NULL UNIQUE,
+    created_at   TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at   TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE TABLE organizations (
+    org_id       BIGSERIAL PRIMARY KEY,
+    org_name     VARCHAR(255) NOT NULL,
+    org_email    VARCHAR(255) NOT NULL UNIQUE,
+    created_at   TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at   TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE TABLE members (
+    member_id    BIGSERIAL PRIMARY KEY,
+    org_id       BIGINT NOT NULL,
+    role_id      BIGINT NOT NULL,
+    name         VARCHAR(255) NOT NULL,
+    email        VARCHAR(255) NOT NULL UNIQUE,
+    password     VARCHAR(255) NOT NULL,
+    status       VARCHAR(255) NOT NULL CHECK (status IN ('ACTIVE', 'INACTIVE', 'SUSPENDED')),
+    created_at   TIMESTAMP(6) NOT NULL,
+    updated_at   TIMESTAMP(6)
+);
+
+CREATE TABLE accounts (
+    account_id   BIGSERIAL PRIMARY KEY,
+    org_id       BIGINT NOT NULL,
+    member_id    BIGINT NOT NULL,
+    account_name VARCHAR(255) NOT NULL,
+    email        VARCHAR(255),
+    phone        VARCHAR(255),
+    website      VARCHAR(255),
+    description  TEXT,
+    industry     VARCHAR(255),
+    address      VARCHAR(255),
+    city         VARCHAR(255),
+    state        VARCHAR(255),
+    country      VARCHAR(255),
+    postal_code  VARCHAR(255),
+    created_at   TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at   TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE TABLE contacts (
+    contact_id    BIGSERIAL PRIMARY KEY,
+    org_id        BIGINT NOT NULL,
+    member_id     BIGINT NOT NULL,
+    account_id    BIGINT,
+    contact_name  VARCHAR(255) NOT NULL,
+    contact_email VARCHAR(255) NOT NULL,
+    phone         VARCHAR(255),
+    created_at    TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at    TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE TABLE leads (
+    lead_id      BIGSERIAL PRIMARY KEY,
+    org_id       BIGINT NOT NULL,
+    member_id    BIGINT NOT NULL,
+    lead_name    VARCHAR(255) NOT NULL,
+    lead_email   VARCHAR(255) NOT NULL,
+    phone        VARCHAR(255),
+    is_verified  BOOLEAN NOT NULL,
+    created_at   TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at   TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE TABLE deals (
+    deal_id             BIGSERIAL PRIMARY KEY,
+    org_id              BIGINT NOT NULL,
+    member_id           BIGINT NOT NULL,
+    account_id          BIGINT,
+    contact_id          BIGINT,
+    deal_name           VARCHAR(255) NOT NULL,
+    deal_value          NUMERIC(15, 2),
+    deal_stage          VARCHAR(255) NOT NULL,
+    probability         VARCHAR(255),
+    description         TEXT,
+    expected_close_date TIMESTAMP(6) WITH TIME ZONE,
+    actual_close_date   TIMESTAMP(6) WITH TIME ZONE,
+    created_at          TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at          TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE TABLE deal_contacts (
+    deal_id      BIGINT NOT NULL,
+    contact_id   BIGINT NOT NULL
+);
+
+CREATE TABLE activities (
+    activity_id   BIGSERIAL PRIMARY KEY,
+    org_id        BIGINT NOT NULL,
+    member_id     BIGINT NOT NULL,
+    lead_id       BIGINT,
+    contact_id    BIGINT,
+    account_id    BIGINT,
+    deal_id       BIGINT,
+    type          VARCHAR(255) NOT NULL,
+    subject       VARCHAR(255) NOT NULL,
+    description   TEXT,
+    status        VARCHAR(255),
+    priority      VARCHAR(255),
+    activity_date TIMESTAMP(6),
+    created_at    TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at    TIMESTAMP(6) WITH TIME ZONE
+);
+
+-- Foreign keys keep the names Hibernate generated so existing databases match
+ALTER TABLE members ADD CONSTRAINT fkqsci2b55wtmyl2kchlllkdwm3 FOREIGN KEY (org_id) REFERENCES organizations;
+ALTER TABLE members ADD CONSTRAINT fkcwm27b0f1gqp3bcvq1d0muqtk FOREIGN KEY (role_id) REFERENCES roles;
+
+ALTER TABLE accounts ADD CONSTRAINT fk5wthig4cceujoms81xk981y80 FOREIGN KEY (member_id) REFERENCES members;
+ALTER TABLE accounts ADD CONSTRAINT fkg050a9kfsi83yh8vhllsv0i26 FOREIGN KEY (org_id) REFERENCES organizations;
+
+ALTER TABLE contacts ADD CONSTRAINT fkl4tvq8qk7x11e16v2cnp1mja8 FOREIGN KEY (account_id) REFERENCES accounts;
+ALTER TABLE contacts ADD CONSTRAINT fk2j4coty8pcfnrjilpjt60ovxs FOREIGN KEY (member_id) REFERENCES members;
+ALTER TABLE contacts ADD CONSTRAINT fk456ftpyals0iqify7hihqrv6o FOREIGN KEY (org_id) REFERENCES organizations;
+
+ALTER TABLE leads ADD CONSTRAINT fke48mc2pdi8capf7x7l3g00t13 FOREIGN KEY (member_id) REFERENCES members;
+ALTER TABLE leads ADD CONSTRAINT fklohuh9mgp1kinlfep2q2x7v2a FOREIGN KEY (org_id) REFERENCES organizations;
+
+ALTER TABLE deals ADD CONSTRAINT fked9ac3hpqt04mllduut41obgj FOREIGN KEY (account_id) REFERENCES accounts;
+ALTER TABLE deals ADD CONSTRAINT fktnx2uege7rrkv4dvu60boqdrt FOREIGN KEY (contact_id) REFERENCES contacts;
+ALTER TABLE deals ADD CONSTRAINT fkocgppy263bbws5aw22of8cssc FOREIGN KEY (member_id) REFERENCES members;
+ALTER TABLE deals ADD CONSTRAINT fkqqf08lt0n5urkoqft16j5aqoe FOREIGN KEY (org_id) REFERENCES organizations;
+
+ALTER TABLE deal_contacts ADD CONSTRAINT fks8gl982ui4bnhaj017vhayw4a FOREIGN KEY (contact_id) REFERENCES contacts;
+ALTER TABLE deal_contacts ADD CONSTRAINT fk6otaet0m2c5f8rr2d3rpoqogg FOREIGN KEY (deal_id) REFERENCES deals;
+
+ALTER TABLE activities ADD CONSTRAINT fkj97fvvdgk04axcyp5d6w838pb FOREIGN KEY (account_id) REFERENCES accounts;
+ALTER TABLE activities ADD CONSTRAINT fkmdpx4pw34wl4uv1pnuiqfapgv FOREIGN KEY (contact_id) REFERENCES contacts;
+ALTER TABLE activities ADD CONSTRAINT fk4qgv6mn8mdb4me9m1qg5reums FOREIGN KEY (deal_id) REFERENCES deals;
+ALTER TABLE activities ADD CONSTRAINT fkf7dwdqdh5opaejcemm2r16t0m FOREIGN KEY (lead_id) REFERENCES leads;
+ALTER TABLE activities ADD CONSTRAINT fk83gqu8iqeylqrrr74wg30t3xb FOREIGN KEY (member_id) REFERENCES members;
+ALTER TABLE activities ADD CONSTRAINT fk35cuonyq7ywh766nnj8moqugf FOREIGN KEY (org_id) REFERENCES organizations;
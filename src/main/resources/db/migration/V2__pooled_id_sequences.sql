@@ -0,0 +1,9 @@
+-- Leads, contacts, accounts, deals and activities allocate ids from their
+-- sequences in blocks of 50 (allocationSize = 50 on the entities), so JDBC
+-- batching is not defeated by per-row IDENTITY round trips. The column
+-- defaults stay in place for rows inserted outside the application.
+ALTER SEQUENCE leads_lead_id_seq INCREMENT BY 50;
+ALTER SEQUENCE contacts_contact_id_seq INCREMENT BY 50;
+ALTER SEQUENCE accounts_account_id_seq INCREMENT BY 50;
+ALTER SEQUENCE deals_deal_id_seq INCREMENT BY 50;
+ALTER SEQUENCE activities_activity_id_seq INCREMENT BY 50;
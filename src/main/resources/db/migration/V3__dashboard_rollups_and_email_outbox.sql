@@ -0,0 +1,33 @@
+-- IF NOT EXISTS: databases that ran a build with ddl-auto: update may already have these tables
+
+CREATE TABLE IF NOT EXISTS dashboard_rollups (
+    rollup_id    BIGSERIAL PRIMARY KEY,
+    org_id       BIGINT NOT NULL REFERENCES organizations,
+    metric       VARCHAR(20) NOT NULL CHECK (metric IN ('DEALS_CREATED', 'LEADS_CREATED', 'DEAL_STAGE')),
+    bucket       VARCHAR(50) NOT NULL,
+    item_count   BIGINT NOT NULL,
+    total_value  NUMERIC(17, 2) NOT NULL,
+    updated_at   TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT uk_dashboard_rollups_org_metric_bucket UNIQUE (org_id, metric, bucket)
+);
+
+CREATE TABLE IF NOT EXISTS email_outbox (
+    email_id        BIGSERIAL PRIMARY KEY,
+    org_id          BIGINT,
+    member_id       BIGINT,
+    from_address    VARCHAR(200) NOT NULL,
+    from_name       VARCHAR(200),
+    to_address      VARCHAR(200) NOT NULL,
+    reply_to        VARCHAR(200),
+    subject         VARCHAR(300) NOT NULL,
+    body            TEXT NOT NULL,
+    status          VARCHAR(20) NOT NULL CHECK (status IN ('PENDING', 'SENT', 'FAILED')),
+    attempts        INTEGER NOT NULL,
+    next_attempt_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    last_error      VARCHAR(1000),
+    created_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    sent_at         TIMESTAMP(6) WITH TIME ZONE
+);
+
+-- Dispatcher polls PENDING rows whose next_attempt_at is due
+CREATE INDEX IF NOT EXISTS idx_email_outbox_status_next ON email_outbox (status, next_attempt_at);
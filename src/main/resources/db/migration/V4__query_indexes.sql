@@ -0,0 +1,56 @@
+-- Index set for the queries in com.crm.repository. Every tenant-scoped list
+-- leads with org_id; member_id and the nullable FKs get their own indexes for
+-- the "my records" queries, joins and FK checks on delete.
+-- IF NOT EXISTS: the plain indexes are also declared on the entities, so
+-- databases that ran with ddl-auto: update may have some of them already.
+
+-- Indexes replaced below by single-column member/account indexes
+DROP INDEX IF EXISTS idx_deals_org_member;
+DROP INDEX IF EXISTS idx_activities_org_member;
+DROP INDEX IF EXISTS idx_contacts_org_account;
+
+-- members: findByOrganization*, findByRole (email is covered by its unique constraint)
+CREATE INDEX IF NOT EXISTS idx_members_org ON members (org_id);
+CREATE INDEX IF NOT EXISTS idx_members_role ON members (role_id);
+
+-- deals: keyset pages, search filters, findDtosByMember, party-email join
+CREATE INDEX IF NOT EXISTS idx_deals_org_created ON deals (org_id, created_at, deal_id);
+CREATE INDEX IF NOT EXISTS idx_deals_org_stage ON deals (org_id, deal_stage);
+CREATE INDEX IF NOT EXISTS idx_deals_org_value ON deals (org_id, deal_value);
+CREATE INDEX IF NOT EXISTS idx_deals_org_close_date ON deals (org_id, expected_close_date);
+CREATE INDEX IF NOT EXISTS idx_deals_member ON deals (member_id);
+CREATE INDEX IF NOT EXISTS idx_deals_account ON deals (account_id);
+CREATE INDEX IF NOT EXISTS idx_deals_contact ON deals (contact_id);
+
+CREATE INDEX IF NOT EXISTS idx_deal_contacts_deal ON deal_contacts (deal_id, contact_id);
+CREATE INDEX IF NOT EXISTS idx_deal_contacts_contact ON deal_contacts (contact_id);
+
+-- contacts: keyset pages, account filter, name-prefix search, party-email lookup
+CREATE INDEX IF NOT EXISTS idx_contacts_org_created ON contacts (org_id, created_at, contact_id);
+CREATE INDEX IF NOT EXISTS idx_contacts_org_name ON contacts (org_id, contact_name);
+CREATE INDEX IF NOT EXISTS idx_contacts_org_name_prefix ON contacts (org_id, lower(contact_name) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_contacts_org_email ON contacts (org_id, lower(contact_email));
+CREATE INDEX IF NOT EXISTS idx_contacts_account ON contacts (account_id);
+CREATE INDEX IF NOT EXISTS idx_contacts_member ON contacts (member_id);
+
+-- accounts: keyset pages, name-prefix search, party-email lookup, import duplicate check
+CREATE INDEX IF NOT EXISTS idx_accounts_org_created ON accounts (org_id, created_at, account_id);
+CREATE INDEX IF NOT EXISTS idx_accounts_org_name ON accounts (org_id, account_name);
+CREATE INDEX IF NOT EXISTS idx_accounts_org_name_prefix ON accounts (org_id, lower(account_name) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_accounts_org_email ON accounts (org_id, lower(email));
+CREATE INDEX IF NOT EXISTS idx_accounts_email ON accounts (email);
+CREATE INDEX IF NOT EXISTS idx_accounts_member ON accounts (member_id);
+
+-- leads: keyset pages, verified/created filters, findDtosByMember
+CREATE INDEX IF NOT EXISTS idx_leads_org_created ON leads (org_id, created_at, lead_id);
+CREATE INDEX IF NOT EXISTS idx_leads_org_verified_created ON leads (org_id, is_verified, created_at);
+CREATE INDEX IF NOT EXISTS idx_leads_member ON leads (member_id);
+
+-- activities: keyset pages, bulk filters, findByLead and the parent FKs
+CREATE INDEX IF NOT EXISTS idx_activities_org_created ON activities (org_id, created_at, activity_id);
+CREATE INDEX IF NOT EXISTS idx_activities_org_status ON activities (org_id, status);
+CREATE INDEX IF NOT EXISTS idx_activities_member ON activities (member_id);
+CREATE INDEX IF NOT EXISTS idx_activities_lead ON activities (lead_id);
+CREATE INDEX IF NOT EXISTS idx_activities_contact ON activities (contact_id);
+CREATE INDEX IF NOT EXISTS idx_activities_account ON activities (account_id);
+CREATE INDEX IF NOT EXISTS idx_activities_deal ON activities (deal_id);
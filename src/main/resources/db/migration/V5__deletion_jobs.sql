@@ -0,0 +1,18 @@
+-- No foreign keys: a job row outlives the organization or member it deletes
+
+CREATE TABLE deletion_jobs (
+    job_id       BIGSERIAL PRIMARY KEY,
+    org_id       BIGINT NOT NULL,
+    member_id    BIGINT,
+    requested_by BIGINT,
+    status       VARCHAR(20) NOT NULL CHECK (status IN ('PENDING', 'RUNNING', 'COMPLETED', 'FAILED')),
+    current_step VARCHAR(50),
+    rows_deleted BIGINT NOT NULL,
+    attempts     INTEGER NOT NULL,
+    lease_until  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    last_error   VARCHAR(1000),
+    created_at   TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    finished_at  TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE INDEX idx_deletion_jobs_status_lease ON deletion_jobs (status, lease_until);
@@ -0,0 +1,8 @@
+CREATE TABLE change_versions (
+    version_id  BIGSERIAL PRIMARY KEY,
+    org_id      BIGINT NOT NULL REFERENCES organizations,
+    entity_type VARCHAR(20) NOT NULL CHECK (entity_type IN ('ACCOUNT', 'ACTIVITY', 'CONTACT', 'DEAL', 'LEAD', 'MEMBER', 'DASHBOARD')),
+    version     BIGINT NOT NULL,
+    updated_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT uk_change_versions_org_entity_type UNIQUE (org_id, entity_type)
+);
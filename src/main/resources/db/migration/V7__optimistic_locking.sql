@@ -0,0 +1,7 @@
+-- Row versions for @Version optimistic locking and the conditional PATCH updates.
+-- A constant default is metadata-only on PostgreSQL 11+, so no table rewrite.
+ALTER TABLE deals ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE leads ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE contacts ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE accounts ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE activities ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,7 @@
+-- The search index catch-up (SearchIndexSync) re-reads an organization's rows
+-- of one type updated since its last poll.
+CREATE INDEX IF NOT EXISTS idx_deals_org_updated ON deals (org_id, updated_at);
+CREATE INDEX IF NOT EXISTS idx_leads_org_updated ON leads (org_id, updated_at);
+CREATE INDEX IF NOT EXISTS idx_contacts_org_updated ON contacts (org_id, updated_at);
+CREATE INDEX IF NOT EXISTS idx_accounts_org_updated ON accounts (org_id, updated_at);
+CREATE INDEX IF NOT EXISTS idx_activities_org_updated ON activities (org_id, updated_at);
@@ -0,0 +1,20 @@
+-- Deal probability becomes a percentage (0-100) the forecast can sum.
+-- The free-form text is converted by its first number: "75%", "75" and "0.75"
+-- all become 75 (a bare number up to 1 is read as a fraction). Text without a
+-- number ("high", "") becomes NULL; values above 100 are capped.
+ALTER TABLE deals RENAME COLUMN probability TO probability_text;
+ALTER TABLE deals ADD COLUMN probability NUMERIC(5,2);
+
+UPDATE deals d
+SET probability = LEAST(100, CASE WHEN p.percent OR p.number > 1 THEN p.number ELSE p.number * 100 END)
+FROM (
+    SELECT deal_id,
+           substring(probability_text FROM '([0-9]+(?:\.[0-9]+)?)')::NUMERIC AS number,
+           strpos(probability_text, '%') > 0 AS percent
+    FROM deals
+    WHERE probability_text ~ '[0-9]'
+) p
+WHERE d.deal_id = p.deal_id;
+
+ALTER TABLE deals DROP COLUMN probability_text;
+ALTER TABLE deals ADD CONSTRAINT chk_deals_probability CHECK (probability BETWEEN 0 AND 100);
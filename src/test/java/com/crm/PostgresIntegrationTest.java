@@ -0,0 +1,58 @@
+package com.crm;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Boots the whole application against a real PostgreSQL server.
+ *
+ * One embedded server is started per test JVM and shared by every subclass,
+ * so they also share one Spring context: subclasses must not add their own
+ * context configuration, or the second context would find the search index
+ * directory already locked. Flyway creates the schema and
+ * DataInitializationService seeds the test organization and its admin,
+ * manager and sales users, as on a fresh install.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public abstract class PostgresIntegrationTest {
+
+    private static final EmbeddedPostgres POSTGRES = startPostgres();
+
+    private static final Path SEARCH_INDEX_DIR = createTempDirectory();
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("app.search.index-dir", SEARCH_INDEX_DIR::toString);
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            // Stopped by the library's shutdown hook when the test JVM exits
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Path createTempDirectory() {
+        try {
+            return Files.createTempDirectory("crm-search-index-test");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.crm.controller;
+
+import com.crm.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AuthControllerTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void unknownEmailAndWrongPasswordGetTheSameResponse() throws Exception {
+        String unknownEmail = login("nobody@test.com", "password123");
+        String wrongPassword = login("sales@test.com", "not-the-password");
+
+        assertThat(unknownEmail).isEqualTo("Authentication failed: Invalid email or password");
+        assertThat(wrongPassword).isEqualTo(unknownEmail);
+    }
+
+    private String login(String email, String password) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}"))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+        return result.getResponse().getContentAsString();
+    }
+}
@@ -0,0 +1,157 @@
+package com.crm.service;
+
+import com.crm.PostgresIntegrationTest;
+import com.crm.dto.BulkUpdateRequest;
+import com.crm.dto.BulkUpdateResult;
+import com.crm.dto.DealDto;
+import com.crm.dto.DealFilter;
+import com.crm.entity.DashboardRollup;
+import com.crm.entity.DashboardRollup.Metric;
+import com.crm.entity.Member;
+import com.crm.repository.MemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bulk stage changes with app.bulk.chunk-size set to 2 in application-test.yml,
+ * so every request below runs in several chunks.
+ */
+class BulkUpdateServiceTest extends PostgresIntegrationTest {
+
+    private static final String TARGET_STAGE = "Negotiation";
+
+    @Autowired
+    private BulkUpdateService bulkUpdateService;
+
+    @Autowired
+    private DashboardRollupService dashboardRollupService;
+
+    @Autowired
+    private DealService dealService;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long orgId;
+
+    private Long memberId;
+
+    @BeforeEach
+    void startFromRebuiltRollups() {
+        Member admin = memberRepository.findByEmailWithRoleAndOrganization("admin@test.com").orElseThrow();
+        orgId = admin.getOrganization().getOrgId();
+        memberId = admin.getMemberId();
+        // Other tests may write rows behind the service layer
+        dashboardRollupService.rebuild(orgId);
+    }
+
+    @Test
+    void stageChangeByIds() {
+        BigDecimal value = new BigDecimal("1301.50");
+        List<Long> toMove = createDeals("Prospecting", value, 3);
+        toMove.addAll(createDeals("Qualification", value, 1));
+        List<Long> alreadyThere = createDeals(TARGET_STAGE, value, 2);
+
+        List<Long> ids = new ArrayList<>(toMove);
+        ids.addAll(alreadyThere);
+        BulkUpdateRequest<DealFilter> request = new BulkUpdateRequest<>();
+        request.setIds(ids);
+        request.setDealStage(TARGET_STAGE);
+
+        assertStageChange(request, toMove, alreadyThere, 3);
+    }
+
+    @Test
+    void stageChangeByFilter() {
+        // A value no other test uses, so the filter selects exactly these deals
+        BigDecimal value = new BigDecimal("2702.25");
+        List<Long> toMove = createDeals("Proposal", value, 4);
+        List<Long> alreadyThere = createDeals(TARGET_STAGE, value, 1);
+
+        DealFilter filter = new DealFilter();
+        filter.setMinValue(value);
+        filter.setMaxValue(value);
+        BulkUpdateRequest<DealFilter> request = new BulkUpdateRequest<>();
+        request.setFilter(filter);
+        request.setDealStage(TARGET_STAGE);
+
+        assertStageChange(request, toMove, alreadyThere, 3);
+    }
+
+    private void assertStageChange(BulkUpdateRequest<DealFilter> request, List<Long> toMove, List<Long> alreadyThere,
+                                   int expectedChunks) {
+        Map<Long, Long> versionsBefore = versions(toMove, alreadyThere);
+
+        BulkUpdateResult result = bulkUpdateService.changeDealStage(orgId, request);
+
+        assertThat(result.getChunks()).isEqualTo(expectedChunks);
+        assertThat(result.getMatched()).isEqualTo(toMove.size() + alreadyThere.size());
+        assertThat(result.getUpdated()).isEqualTo(toMove.size());
+        Map<Long, Long> versionsAfter = versions(toMove, alreadyThere);
+        for (Long dealId : toMove) {
+            assertThat(versionsAfter.get(dealId)).as("version of moved deal %d", dealId)
+                    .isEqualTo(versionsBefore.get(dealId) + 1);
+            assertThat(stageOf(dealId)).isEqualTo(TARGET_STAGE);
+        }
+        for (Long dealId : alreadyThere) {
+            assertThat(versionsAfter.get(dealId)).as("version of skipped deal %d", dealId)
+                    .isEqualTo(versionsBefore.get(dealId));
+        }
+
+        // The deltas applied chunk by chunk must match fresh aggregates
+        Map<Metric, Map<String, String>> maintained = rollups();
+        dashboardRollupService.rebuild(orgId);
+        assertThat(maintained).isEqualTo(rollups());
+    }
+
+    private List<Long> createDeals(String stage, BigDecimal value, int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(dealService.createDeal(new DealDto("Bulk " + stage + " " + value + " " + i, null, value, stage,
+                    null, null, orgId, memberId, null, null)).getDealId());
+        }
+        return ids;
+    }
+
+    private Map<Long, Long> versions(List<Long> toMove, List<Long> alreadyThere) {
+        Map<Long, Long> versions = new TreeMap<>();
+        for (List<Long> ids : List.of(toMove, alreadyThere)) {
+            for (Long dealId : ids) {
+                versions.put(dealId, jdbcTemplate.queryForObject(
+                        "SELECT version FROM deals WHERE deal_id = ?", Long.class, dealId));
+            }
+        }
+        return versions;
+    }
+
+    private String stageOf(Long dealId) {
+        return jdbcTemplate.queryForObject("SELECT deal_stage FROM deals WHERE deal_id = ?", String.class, dealId);
+    }
+
+    // bucket -> "count/total" per metric; totals without trailing zeros, since the scale may differ
+    private Map<Metric, Map<String, String>> rollups() {
+        Map<Metric, Map<String, String>> rollups = new TreeMap<>();
+        for (Metric metric : Metric.values()) {
+            Map<String, String> buckets = new TreeMap<>();
+            for (DashboardRollup rollup : dashboardRollupService.getRollups(orgId, metric)) {
+                buckets.put(rollup.getBucket(),
+                        rollup.getItemCount() + "/" + rollup.getTotalValue().stripTrailingZeros().toPlainString());
+            }
+            rollups.put(metric, buckets);
+        }
+        return rollups;
+    }
+}
@@ -0,0 +1,70 @@
+package com.crm.service;
+
+import com.crm.PostgresIntegrationTest;
+import com.crm.dto.DealDto;
+import com.crm.dto.LeadDto;
+import com.crm.entity.DashboardRollup;
+import com.crm.entity.DashboardRollup.Metric;
+import com.crm.entity.Member;
+import com.crm.repository.MemberRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DashboardRollupServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private DashboardRollupService dashboardRollupService;
+
+    @Autowired
+    private DealService dealService;
+
+    @Autowired
+    private LeadService leadService;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void rebuildBucketsByUtcMonthWhateverTheSessionTimeZone() {
+        Member admin = memberRepository.findByEmailWithRoleAndOrganization("admin@test.com").orElseThrow();
+        Long orgId = admin.getOrganization().getOrgId();
+
+        Long dealId = dealService.createDeal(new DealDto("Month Boundary Deal", null, BigDecimal.TEN, "Prospecting",
+                null, null, orgId, admin.getMemberId(), null, null)).getDealId();
+        LeadDto lead = new LeadDto();
+        lead.setLeadName("Month Boundary Lead");
+        lead.setLeadEmail("month-boundary-lead@test.com");
+        lead.setOrgId(orgId);
+        lead.setMemberId(admin.getMemberId());
+        Long leadId = leadService.createLead(lead).getLeadId();
+
+        // January in UTC, already February in Auckland (UTC+13)
+        jdbcTemplate.update("UPDATE deals SET created_at = TIMESTAMPTZ '2001-01-31 23:30:00+00' WHERE deal_id = ?", dealId);
+        jdbcTemplate.update("UPDATE leads SET created_at = TIMESTAMPTZ '2001-01-31 23:30:00+00' WHERE lead_id = ?", leadId);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("SET LOCAL TIME ZONE 'Pacific/Auckland'");
+            dashboardRollupService.rebuild(orgId);
+        });
+
+        for (Metric metric : new Metric[] {Metric.DEALS_CREATED, Metric.LEADS_CREATED}) {
+            Map<String, Long> counts = dashboardRollupService.getRollups(orgId, metric).stream()
+                    .collect(Collectors.toMap(DashboardRollup::getBucket, DashboardRollup::getItemCount));
+            assertThat(counts).as(metric.name()).containsEntry("2001-01", 1L).doesNotContainKey("2001-02");
+        }
+    }
+}
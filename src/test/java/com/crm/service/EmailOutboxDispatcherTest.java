@@ -0,0 +1,130 @@
+package com.crm.service;
+
+import com.crm.PostgresIntegrationTest;
+import com.crm.dto.LoginRequest;
+import com.crm.entity.OutboundEmail;
+import com.crm.repository.OutboundEmailRepository;
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class EmailOutboxDispatcherTest extends PostgresIntegrationTest {
+
+    // Started before and stopped after each test, with the port and login application-test.yml gives spring.mail
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withUser("crm@test.local", "secret"));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SimpleAuthService simpleAuthService;
+
+    @Autowired
+    private EmailOutboxDispatcher emailOutboxDispatcher;
+
+    @Autowired
+    private OutboundEmailRepository outboundEmailRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void clearOutbox() {
+        outboundEmailRepository.deleteAll();
+    }
+
+    @Test
+    void supportRequestIsQueuedThenDelivered() throws Exception {
+        postSupportRequest("Cannot export", "The export button does nothing");
+
+        List<OutboundEmail> queued = outboundEmailRepository.findAll();
+        assertThat(queued).hasSize(1);
+        assertThat(queued.get(0).getStatus()).isEqualTo(OutboundEmail.Status.PENDING);
+        assertThat(queued.get(0).getAttempts()).isZero();
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+
+        emailOutboxDispatcher.dispatch();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(1);
+        assertThat(received[0].getSubject()).isEqualTo("[Support] Cannot export");
+        assertThat(received[0].getAllRecipients()).containsExactly(new InternetAddress("support@test.local"));
+        assertThat(received[0].getReplyTo()).containsExactly(new InternetAddress("admin@test.com"));
+
+        OutboundEmail sent = outboundEmailRepository.findById(queued.get(0).getEmailId()).orElseThrow();
+        assertThat(sent.getStatus()).isEqualTo(OutboundEmail.Status.SENT);
+        assertThat(sent.getAttempts()).isEqualTo(1);
+        assertThat(sent.getSentAt()).isNotNull();
+        assertThat(pendingGauge()).isZero();
+    }
+
+    @Test
+    void failedSendIsRetriedAfterBackoff() throws Exception {
+        postSupportRequest("Login loop", "I keep getting sent back to the login page");
+        Long emailId = outboundEmailRepository.findAll().get(0).getEmailId();
+
+        greenMail.stop();
+        OffsetDateTime before = OffsetDateTime.now(ZoneOffset.UTC);
+        emailOutboxDispatcher.dispatch();
+        OffsetDateTime after = OffsetDateTime.now(ZoneOffset.UTC);
+
+        OutboundEmail failed = outboundEmailRepository.findById(emailId).orElseThrow();
+        assertThat(failed.getStatus()).isEqualTo(OutboundEmail.Status.PENDING);
+        assertThat(failed.getAttempts()).isEqualTo(1);
+        assertThat(failed.getLastError()).isNotBlank();
+        // initial-backoff (30s) after the first failed attempt
+        assertThat(failed.getNextAttemptAt()).isBetween(before.plusSeconds(29), after.plusSeconds(31));
+        assertThat(pendingGauge()).isEqualTo(1.0);
+
+        // Not due yet: another pass leaves it alone
+        greenMail.start();
+        emailOutboxDispatcher.dispatch();
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+        assertThat(outboundEmailRepository.findById(emailId).orElseThrow().getAttempts()).isEqualTo(1);
+
+        failed.setNextAttemptAt(OffsetDateTime.now(ZoneOffset.UTC).minusSeconds(1));
+        outboundEmailRepository.save(failed);
+        emailOutboxDispatcher.dispatch();
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+        OutboundEmail sent = outboundEmailRepository.findById(emailId).orElseThrow();
+        assertThat(sent.getStatus()).isEqualTo(OutboundEmail.Status.SENT);
+        assertThat(sent.getAttempts()).isEqualTo(2);
+        assertThat(sent.getLastError()).isNull();
+        assertThat(pendingGauge()).isZero();
+    }
+
+    private void postSupportRequest(String subject, String message) throws Exception {
+        String token = simpleAuthService.authenticateUser(new LoginRequest("admin@test.com", "password123"), "127.0.0.1")
+                .getToken();
+        mockMvc.perform(post("/api/support/contact")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"subject\":\"" + subject + "\",\"message\":\"" + message + "\"}"))
+                .andExpect(status().isAccepted());
+    }
+
+    private double pendingGauge() {
+        return meterRegistry.get("crm.mail.outbox.pending").gauge().value();
+    }
+}
@@ -0,0 +1,188 @@
+package com.crm.service;
+
+import com.crm.PostgresIntegrationTest;
+import com.crm.config.QueryCountInspector;
+import com.crm.dto.AccountDto;
+import com.crm.dto.ContactDto;
+import com.crm.dto.ContactFilter;
+import com.crm.dto.JwtResponse;
+import com.crm.dto.LeadDto;
+import com.crm.dto.LeadFilter;
+import com.crm.dto.LoginRequest;
+import com.crm.dto.MemberDto;
+import com.crm.dto.SearchPage;
+import com.crm.entity.Member;
+import com.crm.repository.MemberRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statements issued by the reads that load Member, Contact and Lead
+ * associations through entity graphs. Every read starts from an empty
+ * second-level cache, so a lazy association loaded per row shows up as an
+ * extra statement instead of a cache hit.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryCountTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private MemberService memberService;
+
+    @Autowired
+    private ContactService contactService;
+
+    @Autowired
+    private LeadService leadService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private SimpleAuthService simpleAuthService;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long orgId;
+
+    private Long adminId;
+
+    // One contact and one lead per seeded member, so a per-row owner load would be visible
+    @BeforeAll
+    void createRecords() {
+        List<Member> members = new ArrayList<>();
+        for (String email : List.of("admin@test.com", "manager@test.com", "sales@test.com")) {
+            members.add(memberRepository.findByEmailWithRoleAndOrganization(email).orElseThrow());
+        }
+        orgId = members.get(0).getOrganization().getOrgId();
+        adminId = members.get(0).getMemberId();
+
+        for (int i = 0; i < members.size(); i++) {
+            Long memberId = members.get(i).getMemberId();
+
+            AccountDto account = new AccountDto();
+            account.setAccountName("Query Count Account " + i);
+            account.setOrgId(orgId);
+            account.setMemberId(memberId);
+            Long accountId = accountService.createAccount(account).getAccountId();
+
+            ContactDto contact = new ContactDto();
+            contact.setContactName("Query Count Contact " + i);
+            contact.setContactEmail("query-count-contact-" + i + "@test.com");
+            contact.setOrgId(orgId);
+            contact.setMemberId(memberId);
+            contact.setAccountId(accountId);
+            contactService.createContact(contact);
+
+            LeadDto lead = new LeadDto();
+            lead.setLeadName("Query Count Lead " + i);
+            lead.setLeadEmail("query-count-lead-" + i + "@test.com");
+            lead.setOrgId(orgId);
+            lead.setMemberId(memberId);
+            leadService.createLead(lead);
+        }
+    }
+
+    @BeforeEach
+    void clearSecondLevelCache() {
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void memberListIsOneStatement() {
+        List<MemberDto> members = countStatements(memberService::getAllMembers, 1);
+
+        assertThat(members).hasSizeGreaterThanOrEqualTo(3);
+        assertThat(members).allSatisfy(member -> {
+            assertThat(member.getRoleName()).isNotNull();
+            assertThat(member.getOrgName()).isNotNull();
+        });
+    }
+
+    @Test
+    void organizationMemberListIsOneStatementAfterTheOrganization() {
+        // The organization row, then the members with their role and organization
+        List<MemberDto> members = countStatements(() -> memberService.getMembersByOrganization(orgId), 2);
+
+        assertThat(members).hasSize(3);
+        assertThat(members).allSatisfy(member -> assertThat(member.getRoleName()).isNotNull());
+    }
+
+    @Test
+    void memberByIdIsOneStatement() {
+        MemberDto member = countStatements(() -> memberService.getMemberById(adminId), 1);
+
+        assertThat(member.getRoleName()).isEqualTo("Admin");
+        assertThat(member.getOrgId()).isEqualTo(orgId);
+    }
+
+    @Test
+    void contactSearchIsOneStatement() {
+        ContactFilter filter = new ContactFilter();
+        filter.setNamePrefix("Query Count");
+
+        SearchPage<ContactDto> page = countStatements(
+                () -> contactService.searchContacts(orgId, filter, PageRequest.of(0, 20)), 1);
+
+        assertThat(page.getItems()).hasSize(3);
+        assertThat(page.getItems()).allSatisfy(contact -> {
+            assertThat(contact.getMemberName()).isNotNull();
+            assertThat(contact.getAccountName()).startsWith("Query Count Account");
+        });
+    }
+
+    @Test
+    void leadSearchIsOneStatement() {
+        SearchPage<LeadDto> page = countStatements(
+                () -> leadService.searchLeads(orgId, new LeadFilter(), PageRequest.of(0, 20)), 1);
+
+        assertThat(page.getItems()).hasSize(3);
+        assertThat(page.getItems()).allSatisfy(lead -> assertThat(lead.getMemberName()).isNotNull());
+    }
+
+    @Test
+    void loginIsOneStatement() {
+        LoginRequest request = new LoginRequest("manager@test.com", "password123");
+
+        JwtResponse response = countStatements(() -> simpleAuthService.authenticateUser(request, "192.0.2.1"), 1);
+
+        assertThat(response.getToken()).isNotBlank();
+        assertThat(response.getRole()).isEqualTo("Manager");
+    }
+
+    @Test
+    void userDetailsLookupIsOneStatement() {
+        Member member = (Member) countStatements(() -> memberService.loadUserByUsername("sales@test.com"), 1);
+
+        // Read after the transaction closed: both associations came with the member
+        assertThat(member.getRole().getRoleName()).isEqualTo("Sales Rep");
+        assertThat(member.getOrganization().getOrgId()).isEqualTo(orgId);
+    }
+
+    private <T> T countStatements(Supplier<T> read, int expected) {
+        T result;
+        int statements;
+        QueryCountInspector.start();
+        try {
+            result = read.get();
+        } finally {
+            statements = QueryCountInspector.stop();
+        }
+        assertThat(statements).as("SQL statements").isEqualTo(expected);
+        return result;
+    }
+}